@@ -0,0 +1,91 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing {@link QuickSorter}'s Lomuto and three-way partition schemes as the
+ * number of distinct (GPA, credits) keys shrinks.
+ *
+ * <p>With few distinct keys the Lomuto partition keeps re-partitioning runs of equal keys and
+ * degrades towards quadratic time, while the three-way partition settles each key once. The
+ * sorter runs with specialized comparisons off: compiled keys are all distinct, so on that path
+ * both schemes are the same two-way partition.</p>
+ *
+ * <pre>{@code
+ * java -jar target/benchmarks.jar QuickSortPartitionBenchmark
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see QuickSorter.PartitionScheme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class QuickSortPartitionBenchmark {
+
+  @Param({"LOMUTO", "THREE_WAY"})
+  public QuickSorter.PartitionScheme scheme;
+
+  @Param({"16", "1024", "60000"})
+  public int distinctKeys;
+
+  @Param({"100000"})
+  public int size;
+
+  @Param({"0"})
+  public int order;
+
+  // Input dataset drawn from a pool of distinctKeys students
+  private Student[] input;
+
+  // Sorter rebuilt before each invocation
+  private QuickSorter sorter;
+
+  /**
+   * Generates an input with at most {@code distinctKeys} distinct keys once per trial.
+   */
+  @Setup(Level.Trial)
+  public void generateInput() {
+    StudentGenerator generator = new StudentGenerator(2280L);
+    generator.setDistinct(distinctKeys);
+    input = generator.generate(StudentGenerator.Shape.FEW_UNIQUE, size);
+  }
+
+  /**
+   * Builds a fresh, unsorted comparator-path sorter with the benchmarked partition scheme.
+   */
+  @Setup(Level.Invocation)
+  public void prepareSorter() {
+    sorter = new QuickSorter(input);
+    sorter.setSpecialized(false);
+    sorter.setPartitionScheme(scheme);
+    sorter.setComparator(order);
+  }
+
+  /**
+   * Sorts the prepared sorter.
+   *
+   * @return the median element after sorting
+   */
+  @Benchmark
+  public Student sort() {
+    sorter.sort();
+    return sorter.getMedian();
+  }
+}
@@ -0,0 +1,109 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark for the small sizes around {@link AutoSorter}'s {@code TINY} and
+ * {@code KEYED_SMALL} thresholds, where {@link SorterBenchmark}'s one sort per invocation is too
+ * short to time.
+ *
+ * <p>Each invocation sorts {@link #BATCH} different inputs of the same shape, each with its own
+ * long-lived sorter (as {@link StudentScanner} keeps one), and the score is the average time per
+ * sort. Reloading the sorters before each invocation is excluded from the measurement.</p>
+ *
+ * <pre>{@code
+ * java -jar target/benchmarks.jar SmallSortBenchmark
+ * java -jar target/benchmarks.jar SmallSortBenchmark -p size=32,128 -p shape=RANDOM
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see AutoSorter
+ * @see SorterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SmallSortBenchmark {
+
+  /** Inputs sorted per invocation. */
+  static final int BATCH = 256;
+
+  // Base seed; input i of a trial uses SEED + i
+  private static final long SEED = 2280L;
+
+  @Param({"InsertionSort", "TimSort", "MergeSort", "IntroSort", "RadixSort", "CountingSort",
+      "AutoSort"})
+  public Algorithm algorithm;
+
+  @Param({"0"})
+  public int order;
+
+  @Param({"16", "32", "64", "128", "256", "512"})
+  public int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED", "FEW_UNIQUE", "ORGAN_PIPE"})
+  public StudentGenerator.Shape shape;
+
+  // One input and one reused sorter per batch slot
+  private StudentDataset[] inputs;
+  private AbstractSorter[] sorters;
+
+  /**
+   * Generates the inputs and creates one sorter per input.
+   */
+  @Setup(Level.Trial)
+  public void generateInputs() {
+    inputs = new StudentDataset[BATCH];
+    sorters = new AbstractSorter[BATCH];
+    for (int i = 0; i < BATCH; i++) {
+      StudentGenerator generator = new StudentGenerator(SEED + i);
+      generator.setOrder(order);
+      inputs[i] = new StudentDataset(generator.generate(shape, size));
+      sorters[i] = StudentScanner.createSorter(algorithm, inputs[i]);
+    }
+  }
+
+  /**
+   * Reloads every sorter with its unsorted input.
+   */
+  @Setup(Level.Invocation)
+  public void reloadSorters() {
+    for (int i = 0; i < BATCH; i++) {
+      sorters[i].load(inputs[i]);
+      sorters[i].setComparator(order);
+    }
+  }
+
+  /**
+   * Sorts every input of the batch.
+   *
+   * @return a hash of the medians so the work cannot be eliminated
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public int sort() {
+    int h = 0;
+    for (AbstractSorter sorter : sorters) {
+      sorter.sort();
+      h = 31 * h + sorter.getMedian().hashCode();
+    }
+    return h;
+  }
+}
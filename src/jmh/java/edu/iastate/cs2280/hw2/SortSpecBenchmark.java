@@ -0,0 +1,108 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the specialized ({@link SortSpec} compiled-key) sort path against the
+ * {@link java.util.Comparator} lambda path for the comparison sorters.
+ *
+ * <p>Each invocation runs the driver's two-pass median query, sorting by order 0 and then by
+ * order 1, so both comparator lambdas reach the sorter's call sites just as they do in
+ * {@link StudentScanner#scan()}. Before measurement the comparator path is additionally warmed
+ * with a third comparator, so its call sites are megamorphic as they become in a long-running
+ * JVM that also sorts with custom comparators.</p>
+ *
+ * <p><b>Running:</b></p>
+ * <pre>{@code
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar SortSpecBenchmark -p size=100000
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see AbstractSorter#setSpecialized(boolean)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SortSpecBenchmark {
+
+  // Fixed seed so every fork sees the same dataset
+  private static final long SEED = 2280L;
+
+  @Param({"InsertionSort", "MergeSort", "QuickSort"})
+  public Algorithm algorithm;
+
+  @Param({"true", "false"})
+  public boolean specialized;
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  // Input dataset for the whole trial; never mutated
+  private StudentDataset input;
+
+  // Sorter reused for every invocation, reloaded with the input before each one
+  private AbstractSorter sorter;
+
+  /**
+   * Generates the input and, for the comparator path, pollutes the comparator call sites.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Insertion sort is quadratic; keep its large configuration affordable
+    int n = (algorithm == Algorithm.InsertionSort) ? Math.min(size, 10_000) : size;
+    input = new StudentDataset(CompareSorters.generateRandomStudents(n, new Random(SEED)));
+    sorter = StudentScanner.createSorter(algorithm, input);
+    sorter.setSpecialized(specialized);
+
+    if (!specialized) {
+      sorter.setComparator(0);
+      sorter.studentComparator = sorter.studentComparator.reversed();
+      for (int i = 0; i < 20; i++) {
+        sorter.sort();
+        sorter.load(input);
+      }
+    }
+  }
+
+  /**
+   * Restores the unsorted input so every measured invocation does the same work.
+   */
+  @Setup(Level.Invocation)
+  public void reload() {
+    sorter.load(input);
+  }
+
+  /**
+   * Sorts by both orders, as one scan does, and returns the second median.
+   *
+   * @return the order-1 median, so the work cannot be eliminated
+   */
+  @Benchmark
+  public Student twoPassMedian() {
+    sorter.setComparator(0);
+    sorter.sort();
+    Student gpaMedian = sorter.getMedian();
+    sorter.load(input);
+    sorter.setComparator(1);
+    sorter.sort();
+    return (gpaMedian == null) ? null : sorter.getMedian();
+  }
+}
@@ -0,0 +1,120 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark covering every {@link AbstractSorter} subclass under both comparator orders.
+ *
+ * <p>Unlike the single {@link System#nanoTime()} bracket in {@link StudentScanner#scan()}, each
+ * configuration is run in separate forked JVMs after a warmup phase, so the reported numbers
+ * exclude cold-JIT and one-off GC noise. Results are reported both as throughput (sorts per
+ * millisecond) and as average time per sort.</p>
+ *
+ * <p>Inputs come from {@link StudentGenerator}; the presorted shapes are arranged for the
+ * benchmarked order.</p>
+ *
+ * <p>Each sorter sorts its working array in place, so it is reloaded with the unsorted input
+ * before every invocation ({@link Level#Invocation}); the reload is excluded from the
+ * measurement. Per-invocation setup distorts the timing of sub-millisecond work, so each
+ * invocation sorts {@link #BATCH} copies of the input, each in its own reused sorter (as
+ * {@link StudentScanner} keeps one), and the scores are per sort.</p>
+ *
+ * <p><b>Running:</b></p>
+ * <pre>{@code
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar SorterBenchmark -p size=1000,100000 -p algorithm=QuickSort
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see StudentScanner#createSorter(Algorithm, StudentDataset)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SorterBenchmark {
+
+  /** Sorts per invocation. */
+  static final int BATCH = 64;
+
+  // Fixed seed so every fork and every algorithm sees the same dataset
+  private static final long SEED = 2280L;
+
+  @Param({"SelectionSort", "InsertionSort", "MergeSort", "TimSort", "QuickSort", "IntroSort",
+      "RadixSort", "CountingSort", "MedianSelect", "ParallelMergeSort", "ParallelQuickSort", "AutoSort"})
+  public Algorithm algorithm;
+
+  @Param({"0", "1"})
+  public int order;
+
+  @Param({"1000", "10000"})
+  public int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF_GPA",
+      "MEDIAN_OF_3_KILLER"})
+  public StudentGenerator.Shape shape;
+
+  // Input dataset for the whole trial; never mutated
+  private StudentDataset input;
+
+  // One reused sorter per batch slot
+  private AbstractSorter[] sorters;
+
+  /**
+   * Generates the input dataset and creates the sorters once per trial.
+   */
+  @Setup(Level.Trial)
+  public void generateInput() {
+    StudentGenerator generator = new StudentGenerator(SEED);
+    generator.setOrder(order);
+    Student[] students = generator.generate(shape, size);
+    input = new StudentDataset(students);
+    sorters = new AbstractSorter[BATCH];
+    for (int i = 0; i < BATCH; i++) {
+      sorters[i] = StudentScanner.createSorter(algorithm, input);
+    }
+  }
+
+  /**
+   * Reloads every sorter with the unsorted input so every measured invocation does the same work.
+   */
+  @Setup(Level.Invocation)
+  public void reloadSorters() {
+    for (AbstractSorter sorter : sorters) {
+      sorter.load(input);
+      sorter.setComparator(order);
+    }
+  }
+
+  /**
+   * Sorts every sorter of the batch.
+   *
+   * @return a hash of the medians so the work cannot be eliminated
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public int sort() {
+    int h = 0;
+    for (AbstractSorter sorter : sorters) {
+      sorter.sort();
+      h = 31 * h + sorter.getMedian().hashCode();
+    }
+    return h;
+  }
+}
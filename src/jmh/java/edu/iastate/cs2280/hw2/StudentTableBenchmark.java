@@ -0,0 +1,93 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the object-based sorters against the columnar {@link StudentTable}
+ * index-sorting path on the same data.
+ *
+ * <pre>{@code
+ * java -jar target/benchmarks.jar StudentTableBenchmark -p size=1000000
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see StudentTable#sort(Algorithm, int)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class StudentTableBenchmark {
+
+  @Param({"MergeSort", "QuickSort"})
+  public Algorithm algorithm;
+
+  @Param({"0", "1"})
+  public int order;
+
+  @Param({"100000", "1000000"})
+  public int size;
+
+  // Same dataset in both layouts
+  private StudentDataset input;
+  private StudentTable table;
+
+  // Object sorter rebuilt before each invocation
+  private AbstractSorter sorter;
+
+  /**
+   * Generates the dataset and its columnar table once per trial.
+   */
+  @Setup(Level.Trial)
+  public void generateInput() {
+    Student[] students = CompareSorters.generateRandomStudents(size, new Random(2280L));
+    input = new StudentDataset(students);
+    table = new StudentTable(students);
+  }
+
+  /**
+   * Builds a fresh object sorter for {@link #objectSort()}.
+   */
+  @Setup(Level.Invocation)
+  public void prepareSorter() {
+    sorter = StudentScanner.createSorter(algorithm, input);
+    sorter.setComparator(order);
+  }
+
+  /**
+   * Sorts {@code Student} references through the comparator.
+   *
+   * @return the median element
+   */
+  @Benchmark
+  public Student objectSort() {
+    sorter.sort();
+    return sorter.getMedian();
+  }
+
+  /**
+   * Sorts row indices of the columnar table.
+   *
+   * @return the sorted permutation
+   */
+  @Benchmark
+  public int[] tableSort() {
+    return table.sort(algorithm, order);
+  }
+}
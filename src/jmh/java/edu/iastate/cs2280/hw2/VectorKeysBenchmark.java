@@ -0,0 +1,116 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the vectorized sort paths ({@link AbstractSorter#setVectorized}) with
+ * the scalar ones, plus the {@link VectorKeys#minMax} scan against a plain loop over the same
+ * keys.
+ *
+ * <p>The forks add {@code jdk.incubator.vector}; {@link VectorKeys#AVAILABLE} is printed at
+ * setup so a run on hardware with narrow vectors, where both variants are scalar, is obvious.</p>
+ *
+ * <pre>{@code
+ * java -jar target/benchmarks.jar VectorKeysBenchmark
+ * java -jar target/benchmarks.jar VectorKeysBenchmark.sort -p algorithm=QuickSort
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see VectorKeys
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class VectorKeysBenchmark {
+
+  @Param({"false", "true"})
+  public boolean vectorized;
+
+  @Param({"QuickSort", "IntroSort", "RadixSort"})
+  public Algorithm algorithm;
+
+  @Param({"RANDOM", "FEW_UNIQUE", "NEARLY_SORTED"})
+  public StudentGenerator.Shape shape;
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  // Input dataset for the sort benchmark
+  private StudentDataset input;
+
+  // Sorter rebuilt before each invocation
+  private AbstractSorter sorter;
+
+  // Random keys and result buffer for the scan benchmark
+  private long[] keys;
+  private final long[] minMax = new long[2];
+
+  /**
+   * Generates the input and key column once per trial.
+   */
+  @Setup(Level.Trial)
+  public void generateInput() {
+    input = new StudentDataset(new StudentGenerator(2280L).generate(shape, size));
+    keys = new Random(2280L).longs(size).toArray();
+    System.out.println("VectorKeys.AVAILABLE=" + VectorKeys.AVAILABLE
+        + " lanes=" + VectorKeys.lanes());
+  }
+
+  /**
+   * Builds a fresh, unsorted sorter on the vectorized or scalar path.
+   */
+  @Setup(Level.Invocation)
+  public void prepareSorter() {
+    sorter = StudentScanner.createSorter(algorithm, input);
+    sorter.setVectorized(vectorized);
+    sorter.setComparator(0);
+  }
+
+  /**
+   * Sorts the prepared sorter.
+   *
+   * @return the median element after sorting
+   */
+  @Benchmark
+  public Student sort() {
+    sorter.sort();
+    return sorter.getMedian();
+  }
+
+  /**
+   * Finds the key range with {@link VectorKeys#minMax} or a scalar loop.
+   *
+   * @return the key range
+   */
+  @Benchmark
+  public long minMaxScan() {
+    if (vectorized) {
+      VectorKeys.minMax(keys, 0, keys.length, minMax);
+      return minMax[1] - minMax[0];
+    }
+    long min = keys[0];
+    long max = keys[0];
+    for (int i = 1; i < keys.length; i++) {
+      min = Math.min(min, keys[i]);
+      max = Math.max(max, keys[i]);
+    }
+    return max - min;
+  }
+}
@@ -2,6 +2,7 @@
 package edu.iastate.cs2280.hw2;
 
 import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The {@code AbstractSorter} class provides shared state and utilities for all concrete sorting
@@ -18,14 +19,45 @@ import java.util.Comparator;
  * Concrete sorter subclasses must call {@link #setComparator(int)} before invoking {@link #sort()} so
  * comparisons respect the current order.
  *
- * <p>The constructor makes a <em>deep copy</em> of the provided array so that sorting never mutates
- * the caller's data. Subclasses operate only on this internal copy.</p>
+ * <p>The array constructor makes a <em>deep copy</em> of the provided array so that sorting never
+ * mutates the caller's data. The {@link StudentDataset} constructor copies only references, since
+ * {@link Student} is immutable and the dataset is never reordered; use it when several sorters run
+ * over the same large input. Subclasses operate only on their internal working array.</p>
+ *
+ * <p><b>Instrumentation:</b> run with {@code -Dhw2.instrument=true} to count comparisons, swaps
+ * and element writes (every {@link Student} reference stored into the working array or a scratch
+ * array, including bulk copies) for every sorter. The flag is a {@code static final} constant, so
+ * when it is off the JIT removes every counting branch and the timed path is unchanged.
+ * Instrumented sorters take the same path as timed ones: on the compiled-key path of
+ * {@link #setSpecialized(boolean)} each primitive key comparison, key swap and key store is
+ * counted exactly like its comparator-path counterpart. Only the SIMD kernels are skipped (see
+ * {@link #useVectorKeys()}), since they compare whole vectors of keys at once.</p>
  *
  * @see Student
  * @see Algorithm
  * @author Kaleb
  */
 public abstract class AbstractSorter {
+  /**
+   * Whether operation counting is enabled, read once from the system property
+   * {@code hw2.instrument}.
+   */
+  public static final boolean INSTRUMENT = Boolean.getBoolean("hw2.instrument");
+
+  // Order 0: GPA desc, then credits desc (shared so setComparator never allocates)
+  private static final Comparator<Student> ORDER_0 = (a, b) -> {
+    int c = Double.compare(b.getGpa(), a.getGpa());
+    if (c != 0) return c;
+    return Integer.compare(b.getCreditsTaken(), a.getCreditsTaken());
+  };
+
+  // Order 1: credits asc, then GPA desc
+  private static final Comparator<Student> ORDER_1 = (a, b) -> {
+    int c = Integer.compare(a.getCreditsTaken(), b.getCreditsTaken());
+    if (c != 0) return c;
+    return Double.compare(b.getGpa(), a.getGpa());
+  };
+
   // Internal working copy of the dataset to be sorted (deep-copied in the constructor)
   protected Student[] students;
 
@@ -35,6 +67,35 @@ public abstract class AbstractSorter {
   // Comparator reflecting the current order (set via setComparator(0/1) before sort())
   protected Comparator<Student> studentComparator = null;
 
+  // Order selected by the last setComparator call (0 or 1), or -1 before the first call
+  protected int order = -1;
+
+  // Whether sorters that support it compare compiled SortSpec keys instead of the comparator
+  private boolean specialized = true;
+
+  // Whether sorters that support it use the VectorKeys SIMD kernels
+  private boolean vectorized = false;
+
+  // Compiled keys of the current sort (see compileSortKeys); reused across sorts of the same size
+  protected long[] sortKeys;
+
+  // Copy of the working array used to apply the sorted keys
+  private Student[] keyScratch;
+
+  // Sorter of the same algorithm that sorts append batches, so that batch sizes never resize the
+  // scratch buffers kept for the full working array; created on the first append
+  private AbstractSorter batchSorter;
+
+  // Operation counters; only allocated when INSTRUMENT is set. LongAdder because the parallel
+  // sorters count from several threads.
+  private final LongAdder comparisons = INSTRUMENT ? new LongAdder() : null;
+  private final LongAdder swaps = INSTRUMENT ? new LongAdder() : null;
+  private final LongAdder writes = INSTRUMENT ? new LongAdder() : null;
+
+  // Counting wrappers around ORDER_0 and ORDER_1, created on first use when instrumented
+  private Comparator<Student> countingOrder0;
+  private Comparator<Student> countingOrder1;
+
   /**
    * Constructs an {@code AbstractSorter} over a deep copy of the given student array.
    * The input reference is never modified; instead each element is copied into an internal array.
@@ -53,6 +114,152 @@ public abstract class AbstractSorter {
     }
   }
 
+  /**
+   * Constructs an {@code AbstractSorter} whose working array holds the references of
+   * {@code data}. No {@link Student} objects are copied.
+   *
+   * @param data shared dataset to sort; must not be {@code null}
+   * @throws IllegalArgumentException if {@code data} is {@code null}
+   */
+  protected AbstractSorter(StudentDataset data) throws IllegalArgumentException {
+    if (data == null) {
+      throw new IllegalArgumentException("data must be non-null");
+    }
+    this.students = data.toArray();
+  }
+
+  /**
+   * Replaces the working array with the contents of {@code source} so the same sorter (and any
+   * scratch buffers it keeps) can be reused for another sort. When the length is unchanged the
+   * existing array is overwritten in place and nothing is allocated.
+   *
+   * <p>Only references are copied: {@link Student} is immutable, so sharing elements with
+   * {@code source} cannot change the caller's data. Reordering the working array never affects
+   * {@code source} itself.</p>
+   *
+   * @param source dataset to sort next; must not be {@code null}
+   * @throws IllegalArgumentException if {@code source} is {@code null}
+   */
+  public void load(Student[] source) {
+    if (source == null) {
+      throw new IllegalArgumentException("students must be non-null");
+    }
+    if (students.length != source.length) {
+      students = new Student[source.length];
+    }
+    System.arraycopy(source, 0, students, 0, source.length);
+  }
+
+  /**
+   * Replaces the working array with the records of {@code data}, exactly like
+   * {@link #load(Student[])}; nothing is allocated when the size is unchanged.
+   *
+   * @param data dataset to sort next; must not be {@code null}
+   * @throws IllegalArgumentException if {@code data} is {@code null}
+   */
+  public void load(StudentDataset data) {
+    if (data == null) {
+      throw new IllegalArgumentException("data must be non-null");
+    }
+    if (students.length != data.size()) {
+      students = new Student[data.size()];
+    }
+    data.copyTo(students);
+  }
+
+  /**
+   * Adds {@code batch} to a working array that is already sorted under the current comparator,
+   * keeping it sorted. Only the batch is sorted, by a second sorter of the same algorithm that is
+   * kept for later batches; it is then merged with the existing elements in one linear pass.
+   * Existing elements come before batch elements that compare equal, so the result is stable
+   * whenever the algorithm is stable.
+   *
+   * <p><b>Cost:</b> {@code O(n + b log b)} for {@code n} existing and {@code b} new elements,
+   * instead of {@code O((n + b) log (n + b))} for a full re-sort.</p>
+   *
+   * <p><b>Precondition:</b> the working array must be sorted under the current order, e.g. by a
+   * preceding {@link #sort()} or {@code append}; otherwise the result is not sorted.</p>
+   *
+   * @param batch new students; must not be {@code null} or contain nulls. Only references are
+   *              copied and the caller's array is not reordered.
+   * @throws IllegalArgumentException if {@code batch} is {@code null} or contains a {@code null}
+   * @throws IllegalStateException if {@link #setComparator(int)} has not been called
+   */
+  public void append(Student[] batch) {
+    if (batch == null) {
+      throw new IllegalArgumentException("batch must be non-null");
+    }
+    if (studentComparator == null) {
+      throw new IllegalStateException("setComparator must be called before append");
+    }
+    for (int i = 0; i < batch.length; i++) {
+      if (batch[i] == null) {
+        throw new IllegalArgumentException();
+      }
+    }
+    if (batch.length == 0) {
+      return;
+    }
+
+    // Sort only the batch, in the batch sorter, with this sorter's settings
+    if (batchSorter == null) {
+      batchSorter = StudentScanner.createSorter(Algorithm.valueOf(algorithm),
+          new StudentDataset(batch));
+    } else {
+      batchSorter.load(batch);
+    }
+    batchSorter.setSpecialized(specialized);
+    batchSorter.setVectorized(vectorized);
+    if (usesOrderComparator()) {
+      batchSorter.setComparator(order);
+    } else {
+      batchSorter.studentComparator = studentComparator;
+    }
+    batchSorter.resetCounters();
+    batchSorter.sort();
+    if (INSTRUMENT) {
+      comparisons.add(batchSorter.getComparisons());
+      swaps.add(batchSorter.getSwaps());
+      writes.add(batchSorter.getWrites());
+    }
+    students = mergeSorted(students, batchSorter.students);
+  }
+
+  /**
+   * Stably merges two arrays sorted under {@link #studentComparator}; on ties, elements of
+   * {@code left} come first.
+   *
+   * @param left sorted array whose elements win ties
+   * @param right sorted array
+   * @return a new array holding both inputs in sorted order
+   */
+  private Student[] mergeSorted(Student[] left, Student[] right) {
+    Student[] out = new Student[left.length + right.length];
+
+    // Common nightly case: every new element sorts after the existing ones
+    if (left.length == 0 || studentComparator.compare(left[left.length - 1], right[0]) <= 0) {
+      System.arraycopy(left, 0, out, 0, left.length);
+      System.arraycopy(right, 0, out, left.length, right.length);
+      countWrites(out.length);
+      return out;
+    }
+
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < left.length && j < right.length) {
+      if (studentComparator.compare(left[i], right[j]) <= 0) {
+        out[k++] = left[i++];
+      } else {
+        out[k++] = right[j++];
+      }
+    }
+    System.arraycopy(left, i, out, k, left.length - i);
+    System.arraycopy(right, j, out, k + left.length - i, right.length - j);
+    countWrites(out.length);
+    return out;
+  }
+
   /**
    * Configures {@link #studentComparator} according to the assignment's two orders:
    * <ul>
@@ -65,22 +272,227 @@ public abstract class AbstractSorter {
    */
   public void setComparator(int order) throws IllegalArgumentException {
     if (order == 0) {
-      // Order 0: GPA desc, then credits desc
-      studentComparator = (a, b) -> {
-        int c = Double.compare(b.getGpa(), a.getGpa());
-        if (c != 0) return c;
-        return Integer.compare(b.getCreditsTaken(), a.getCreditsTaken());
-      };
+      studentComparator = INSTRUMENT ? countingComparator(0) : ORDER_0;
     } else if (order == 1) {
-      // Order 1: credits asc, then GPA desc
-      studentComparator = (a, b) -> {
-        int c = Integer.compare(a.getCreditsTaken(), b.getCreditsTaken());
-        if (c != 0) return c;
-        return Double.compare(b.getGpa(), a.getGpa());
-      };
+      studentComparator = INSTRUMENT ? countingComparator(1) : ORDER_1;
     } else {
       throw new IllegalArgumentException("order must be 0 or 1");
     }
+    this.order = order;
+  }
+
+  /**
+   * Returns a comparator that counts each call and delegates to the shared comparator of
+   * {@code order}. Only used when {@link #INSTRUMENT} is set.
+   *
+   * @param order 0 or 1
+   * @return the counting comparator, cached per sorter
+   */
+  private Comparator<Student> countingComparator(int order) {
+    if (order == 0) {
+      if (countingOrder0 == null) {
+        countingOrder0 = (a, b) -> {
+          comparisons.increment();
+          return ORDER_0.compare(a, b);
+        };
+      }
+      return countingOrder0;
+    }
+    if (countingOrder1 == null) {
+      countingOrder1 = (a, b) -> {
+        comparisons.increment();
+        return ORDER_1.compare(a, b);
+      };
+    }
+    return countingOrder1;
+  }
+
+  /**
+   * Returns whether {@link #studentComparator} is still the comparator installed by the last
+   * {@link #setComparator(int)} call (counting or not), so that sorting by the packed keys of
+   * {@link #order} yields the same order as the comparator.
+   *
+   * @return {@code false} before the first {@code setComparator} call or after the comparator
+   *         has been replaced
+   */
+  protected final boolean usesOrderComparator() {
+    if (order == 0) {
+      return studentComparator == ORDER_0 || (studentComparator != null && studentComparator == countingOrder0);
+    } else if (order == 1) {
+      return studentComparator == ORDER_1 || (studentComparator != null && studentComparator == countingOrder1);
+    }
+    return false;
+  }
+
+  /**
+   * Adds {@code n} element writes to the instrumentation counters. A no-op (removed by the JIT)
+   * unless {@link #INSTRUMENT} is set.
+   *
+   * @param n number of {@link Student} references stored
+   */
+  protected final void countWrites(long n) {
+    if (INSTRUMENT) {
+      writes.add(n);
+    }
+  }
+
+  /**
+   * Adds {@code n} comparisons to the instrumentation counters; used by the compiled-key loops,
+   * which compare primitive keys instead of calling the comparator. A no-op (removed by the JIT)
+   * unless {@link #INSTRUMENT} is set.
+   *
+   * @param n number of key comparisons
+   */
+  protected final void countComparisons(long n) {
+    if (INSTRUMENT) {
+      comparisons.add(n);
+    }
+  }
+
+  /**
+   * Adds {@code n} swaps, and their {@code 2 * n} writes, to the instrumentation counters; used by
+   * the compiled-key loops for key exchanges. A no-op (removed by the JIT) unless
+   * {@link #INSTRUMENT} is set.
+   *
+   * @param n number of key swaps
+   */
+  protected final void countSwaps(long n) {
+    if (INSTRUMENT) {
+      swaps.add(n);
+      writes.add(2 * n);
+    }
+  }
+
+  /**
+   * Returns the comparisons (comparator calls and compiled key comparisons) counted since the
+   * last {@link #resetCounters()}.
+   *
+   * @return comparison count, or 0 if {@link #INSTRUMENT} is not set
+   */
+  public long getComparisons() {
+    return INSTRUMENT ? comparisons.sum() : 0L;
+  }
+
+  /**
+   * Returns the {@link #swap} calls and key swaps counted since the last {@link #resetCounters()}.
+   *
+   * @return swap count, or 0 if {@link #INSTRUMENT} is not set
+   */
+  public long getSwaps() {
+    return INSTRUMENT ? swaps.sum() : 0L;
+  }
+
+  /**
+   * Returns the element writes counted since the last {@link #resetCounters()}; each swap counts
+   * as two writes.
+   *
+   * @return write count, or 0 if {@link #INSTRUMENT} is not set
+   */
+  public long getWrites() {
+    return INSTRUMENT ? writes.sum() : 0L;
+  }
+
+  /**
+   * Clears the instrumentation counters.
+   */
+  public void resetCounters() {
+    if (INSTRUMENT) {
+      comparisons.reset();
+      swaps.reset();
+      writes.reset();
+    }
+  }
+
+  /**
+   * Enables or disables specialized comparisons. When enabled (the default), the comparison
+   * sorters (Selection, Insertion, Merge, Quick) compile the current order with {@link SortSpec}
+   * and compare primitive keys in their hot loops; when disabled, or when the data cannot be
+   * compiled, every comparison goes through {@link #studentComparator}. Both paths produce the
+   * same order.
+   *
+   * <p>Compiled keys end in the input index, so no two are equal. {@link QuickSorter}'s
+   * {@link QuickSorter.PartitionScheme} therefore only applies with specialization off; its
+   * introsort depth limit and smaller-side recursion apply on both paths.</p>
+   *
+   * @param enabled {@code true} to compare compiled keys when possible
+   */
+  public void setSpecialized(boolean enabled) {
+    this.specialized = enabled;
+  }
+
+  /**
+   * Returns whether specialized comparisons are enabled.
+   *
+   * @return {@code true} if compiled keys are used when possible
+   */
+  public boolean isSpecialized() {
+    return specialized;
+  }
+
+  /**
+   * Enables or disables the SIMD kernels of {@link VectorKeys} in the sorters that have a
+   * vectorized path: the compiled-key path of {@link QuickSorter} (partition steps and short
+   * ranges) and the key scan of {@link RadixSorter} and {@link CountingSorter}. Off by default.
+   * Has no effect when {@link VectorKeys#AVAILABLE} is {@code false}; the result is the same
+   * either way.
+   *
+   * @param enabled {@code true} to use the SIMD kernels when available
+   */
+  public void setVectorized(boolean enabled) {
+    this.vectorized = enabled;
+  }
+
+  /**
+   * Returns whether the SIMD kernels are enabled.
+   *
+   * @return {@code true} if {@link #setVectorized(boolean)} enabled them
+   */
+  public boolean isVectorized() {
+    return vectorized;
+  }
+
+  /**
+   * Returns whether this sort should use the {@link VectorKeys} kernels: they are enabled, the
+   * Vector API is available, and {@link #INSTRUMENT} is off. A kernel compares a whole vector of
+   * keys per instruction, so instrumented sorts stay on the scalar key loops, whose comparisons
+   * can be counted one by one.
+   *
+   * @return {@code true} to take the vectorized path
+   */
+  protected final boolean useVectorKeys() {
+    return vectorized && VectorKeys.AVAILABLE && !INSTRUMENT;
+  }
+
+  /**
+   * Compiles the working array under the current order into {@link #sortKeys}, if specialized
+   * comparisons are enabled, {@link #studentComparator} is still the one installed by
+   * {@link #setComparator(int)}, and the data can be compiled. After sorting {@code sortKeys} in
+   * ascending order, subclasses call {@link #applySortKeys()} to reorder {@link #students}.
+   *
+   * @return {@code true} if {@link #sortKeys} holds one compiled key per student
+   */
+  protected final boolean compileSortKeys() {
+    // The counting wrappers of setComparator pass too; the key loops count their own comparisons
+    if (!specialized || !usesOrderComparator()) {
+      return false;
+    }
+    int n = students.length;
+    if (sortKeys == null || sortKeys.length != n) {
+      sortKeys = new long[n];
+      keyScratch = new Student[n];
+    }
+    return SortSpec.of(order).compile(students, sortKeys);
+  }
+
+  /**
+   * Reorders {@link #students} to follow the sorted {@link #sortKeys}.
+   */
+  protected final void applySortKeys() {
+    System.arraycopy(students, 0, keyScratch, 0, students.length);
+    for (int i = 0; i < students.length; i++) {
+      students[i] = keyScratch[SortSpec.index(sortKeys[i])];
+    }
+    countWrites(2L * students.length);
   }
 
   /**
@@ -117,5 +529,6 @@ public abstract class AbstractSorter {
     Student temp = students[i];
     students[i] = students[j];
     students[j] = temp;
+    countSwaps(1);
   }
 }
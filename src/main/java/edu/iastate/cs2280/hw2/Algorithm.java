@@ -6,10 +6,21 @@ package edu.iastate.cs2280.hw2;
 /**
  * Enumeration of the sorting algorithms used in this application.
  * This provides a type-safe way to specify which sorting algorithm to use.
+ * {@code MedianSelect} is not a full sort: it only places the median, which is all
+ * {@link StudentScanner} needs. {@code AutoSort} samples its input and delegates to one of the
+ * other sorters (see {@link AutoSorter}).
  */
 public enum Algorithm {
   SelectionSort,
   InsertionSort,
   MergeSort,
-  QuickSort
+  TimSort,
+  QuickSort,
+  IntroSort,
+  RadixSort,
+  CountingSort,
+  MedianSelect,
+  ParallelMergeSort,
+  ParallelQuickSort,
+  AutoSort
 }
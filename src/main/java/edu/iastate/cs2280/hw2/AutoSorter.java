@@ -0,0 +1,566 @@
+package edu.iastate.cs2280.hw2;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * The {@code AutoSorter} class extends {@link AbstractSorter} and chooses a sorting strategy for
+ * each {@link #sort()} from a cheap scan or sample of the input, then sorts small structured
+ * input itself and delegates everything else to the matching sorter.
+ *
+ * <p><b>Scan:</b> below {@link #SCAN_LIMIT} the natural runs are found from the start, as
+ * {@link TimSorter} finds them, stopping after {@link #SCAN_RUNS} runs; below {@link #TINY} only
+ * the leading run is found. Descending runs are reversed as they are found. Random input ends the
+ * scan after a few comparisons, and on structured input the scan is the sort's own run
+ * detection: the in-place insertion sort resumes after the leading run, and
+ * {@link TimSorter#mergeRuns(int[], int)} merges the runs without looking for them again.</p>
+ *
+ * <p><b>Sample:</b> from {@link #SCAN_LIMIT} up, and from {@link #SMALL} up when the scan finds
+ * more runs, up to {@link #MAX_WINDOWS} evenly spaced windows of {@link #WINDOW} adjacent pairs
+ * are compared. A window is <em>monotone</em> if all its pairs are in order (ascending) or all are
+ * strictly out of order (descending); random data almost never has monotone windows, while
+ * sorted, reversed, nearly-sorted and organ-pipe data are almost all monotone. The sample costs at
+ * most {@code MAX_WINDOWS * WINDOW} comparisons. When the decision depends on it, the duplicate
+ * ratio is estimated from {@link #DUPLICATE_SAMPLE} evenly spaced elements.</p>
+ *
+ * <p><b>Strategies</b> (thresholds measured on the {@link StudentGenerator} shapes):</p>
+ * <ul>
+ *   <li>Fewer than {@link #TINY} students: a binary insertion sort in place with the comparator
+ *       if the leading run covers at least half the input, otherwise an {@link InsertionSorter}.
+ *       Nothing is sampled.</li>
+ *   <li>A single run (sorted or reversed input) below {@link #SCAN_LIMIT}: nothing left to do
+ *       after the scan.</li>
+ *   <li>At most {@link #SCAN_RUNS} runs: {@link TimSorter} merges the runs the scan found.</li>
+ *   <li>More runs below {@link #SMALL}: no sample, which would only cover the pairs the scan has
+ *       seen. An {@link InsertionSorter}, or a {@link RadixSorter} from {@link #KEYED_SMALL} up
+ *       under the standard orders.</li>
+ *   <li>Every window ascending: {@link TimSorter}, which finishes presorted data in one scan.</li>
+ *   <li>Mostly monotone windows: {@link TimSorter} merges the natural runs. With the standard
+ *       orders this only wins below {@link #KEYED_RUN_LIMIT}; above it a counting sort is
+ *       faster even on run-structured data.</li>
+ *   <li>Standard orders ({@link #setComparator(int)}): the key-based sorters, which never call the
+ *       comparator. Below {@link #KEYED_SMALL} an {@link InsertionSorter}; below
+ *       {@link #COUNTING_MIN} a {@link RadixSorter}; above it the histogram of a
+ *       {@link CountingSorter} pays off.</li>
+ *   <li>Any other comparator (the key-based sorters cannot honor it): below {@link #SMALL} an
+ *       {@link InsertionSorter}; with heavy duplicates a three-way introsort
+ *       ({@link QuickSorter.PartitionScheme#THREE_WAY}); otherwise a plain introsort, which is
+ *       immune to median-of-three killer inputs.</li>
+ * </ul>
+ *
+ * <p><b>Measurements:</b> from n = 1000 up ({@code SorterBenchmark}), AutoSort ran within timing
+ * noise of the fastest fixed choice on every generator shape under the standard orders. Below
+ * that, {@code SmallSortBenchmark} (256 inputs per invocation, n = 16 to 256) shows:</p>
+ * <ul>
+ *   <li>Random and few-unique input: the run check costs about 10% over a fixed
+ *       {@link InsertionSorter} at n = 16 and 32, and AutoSort stays within about 15% of radix
+ *       sort from n = 64 up.</li>
+ *   <li>Sorted, reversed and organ-pipe input: within timing noise of {@link TimSorter}, since
+ *       the scan replaces TimSort's own run detection.</li>
+ *   <li>Nearly sorted input from n = 32 to 128: 1.2-1.6x faster than {@link TimSorter}, which
+ *       extends the short runs around each misplaced element by binary insertion before merging.
+ *       Below {@link #TINY}, an input whose first misplaced element lies in the first half goes to
+ *       insertion sort, about 1.4x slower than TimSort on that input; finding more runs there
+ *       would cost random input more than it saves.</li>
+ *   <li>The branch for other comparators ({@link #SMALL}, duplicate sampling) has no small-size
+ *       measurements; {@code SmallSortBenchmark} only runs the standard orders.</li>
+ * </ul>
+ *
+ * <p>Each choice is kept as a {@link Decision} ({@link #getDecision()}) and logged at
+ * {@link Level#DEBUG} on the {@code edu.iastate.cs2280.hw2.AutoSorter} logger.</p>
+ *
+ * <p><b>Stability:</b> stable under the standard orders (every strategy used for them is stable
+ * or compares compiled keys, which are unique); not guaranteed for other comparators.</p>
+ *
+ * @author Kaleb
+ * @see Algorithm#AutoSort
+ * @see StudentGenerator
+ */
+public class AutoSorter extends AbstractSorter {
+
+  /** Strategies {@link AutoSorter} can delegate to. */
+  public enum Strategy {
+    /**
+     * Binary insertion sort run by {@link AutoSorter} itself on the working array, with the
+     * comparator and no delegate. It starts after the leading natural run found by the scan, so
+     * sorted and reversed input cost no further comparisons.
+     */
+    BINARY_INSERTION,
+    /** {@link InsertionSorter}. */
+    INSERTION,
+    /** {@link TimSorter}: natural-run merging. */
+    RUN_MERGE,
+    /** {@link RadixSorter}. */
+    RADIX,
+    /** {@link CountingSorter}. */
+    COUNTING,
+    /** {@link QuickSorter} in introsort mode. */
+    INTRO,
+    /** {@link QuickSorter} in introsort mode with the three-way partition. */
+    THREE_WAY_INTRO
+  }
+
+  /**
+   * One strategy decision and the sample it was based on.
+   */
+  public static final class Decision {
+    private final Strategy strategy;
+    private final int size;
+    private final double monotoneRatio;
+    private final double distinctRatio;
+    private final boolean keyed;
+
+    /**
+     * @param strategy chosen strategy
+     * @param size number of students
+     * @param monotoneRatio fraction of monotone windows, or {@code NaN} if not sampled
+     * @param distinctRatio fraction of distinct keys in the sample, or {@code NaN} if not sampled
+     * @param keyed whether the standard order comparator was installed
+     */
+    Decision(Strategy strategy, int size, double monotoneRatio, double distinctRatio, boolean keyed) {
+      this.strategy = strategy;
+      this.size = size;
+      this.monotoneRatio = monotoneRatio;
+      this.distinctRatio = distinctRatio;
+      this.keyed = keyed;
+    }
+
+    /**
+     * Returns the chosen strategy.
+     *
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+      return strategy;
+    }
+
+    /**
+     * Returns the number of students sorted.
+     *
+     * @return input size
+     */
+    public int getSize() {
+      return size;
+    }
+
+    /**
+     * Returns the fraction of sampled windows that were monotone.
+     *
+     * @return ratio in [0, 1], or {@code NaN} if the run scan decided without sampling
+     */
+    public double getMonotoneRatio() {
+      return monotoneRatio;
+    }
+
+    /**
+     * Returns the fraction of distinct keys among the sampled elements.
+     *
+     * @return ratio in (0, 1], or {@code NaN} if duplicates were not sampled
+     */
+    public double getDistinctRatio() {
+      return distinctRatio;
+    }
+
+    /**
+     * Returns whether the standard order comparator was installed, which allows the key-based
+     * strategies.
+     *
+     * @return {@code true} for orders set with {@link AbstractSorter#setComparator(int)}
+     */
+    public boolean isKeyed() {
+      return keyed;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.US, "%s for n=%d (monotone %.2f, distinct %.2f, %s)",
+          strategy, size, monotoneRatio, distinctRatio, keyed ? "keyed" : "comparator");
+    }
+  }
+
+  /**
+   * Below this size only the leading run is scanned: if it covers half the input,
+   * {@link Strategy#BINARY_INSERTION} finishes it, otherwise {@link Strategy#INSERTION}.
+   */
+  static final int TINY = 32;
+
+  /**
+   * Below this size natural runs are counted from the start; below {@link #SMALL} the count
+   * replaces the sample.
+   */
+  static final int SCAN_LIMIT = 256;
+
+  /**
+   * Natural runs up to which a scanned input goes to {@link Strategy#RUN_MERGE}: nearly sorted
+   * generator input below n = 200 has at most three, random input about one per three elements.
+   */
+  static final int SCAN_RUNS = 3;
+
+  /** Below this size unstructured input under the standard orders goes to insertion sort. */
+  static final int KEYED_SMALL = 64;
+
+  /** Below this size unstructured input under other comparators goes to insertion sort. */
+  static final int SMALL = 128;
+
+  /** From this size on the standard orders use {@link Strategy#COUNTING} instead of radix. */
+  static final int COUNTING_MIN = 8192;
+
+  /** With the standard orders, run-structured input is merged only below this size. */
+  static final int KEYED_RUN_LIMIT = 16384;
+
+  /** Adjacent pairs per sample window. */
+  static final int WINDOW = 8;
+
+  /** Largest number of sample windows. */
+  static final int MAX_WINDOWS = 32;
+
+  /** Elements sampled for the duplicate ratio. */
+  static final int DUPLICATE_SAMPLE = 64;
+
+  // Fraction of monotone windows from which the input counts as run-structured
+  private static final double RUN_RATIO = 0.75;
+
+  // Fraction of distinct sampled keys below which the input counts as duplicate-heavy
+  private static final double DUPLICATE_RATIO = 0.25;
+
+  private static final Logger LOG = System.getLogger(AutoSorter.class.getName());
+
+  private static final StudentDataset EMPTY = new StudentDataset(new Student[0]);
+
+  // Working array parked in idle delegates so they do not keep the last input alive
+  private static final Student[] NONE = new Student[0];
+
+  // Delegate sorters by Strategy ordinal, created on first use and reused with their buffers
+  private final AbstractSorter[] delegates = new AbstractSorter[Strategy.values().length];
+
+  // Decision of the last sort, or null before the first
+  private Decision decision;
+
+  // Exclusive ends of the runs found by the last scan, already made ascending
+  private final int[] runEnds = new int[SCAN_RUNS];
+
+  // Runs the last decision handed to RUN_MERGE from the scan, or 0 if it sampled instead
+  private int scannedRuns;
+
+  /**
+   * Constructs an AutoSorter over a deep copy of {@code students}.
+   *
+   * @param students input array
+   * @throws IllegalArgumentException if {@code students} is {@code null}
+   */
+  public AutoSorter(Student[] students) {
+    super(students);
+    this.algorithm = Algorithm.AutoSort.name();
+  }
+
+  /**
+   * Constructs an AutoSorter over the shared {@code data} without copying any {@link Student}.
+   *
+   * @param data input dataset
+   * @throws IllegalArgumentException if {@code data} is {@code null}
+   */
+  public AutoSorter(StudentDataset data) {
+    super(data);
+    this.algorithm = Algorithm.AutoSort.name();
+  }
+
+  /**
+   * Samples the working array, chooses a strategy, and sorts with it.
+   */
+  @Override
+  public void sort() {
+    decision = decide();
+    if (LOG.isLoggable(Level.DEBUG)) {
+      LOG.log(Level.DEBUG, "AutoSort chose {0}", decision);
+    }
+    if (students.length < 2) {
+      return;
+    }
+
+    if (decision.getStrategy() == Strategy.BINARY_INSERTION) {
+      binaryInsertionSort();
+      return;
+    }
+
+    AbstractSorter delegate = delegate(decision.getStrategy());
+    if (usesOrderComparator()) {
+      // Install the order itself, so instrumented delegates take the same key paths as timed ones
+      delegate.setComparator(order);
+    } else {
+      delegate.studentComparator = studentComparator;
+    }
+    delegate.resetCounters();
+    delegate.students = students;
+    try {
+      if (scannedRuns > 0) {
+        ((TimSorter) delegate).mergeRuns(runEnds, scannedRuns);
+      } else {
+        delegate.sort();
+      }
+      students = delegate.students;
+    } finally {
+      delegate.students = NONE;
+      if (INSTRUMENT) {
+        countComparisons(delegate.getComparisons());
+        countSwaps(delegate.getSwaps());
+        countWrites(delegate.getWrites());
+      }
+    }
+  }
+
+  /**
+   * Sorts the working array in place with {@link #studentComparator}, extending the leading run
+   * that {@link #countRuns(int)} made ascending with a binary insertion sort, as
+   * {@link TimSorter} does below its minimum run length. An element already in order after its
+   * predecessor costs one comparison, so nearly sorted input stays cheap. The sort is stable.
+   */
+  private void binaryInsertionSort() {
+    Student[] a = students;
+    int n = a.length;
+    Comparator<Student> cmp = studentComparator;
+    int run = runEnds[0];
+    for (int i = run; i < n; i++) {
+      Student key = a[i];
+      if (cmp.compare(a[i - 1], key) <= 0) {
+        continue;
+      }
+      // Binary search for the insertion point after any equal elements, as TimSorter does
+      int left = 0;
+      int right = i - 1;
+      while (left < right) {
+        int mid = (left + right) >>> 1;
+        if (cmp.compare(key, a[mid]) < 0) {
+          right = mid;
+        } else {
+          left = mid + 1;
+        }
+      }
+      System.arraycopy(a, left, a, left + 1, i - left);
+      a[left] = key;
+      countWrites(i - left + 1);
+    }
+  }
+
+  /**
+   * Returns the decision made by the last {@link #sort()}.
+   *
+   * @return the decision, or {@code null} if nothing has been sorted yet
+   */
+  public Decision getDecision() {
+    return decision;
+  }
+
+  /**
+   * Chooses a strategy for the current working array and comparator.
+   *
+   * @return the decision
+   */
+  Decision decide() {
+    int n = students.length;
+    boolean keyed = usesOrderComparator();
+    scannedRuns = 0;
+    if (n < TINY) {
+      // Only the leading run is worth finding; the insertion sort resumes after it
+      int leading = (countRuns(1) == 0) ? 0 : runEnds[0];
+      Strategy strategy = (2 * leading >= n) ? Strategy.BINARY_INSERTION : Strategy.INSERTION;
+      return new Decision(strategy, n, Double.NaN, Double.NaN, keyed);
+    }
+    if (n < SCAN_LIMIT) {
+      int runs = countRuns(SCAN_RUNS);
+      if (runs == 1) {
+        return new Decision(Strategy.BINARY_INSERTION, n, Double.NaN, Double.NaN, keyed);
+      }
+      if (runs <= SCAN_RUNS) {
+        scannedRuns = runs;
+        return new Decision(Strategy.RUN_MERGE, n, Double.NaN, Double.NaN, keyed);
+      }
+      if (n < SMALL) {
+        // The sample would be a single window at the start, which the scan has just covered
+        Strategy strategy = (keyed && n >= KEYED_SMALL) ? Strategy.RADIX : Strategy.INSERTION;
+        return new Decision(strategy, n, Double.NaN, Double.NaN, keyed);
+      }
+    }
+
+    // Sample evenly spaced windows of adjacent pairs
+    int windows = Math.min(MAX_WINDOWS, Math.max(1, n / (8 * WINDOW)));
+    int span = n - WINDOW - 1;
+    int ascending = 0;
+    int monotone = 0;
+    for (int w = 0; w < windows; w++) {
+      int start = (windows == 1) ? 0 : (int) ((long) w * span / (windows - 1));
+      int up = 0;
+      int down = 0;
+      for (int i = start; i < start + WINDOW; i++) {
+        if (studentComparator.compare(students[i], students[i + 1]) <= 0) {
+          up++;
+        } else {
+          down++;
+        }
+      }
+      if (up == WINDOW) {
+        ascending++;
+        monotone++;
+      } else if (down == WINDOW) {
+        monotone++;
+      }
+    }
+    double monotoneRatio = (double) monotone / windows;
+
+    if (ascending == windows
+        || (monotoneRatio >= RUN_RATIO && (!keyed || n < KEYED_RUN_LIMIT))) {
+      return new Decision(Strategy.RUN_MERGE, n, monotoneRatio, Double.NaN, keyed);
+    }
+    if (n < (keyed ? KEYED_SMALL : SMALL)) {
+      return new Decision(Strategy.INSERTION, n, monotoneRatio, Double.NaN, keyed);
+    }
+    if (keyed) {
+      Strategy keyedStrategy = (n < COUNTING_MIN) ? Strategy.RADIX : Strategy.COUNTING;
+      return new Decision(keyedStrategy, n, monotoneRatio, Double.NaN, keyed);
+    }
+    double distinctRatio = distinctRatio();
+    Strategy strategy = (distinctRatio < DUPLICATE_RATIO) ? Strategy.THREE_WAY_INTRO : Strategy.INTRO;
+    return new Decision(strategy, n, monotoneRatio, distinctRatio, keyed);
+  }
+
+  /**
+   * Finds the natural runs of the working array from the start, as {@link TimSorter} does: a run
+   * is ascending, or strictly descending and then reversed in place (which keeps equal elements
+   * in order). Stops once more than {@code limit} runs are seen, so random input costs about
+   * three comparisons per run; the runs reversed up to then are harmless to any later sort. The
+   * ends of the runs found are kept in {@link #runEnds}.
+   *
+   * @param limit runs after which to stop, at most {@link #SCAN_RUNS}
+   * @return number of runs, or {@code limit + 1} if there are more
+   */
+  private int countRuns(int limit) {
+    Student[] a = students;
+    int n = a.length;
+    Comparator<Student> cmp = studentComparator;
+    int runs = 0;
+    int i = 0;
+    while (i < n) {
+      if (runs == limit) {
+        return limit + 1;
+      }
+      int start = i++;
+      if (i < n && cmp.compare(a[start], a[i++]) > 0) {
+        while (i < n && cmp.compare(a[i - 1], a[i]) > 0) {
+          i++;
+        }
+        for (int lo = start, hi = i - 1; lo < hi; lo++, hi--) {
+          swap(lo, hi);
+        }
+      } else {
+        while (i < n && cmp.compare(a[i - 1], a[i]) <= 0) {
+          i++;
+        }
+      }
+      runEnds[runs++] = i;
+    }
+    return runs;
+  }
+
+  /**
+   * Estimates the fraction of distinct keys from {@link #DUPLICATE_SAMPLE} evenly spaced elements:
+   * the sample is insertion-sorted with {@link #studentComparator} and equal neighbors counted.
+   *
+   * @return distinct keys divided by sample size
+   */
+  private double distinctRatio() {
+    int n = students.length;
+    int m = Math.min(DUPLICATE_SAMPLE, n);
+    Student[] sample = new Student[m];
+    Comparator<Student> cmp = studentComparator;
+    for (int s = 0; s < m; s++) {
+      Student x = students[(int) ((long) s * n / m)];
+      int j = s - 1;
+      while (j >= 0 && cmp.compare(sample[j], x) > 0) {
+        sample[j + 1] = sample[j];
+        j--;
+      }
+      sample[j + 1] = x;
+    }
+    int distinct = 1;
+    for (int s = 1; s < m; s++) {
+      if (cmp.compare(sample[s - 1], sample[s]) != 0) {
+        distinct++;
+      }
+    }
+    return (double) distinct / m;
+  }
+
+  /**
+   * Returns the delegate sorter for {@code strategy}, creating it on first use.
+   *
+   * @param strategy strategy to run
+   * @return the cached delegate
+   */
+  private AbstractSorter delegate(Strategy strategy) {
+    AbstractSorter sorter = delegates[strategy.ordinal()];
+    if (sorter != null) {
+      return sorter;
+    }
+    switch (strategy) {
+      case INSERTION:
+        sorter = new InsertionSorter(EMPTY);
+        break;
+      case RUN_MERGE:
+        sorter = new TimSorter(EMPTY);
+        break;
+      case RADIX:
+        sorter = new RadixSorter(EMPTY);
+        break;
+      case COUNTING:
+        sorter = new CountingSorter(EMPTY);
+        break;
+      case INTRO:
+      case THREE_WAY_INTRO: {
+        QuickSorter quick = new QuickSorter(EMPTY);
+        quick.setIntrosort(true);
+        if (strategy == Strategy.THREE_WAY_INTRO) {
+          quick.setPartitionScheme(QuickSorter.PartitionScheme.THREE_WAY);
+        }
+        sorter = quick;
+        break;
+      }
+      default:
+        throw new IllegalArgumentException();
+    }
+    sorter.setSpecialized(isSpecialized());
+    sorter.setVectorized(isVectorized());
+    delegates[strategy.ordinal()] = sorter;
+    return sorter;
+  }
+
+  /**
+   * Enables or disables specialized comparisons here and in every delegate.
+   *
+   * @param enabled {@code true} to compare compiled keys when possible
+   */
+  @Override
+  public void setSpecialized(boolean enabled) {
+    super.setSpecialized(enabled);
+    for (AbstractSorter d : delegates) {
+      if (d != null) {
+        d.setSpecialized(enabled);
+      }
+    }
+  }
+
+  /**
+   * Enables or disables the SIMD kernels here and in every delegate.
+   *
+   * @param enabled {@code true} to use the SIMD kernels when available
+   */
+  @Override
+  public void setVectorized(boolean enabled) {
+    super.setVectorized(enabled);
+    for (AbstractSorter d : delegates) {
+      if (d != null) {
+        d.setVectorized(enabled);
+      }
+    }
+  }
+}
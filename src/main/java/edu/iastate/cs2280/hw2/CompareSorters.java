@@ -3,17 +3,27 @@ package edu.iastate.cs2280.hw2;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 /**
  * The {@code CompareSorters} class is the console driver for HW2.
  * <p>
- * It presents the menu, reads or generates {@link Student} input, runs all four
- * algorithms (Selection, Insertion, Merge, Quick) via {@link StudentScanner},
- * * prints the aligned performance table, shows the median student, and optionally
+ * It presents the menu, reads or generates {@link Student} input, runs every
+ * {@link Algorithm} (the four assignment sorts and the added ones) via {@link StudentScanner},
+ * prints the aligned performance table, shows the median student, and optionally
  * exports the results to CSV. All prompts and error messages match the working
  * example in the homework PDF.
  * </p>
@@ -25,6 +35,18 @@ import java.util.Scanner;
  * header {@code algorithm,size,time_ns}.
  * </p>
  *
+ * <p><b>Concurrent runs:</b> by default the algorithms run one after another. With
+ * {@code --threads N} they run on a pool of {@code N} threads, so the quadratic sorters no longer
+ * hold up the rest. Concurrent scans compete for cores and memory bandwidth, so their times are
+ * only indicative; add {@code --serialize-timing} to let the untimed setup overlap while the timed
+ * sections run one at a time.</p>
+ * <pre>{@code
+ * java edu.iastate.cs2280.hw2.CompareSorters --threads 4 --serialize-timing
+ * }</pre>
+ *
+ * <p><b>Headless sweep:</b> {@code --sweep [options]} skips the menu and runs a
+ * {@link ScalingSweep} over a geometric range of sizes, printing CSV or JSON.</p>
+ *
  * @see StudentScanner
  * @see Student
  * @see Algorithm
@@ -37,13 +59,71 @@ public class CompareSorters {
    * <ul>
    *   <li>Trial prompts and menu selection (1=random, 2=file, 3=exit)</li>
    *   <li>Random/file input path with validation and exact error messages</li>
-   *   <li>Timing all four algorithms and reporting aligned stats</li>
+   *   <li>Timing every {@link Algorithm} and reporting aligned stats</li>
    *   <li>Optional CSV export of the results</li>
    * </ul>
    *
-   * @param args unused
+   * @param args optional {@code --threads N} (run algorithms on N threads; default 1) and
+   *             {@code --serialize-timing} (time one algorithm at a time), and
+   *             {@code --shape NAME} (a {@link StudentGenerator.Shape} for random data; default
+   *             {@code RANDOM}); or {@code --sweep} followed by {@link ScalingSweep} options
    */
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("--sweep")) {
+      try {
+        ScalingSweep.main(Arrays.copyOfRange(args, 1, args.length));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return;
+    }
+    int threads = 1;
+    boolean serializeTiming = false;
+    StudentGenerator.Shape shape = StudentGenerator.Shape.RANDOM;
+    for (int i = 0; i < args.length; i++) {
+      boolean valid = true;
+      if (args[i].equals("--threads") && i + 1 < args.length) {
+        try {
+          threads = Integer.parseInt(args[++i]);
+          valid = threads >= 1;
+        } catch (NumberFormatException e) {
+          valid = false;
+        }
+      } else if (args[i].equals("--serialize-timing")) {
+        serializeTiming = true;
+      } else if (args[i].equals("--shape") && i + 1 < args.length) {
+        try {
+          shape = StudentGenerator.Shape.valueOf(args[++i].toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+          valid = false;
+        }
+      } else {
+        valid = false;
+      }
+      if (!valid) {
+        System.out.println("Usage: CompareSorters [--threads N] [--serialize-timing] [--shape NAME] | --sweep [options]");
+        return;
+      }
+    }
+    ExecutorService executor = (threads > 1) ? Executors.newFixedThreadPool(threads) : null;
+    Lock timingLock = serializeTiming ? new ReentrantLock() : null;
+    try {
+      run(executor, timingLock, shape);
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Runs the interactive menu loop; see {@link #main(String[])}.
+   *
+   * @param executor pool that runs the scans, or {@code null} to run them on this thread
+   * @param timingLock lock that serializes the timed sections, or {@code null}
+   * @param shape input shape of the random data
+   */
+  private static void run(ExecutorService executor, Lock timingLock, StudentGenerator.Shape shape) {
     System.out.println("Sorting Algorithms Performance Analysis using Student Data\n");
     System.out.println("keys: 1 (random student data) 2 (file input) 3 (exit)");
 
@@ -87,26 +167,21 @@ public class CompareSorters {
             break;
           }
 
-          // Generate dataset and run all algorithms via StudentScanner
-          Student[] students = generateRandomStudents(numStudents, rand);
-          StudentScanner[] scanners = new StudentScanner[Algorithm.values().length];
-
-          for (int i = 0; i < Algorithm.values().length; i++) {
-            Algorithm algo = Algorithm.values()[i];
-            scanners[i] = new StudentScanner(students, algo);
-            scanners[i].scan();
-          }
+          // Generate dataset once and share it (by reference) with every StudentScanner
+          StudentDataset dataset = new StudentDataset(
+              new StudentGenerator(rand.nextLong()).generate(shape, numStudents));
+          StudentScanner[] scanners = runAll(dataset, executor, timingLock);
 
           // Print results table and median profile (format must match PDF)
           System.out.println();
-          System.out.println("algorithm       size       time (ns)");
-          System.out.println("------------------------------------");
+          printTableHeader();
 
           for (int i = 0; i < scanners.length; i++) {
             System.out.println(scanners[i].stats());
           }
 
           System.out.println("------------------------------------");
+          printSpeedups(scanners, dataset, timingLock);
 
           Student median = scanners[0].getMedianStudent();
           System.out.println("\nMedian Student Profile: (GPA: " + String.format(java.util.Locale.US,"%.2f", median.getGpa()) + ", Credits: " + median.getCreditsTaken() + ")");
@@ -121,9 +196,9 @@ public class CompareSorters {
           String filename = scan.nextLine();
 
           // Enforce exact error messages for missing file / bad format
-          Student[] students = null;
+          StudentDataset dataset = null;
           try {
-            students = readStudentsFromFile(filename);
+            dataset = readStudentsFromFile(filename);
           } catch (FileNotFoundException e) {
             System.out.println("Error: File not found: " + filename);
             break;
@@ -132,25 +207,19 @@ public class CompareSorters {
             break;
           }
 
-          // Run all algorithms on the parsed dataset
-          StudentScanner[] scanners = new StudentScanner[Algorithm.values().length];
-
-          for (int i = 0; i < Algorithm.values().length; i++) {
-            Algorithm algo = Algorithm.values()[i];
-            scanners[i] = new StudentScanner(students, algo);
-            scanners[i].scan();
-          }
+          // Run all algorithms on the parsed dataset, shared by reference
+          StudentScanner[] scanners = runAll(dataset, executor, timingLock);
 
           // Print results table and median profile (format must match PDF)
           System.out.println();
-          System.out.println("algorithm       size       time (ns)");
-          System.out.println("------------------------------------");
+          printTableHeader();
 
           for (int i = 0; i < scanners.length; i++) {
             System.out.println(scanners[i].stats());
           }
 
           System.out.println("------------------------------------");
+          printSpeedups(scanners, dataset, timingLock);
 
           Student median = scanners[0].getMedianStudent();
           System.out.println("\nMedian Student Profile: (GPA: " + String.format(java.util.Locale.US,"%.2f", median.getGpa()) + ", Credits: " + median.getCreditsTaken() + ")");
@@ -173,6 +242,124 @@ public class CompareSorters {
     }
   }
 
+  /**
+   * Scans {@code dataset} with every {@link Algorithm}, one {@link StudentScanner} each.
+   *
+   * <p>With no executor the scans run one after another on the calling thread, in enum order.
+   * Otherwise each scan is submitted to {@code executor} (slowest algorithms first, as the enum
+   * lists them) and this method waits for all of them. The returned array is in enum order
+   * either way.</p>
+   *
+   * @param dataset shared input
+   * @param executor pool that runs the scans, or {@code null} to run them on this thread
+   * @param timingLock lock held by each scan for its timed section, or {@code null}
+   * @return completed scanners, indexed by {@link Algorithm#ordinal()}
+   * @throws IllegalStateException if interrupted while waiting for the scans
+   */
+  static StudentScanner[] runAll(StudentDataset dataset, ExecutorService executor, Lock timingLock) {
+    Algorithm[] algos = Algorithm.values();
+    StudentScanner[] scanners = new StudentScanner[algos.length];
+    for (int i = 0; i < algos.length; i++) {
+      scanners[i] = new StudentScanner(dataset, algos[i]);
+    }
+
+    if (executor == null) {
+      for (int i = 0; i < scanners.length; i++) {
+        scanners[i].scan(timingLock);
+      }
+      return scanners;
+    }
+
+    List<Future<?>> pending = new ArrayList<>(scanners.length);
+    for (int i = 0; i < scanners.length; i++) {
+      StudentScanner scanner = scanners[i];
+      pending.add(executor.submit(() -> scanner.scan(timingLock)));
+    }
+    try {
+      for (Future<?> f : pending) {
+        f.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for scans", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    } finally {
+      for (Future<?> f : pending) {
+        f.cancel(true);
+      }
+    }
+    return scanners;
+  }
+
+  /**
+   * Prints the results table header, with the operation-count columns when
+   * {@link AbstractSorter#INSTRUMENT} is set.
+   */
+  private static void printTableHeader() {
+    if (AbstractSorter.INSTRUMENT) {
+      System.out.println("algorithm       size       time (ns)    comparisons          swaps         writes");
+    } else {
+      System.out.println("algorithm       size       time (ns)");
+    }
+    System.out.println("------------------------------------");
+  }
+
+  /**
+   * Prints the speedup of each parallel sorter over its sequential counterpart, computed as
+   * sequential time divided by parallel time, together with the core count it ran on.
+   *
+   * <p>The parallel sorters always compare through the comparator, while the table's sequential
+   * rows use compiled keys ({@link AbstractSorter#setSpecialized(boolean)}). Dividing those would
+   * measure key specialization rather than parallelism, so each baseline is scanned once more
+   * on the same data with specialization off.</p>
+   *
+   * @param scanners completed scans for all algorithms
+   * @param dataset the dataset the scans ran on
+   * @param timingLock lock held for the baseline's timed section, or {@code null}
+   */
+  private static void printSpeedups(StudentScanner[] scanners, StudentDataset dataset, Lock timingLock) {
+    printSpeedup(scanners, dataset, timingLock, Algorithm.MergeSort, Algorithm.ParallelMergeSort);
+    printSpeedup(scanners, dataset, timingLock, Algorithm.QuickSort, Algorithm.ParallelQuickSort);
+  }
+
+  /**
+   * Prints one speedup line, against a comparator-path scan of {@code sequential}, if the
+   * parallel algorithm was scanned.
+   *
+   * @param scanners completed scans for all algorithms
+   * @param dataset the dataset the scans ran on
+   * @param timingLock lock held for the baseline's timed section, or {@code null}
+   * @param sequential baseline algorithm
+   * @param parallel parallel variant of {@code sequential}
+   */
+  private static void printSpeedup(StudentScanner[] scanners, StudentDataset dataset, Lock timingLock,
+      Algorithm sequential, Algorithm parallel) {
+    long par = 0L;
+    for (int i = 0; i < scanners.length; i++) {
+      if (scanners[i].getAlgorithm() == parallel) par = scanners[i].getScanTime();
+    }
+    if (par == 0) {
+      return;
+    }
+    StudentScanner baseline = new StudentScanner(dataset, sequential);
+    baseline.setSpecialized(false);
+    baseline.scan(timingLock);
+    long seq = baseline.getScanTime();
+    if (seq > 0) {
+      System.out.println(String.format(java.util.Locale.US,
+          "Speedup %s/%s: %.2fx on %d cores (both comparing through the comparator)",
+          sequential, parallel, (double) seq / par, Runtime.getRuntime().availableProcessors()));
+    }
+  }
+
   /**
    * Prompts for CSV export and writes a file with header {@code algorithm,size,time_ns}.
    * Lines are derived from each {@link StudentScanner#stats()} string.
@@ -240,57 +427,41 @@ public class CompareSorters {
   }
 
   /**
-   * Reads whitespace-separated {@code double} GPA and {@code int} credits per line.
-   * Skips blank lines. Throws with PDF-specified messages on format problems or empty data.
+   * Reads whitespace-separated {@code double} GPA and {@code int} credits per line with
+   * {@link StudentFileParser}. Skips blank lines. Throws with PDF-specified messages on format
+   * problems or empty data. Files in the {@link StudentBinaryFile} format are detected by their magic number and loaded
+   * through {@link MappedStudentFile} instead of being parsed; the sorters still need one
+   * {@link Student} per record, so {@link MappedStudentFile#toDataset()} builds them.
    *
    * @param filename input filename
    * @return parsed students (in input order)
-   * @throws FileNotFoundException if file is missing
-   * @throws InputMismatchException if a line lacks valid {@code double} then {@code int}, or if no valid lines exist
+   * @throws FileNotFoundException if file is missing or is not a readable regular file
+   * @throws InputMismatchException if a line lacks valid {@code double} then {@code int}, if no valid lines exist, or if
+   *                                a binary record is out of range
    */
-  private static Student[] readStudentsFromFile(String filename) throws FileNotFoundException, InputMismatchException {
-    // Parse file according to "<gpa> <credits>" per line; enforce exact error messages
+  private static StudentDataset readStudentsFromFile(String filename) throws FileNotFoundException, InputMismatchException {
     File file = new File(filename);
-    Scanner fs = new Scanner(file);
-    ArrayList<Student> results = new ArrayList<>();
-
-    while (fs.hasNextLine()) {
-      String line = fs.nextLine().trim();
-      if (line.isEmpty()) continue;
-      Scanner ls = new Scanner(line);
-      if (!ls.hasNext()) {
-        ls.close();
-        continue;
-      }
-
-      double gpa;
-      if (!ls.hasNextDouble()) {
-        ls.close();
-        throw new InputMismatchException("File format error: Invalid GPA format. Expected a double.");
-      }
-
-      gpa = ls.nextDouble();
-      if (!ls.hasNext()) {
-        ls.close();
-        throw new InputMismatchException("File format error: Invalid credits format. Expected an integer.");
-      }
-
-      int credits;
-      if (!ls.hasNextInt()) {
-        ls.close();
-        throw new InputMismatchException("File format error: Invalid credits format. Expected an integer.");
+    if (file.isFile()) {
+      try {
+        if (StudentBinaryFile.isBinary(file.toPath())) {
+          MappedStudentFile mapped = MappedStudentFile.open(file.toPath());
+          if (mapped.size() == 0) {
+            throw new InputMismatchException("File is empty or contains no valid student data.");
+          }
+          return mapped.toDataset();
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
-
-      credits = ls.nextInt();
-      results.add(new Student(gpa, credits));
-      ls.close();
     }
 
-    fs.close();
-    if (results.isEmpty()) {
-      throw new InputMismatchException("File is empty or contains no valid student data.");
+    // Parse "<gpa> <credits>" lines in parallel; error messages match the original reader
+    try {
+      return new StudentFileParser().parse(file.toPath());
+    } catch (FileNotFoundException e) {
+      throw e;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-
-    return results.toArray(new Student[0]);
   }
 }
@@ -0,0 +1,201 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code CountingSorter} class extends {@link RadixSorter} and implements a stable
+ * <b>counting sort</b> over the bounded (GPA, credits) key domain.
+ *
+ * <p><b>How it works:</b> GPAs are given to two decimals (401 values) and credits fall in a small
+ * range (0–150 for generated data), so the dataset has at most about 60K distinct keys no matter
+ * how large {@code n} gets. Each student's key for the current order is packed into a bucket
+ * number by {@link SortKeys#packInto}; one pass builds a histogram, a prefix sum turns it into
+ * bucket start positions, and a second pass scatters students into place in input order.</p>
+ *
+ * <p><b>Parallel variant:</b> for arrays of at least {@link #PARALLEL_THRESHOLD} students the
+ * array is split into one chunk per core. Each chunk builds its own histogram in parallel, the
+ * prefix sum is computed in parallel over blocks of buckets (bucket-major, chunk-minor so the
+ * result is still stable), and each chunk then scatters its students concurrently into disjoint
+ * output slots.</p>
+ *
+ * <p><b>Fallback:</b> when a GPA has more than two decimals or the credit range makes the key
+ * space wider than {@link #MAX_BUCKETS}, a histogram is no longer worthwhile and the inherited
+ * radix passes are used instead.</p>
+ *
+ * <p><b>Stability:</b> This implementation is stable in both the sequential and parallel paths.</p>
+ *
+ * <p><b>Complexity:</b> {@code O(n + k)} time and {@code O(n + k)} auxiliary space for {@code k}
+ * distinct keys; the parallel path uses {@code O(p * k)} space for {@code p} chunks.</p>
+ *
+ * @author Kaleb
+ * @see RadixSorter
+ * @see SortKeys
+ * @see Algorithm#CountingSort
+ */
+public class CountingSorter extends RadixSorter {
+
+    /** Largest number of histogram buckets the counting path will allocate. */
+    static final int MAX_BUCKETS = 1 << 22;
+
+    /** Array size at which the parallel histogram/prefix-sum path is used. */
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    // Size threshold and chunk count for the parallel path; package-private so tests can tune them
+    int parallelThreshold = PARALLEL_THRESHOLD;
+    int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Histogram reused by the sequential path; grown when a wider key space is seen
+    private int[] bucketCounts = new int[0];
+
+    /**
+     * Constructs a {@code CountingSorter} that operates on a deep copy of the provided
+     * {@link Student} array.
+     *
+     * @param students the array of students to be sorted
+     * @throws IllegalArgumentException if {@code students} is {@code null}
+     */
+    public CountingSorter(Student[] students) {
+        super(students);
+        this.algorithm = Algorithm.CountingSort.name();
+    }
+
+    /**
+     * Constructs a {@code CountingSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public CountingSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.CountingSort.name();
+    }
+
+    /**
+     * Sorts by packed keys with a counting sort when the key space is small enough, otherwise
+     * falls back to the radix passes of {@link RadixSorter}.
+     *
+     * @param keys   one packed key per student
+     * @param maxKey the largest key in {@code keys}
+     */
+    @Override
+    protected void sortPacked(long[] keys, long maxKey) {
+        if (maxKey >= MAX_BUCKETS) {
+            super.sortPacked(keys, maxKey);
+            return;
+        }
+        int buckets = (int) maxKey + 1;
+        int n = students.length;
+
+        // Keep the per-chunk histograms no larger than the data itself
+        int chunks = Math.min(parallelism, n / buckets);
+        if (n >= parallelThreshold && chunks > 1) {
+            parallelCountingSort(keys, buckets, chunks);
+        } else {
+            countingSort(keys, buckets);
+        }
+    }
+
+    /**
+     * Single-threaded stable counting sort of {@link #students} by {@code keys}.
+     *
+     * @param keys    one bucket number per student
+     * @param buckets number of buckets (largest key + 1)
+     */
+    private void countingSort(long[] keys, int buckets) {
+        int n = students.length;
+
+        // Histogram offset by one so the prefix sum yields start positions
+        if (bucketCounts.length < buckets + 1) {
+            bucketCounts = new int[buckets + 1];
+        } else {
+            Arrays.fill(bucketCounts, 0, buckets + 1, 0);
+        }
+        int[] count = bucketCounts;
+        for (int i = 0; i < n; i++) {
+            count[(int) keys[i] + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            count[b + 1] += count[b];
+        }
+
+        // Stable scatter in input order through the inherited scratch array
+        Student[] out = studentScratch;
+        for (int i = 0; i < n; i++) {
+            out[count[(int) keys[i]]++] = students[i];
+        }
+        System.arraycopy(out, 0, students, 0, n);
+        countWrites(2L * n);
+    }
+
+    /**
+     * Multi-threaded stable counting sort: parallel per-chunk histograms, a parallel blocked
+     * prefix sum, and a parallel per-chunk scatter.
+     *
+     * @param keys    one bucket number per student
+     * @param buckets number of buckets (largest key + 1)
+     * @param chunks  number of input chunks (and prefix-sum blocks)
+     */
+    private void parallelCountingSort(long[] keys, int buckets, int chunks) {
+        final Student[] src = students;
+        final int n = src.length;
+        final int chunkSize = (n + chunks - 1) / chunks;
+        final int[][] hist = new int[chunks][];
+
+        // 1. Per-chunk histograms
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * chunkSize;
+            int to = Math.min(n, from + chunkSize);
+            int[] h = new int[buckets];
+            for (int i = from; i < to; i++) {
+                h[(int) keys[i]]++;
+            }
+            hist[c] = h;
+        });
+
+        // 2. Prefix sum in (bucket, chunk) order: block totals in parallel, a short sequential
+        //    scan over the block totals, then each block rewrites its counts as start offsets
+        final int blockSize = (buckets + chunks - 1) / chunks;
+        final int[] blockStart = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(blk -> {
+            int total = 0;
+            int end = Math.min(buckets, (blk + 1) * blockSize);
+            for (int b = blk * blockSize; b < end; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    total += hist[c][b];
+                }
+            }
+            blockStart[blk] = total;
+        });
+        int running = 0;
+        for (int blk = 0; blk < chunks; blk++) {
+            int total = blockStart[blk];
+            blockStart[blk] = running;
+            running += total;
+        }
+        IntStream.range(0, chunks).parallel().forEach(blk -> {
+            int pos = blockStart[blk];
+            int end = Math.min(buckets, (blk + 1) * blockSize);
+            for (int b = blk * blockSize; b < end; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = hist[c][b];
+                    hist[c][b] = pos;
+                    pos += count;
+                }
+            }
+        });
+
+        // 3. Per-chunk stable scatter into disjoint output slots of the inherited scratch array
+        final Student[] out = studentScratch;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * chunkSize;
+            int to = Math.min(n, from + chunkSize);
+            int[] h = hist[c];
+            for (int i = from; i < to; i++) {
+                out[h[(int) keys[i]]++] = src[i];
+            }
+        });
+        System.arraycopy(out, 0, students, 0, n);
+        countWrites(2L * n);
+    }
+}
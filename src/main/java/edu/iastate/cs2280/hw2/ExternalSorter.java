@@ -0,0 +1,392 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code ExternalSorter} class sorts student files that do not fit in the heap, using
+ * <b>external merge sort</b>.
+ *
+ * <p><b>How it works:</b></p>
+ * <ol>
+ *   <li>A text input is first streamed into a temporary {@link StudentBinaryFile}; a binary input
+ *       is used as is. Every file is read sequentially through a small channel buffer, so reading
+ *       costs almost no heap and no file stays mapped.</li>
+ *   <li>The records are read in runs of at most {@code memoryBudget / BYTES_PER_RECORD} students.
+ *       Each run is sorted in memory by one reused {@link AbstractSorter} for the configured
+ *       {@link Algorithm} and spilled to a temporary binary file.</li>
+ *   <li>The sorted runs are merged with a {@link PriorityQueue} holding the head of each run
+ *       (k-way merge). Ties go to the earlier run, so a stable in-memory algorithm gives a stable
+ *       external sort.</li>
+ * </ol>
+ *
+ * <p><b>Median:</b> the record count is known before merging, so the median (position
+ * {@code n / 2}, as in {@link AbstractSorter#getMedian()}) is picked off the merged stream as it
+ * goes by. {@link #medianStudent(Path)} runs both orders without writing any output and stops each
+ * merge at the median, so the sorted data is never materialized anywhere.</p>
+ *
+ * <p>Temporary files are created in the configured directory (the system default otherwise),
+ * closed after each pass, and deleted before each call returns.</p>
+ *
+ * <pre>{@code
+ * ExternalSorter ext = new ExternalSorter(Algorithm.MergeSort);
+ * ext.setMemoryBudget(256L << 20);
+ * Student median = ext.sort(Path.of("archive.txt"), Path.of("archive-by-gpa.bin"), 0);
+ * }</pre>
+ *
+ * @see StudentBinaryFile
+ * @author Kaleb
+ */
+public class ExternalSorter {
+
+  /** Default memory budget for one in-memory run: 64 MB. */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+  /**
+   * Estimated heap cost of one record while its run is sorted: the {@link Student} object
+   * (24 bytes), the run array and sorter array references, and sorter scratch space.
+   */
+  static final int BYTES_PER_RECORD = 48;
+
+  // Algorithm used to sort each run in memory
+  private final Algorithm algorithm;
+
+  // Heap budget for one run, in bytes
+  private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+  // Directory for spilled runs; null means the system temp directory
+  private Path tempDirectory;
+
+  // Number of runs produced by the most recent pass
+  private int runCount;
+
+  /**
+   * Creates an external sorter that sorts each run with {@code algorithm}.
+   *
+   * @param algorithm any full-sort algorithm
+   * @throws IllegalArgumentException if {@code algorithm} is {@code null} or
+   *                                  {@link Algorithm#MedianSelect}, which does not sort
+   */
+  public ExternalSorter(Algorithm algorithm) {
+    if (algorithm == null || algorithm == Algorithm.MedianSelect) {
+      throw new IllegalArgumentException("algorithm must be a full sort");
+    }
+    this.algorithm = algorithm;
+  }
+
+  /**
+   * Sets the heap budget for one in-memory run.
+   *
+   * @param bytes budget in bytes; must allow at least one record
+   * @throws IllegalArgumentException if {@code bytes < BYTES_PER_RECORD}
+   */
+  public void setMemoryBudget(long bytes) {
+    if (bytes < BYTES_PER_RECORD) {
+      throw new IllegalArgumentException("memory budget must be at least " + BYTES_PER_RECORD + " bytes");
+    }
+    this.memoryBudget = bytes;
+  }
+
+  /**
+   * Sets the directory for temporary files.
+   *
+   * @param dir an existing directory, or {@code null} for the system default
+   */
+  public void setTempDirectory(Path dir) {
+    this.tempDirectory = dir;
+  }
+
+  /**
+   * Returns the number of sorted runs the most recent pass spilled.
+   *
+   * @return run count, or 0 before the first pass
+   */
+  public int getRunCount() {
+    return runCount;
+  }
+
+  /**
+   * Sorts {@code input} by {@code order} and writes the result to {@code output} in the binary
+   * format.
+   *
+   * @param input text or binary student file
+   * @param output destination binary file, or {@code null} to only compute the median
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return the median of the sorted sequence
+   * @throws IOException if a file cannot be read or written
+   * @throws InputMismatchException if the input is malformed or empty
+   * @throws IllegalArgumentException if {@code order} is not 0 or 1
+   */
+  public Student sort(Path input, Path output, int order) throws IOException {
+    if (order != 0 && order != 1) {
+      throw new IllegalArgumentException("order must be 0 or 1");
+    }
+    List<Path> temps = new ArrayList<>();
+    try {
+      return sort(binary(input, temps), output, order, temps);
+    } finally {
+      deleteAll(temps);
+    }
+  }
+
+  /**
+   * Computes the two-pass median student of {@code input}, as {@link StudentScanner#scan()} does,
+   * without writing any sorted output.
+   *
+   * @param input text or binary student file
+   * @return a student with the order-0 median GPA and the order-1 median credits
+   * @throws IOException if a file cannot be read or written
+   * @throws InputMismatchException if the input is malformed or empty
+   */
+  public Student medianStudent(Path input) throws IOException {
+    List<Path> temps = new ArrayList<>();
+    try {
+      Path data = binary(input, temps);
+      double gpa = sort(data, null, 0, temps).getGpa();
+      int credits = sort(data, null, 1, temps).getCreditsTaken();
+      return new Student(gpa, credits);
+    } finally {
+      deleteAll(temps);
+    }
+  }
+
+  /**
+   * Returns {@code input} if it is a binary file, or converts it to a temporary binary file.
+   *
+   * @param input text or binary student file
+   * @param temps list that collects temporary files for deletion
+   * @return the binary records
+   * @throws IOException if a file cannot be read or written
+   */
+  private Path binary(Path input, List<Path> temps) throws IOException {
+    if (StudentBinaryFile.isBinary(input)) {
+      return input;
+    }
+    Path binary = createTemp(temps, "input");
+    StudentBinaryFile.convert(input, binary);
+    return binary;
+  }
+
+  /**
+   * Spills sorted runs of {@code data} and merges them.
+   *
+   * @param data input records in the binary format
+   * @param output destination binary file, or {@code null}
+   * @param order comparator order
+   * @param temps list that collects temporary files for deletion
+   * @return the median of the sorted sequence
+   * @throws IOException if a file cannot be read or written
+   */
+  private Student sort(Path data, Path output, int order, List<Path> temps) throws IOException {
+    int n;
+    AbstractSorter sorter = null;
+    List<Path> runs = new ArrayList<>();
+    try (StudentBinaryFile.Reader in = new StudentBinaryFile.Reader(data)) {
+      n = in.count();
+      if (n == 0) {
+        throw new InputMismatchException("File is empty or contains no valid student data.");
+      }
+      int runSize = (int) Math.min(n, Math.max(1, memoryBudget / BYTES_PER_RECORD));
+
+      // 1. Sort and spill runs, reusing one run buffer and one sorter
+      Student[] run = new Student[runSize];
+      for (int start = 0; start < n; start += runSize) {
+        int len = Math.min(runSize, n - start);
+        if (len != run.length) {
+          run = new Student[len];
+        }
+        for (int i = 0; i < len; i++) {
+          run[i] = in.next();
+        }
+        if (sorter == null) {
+          sorter = StudentScanner.createSorter(algorithm, new StudentDataset(run));
+        } else {
+          sorter.load(run);
+        }
+        sorter.setComparator(order);
+        sorter.sort();
+
+        Path file = createTemp(temps, "run");
+        StudentBinaryFile.write(sorter.students, file);
+        runs.add(file);
+      }
+    }
+    // Drop the run buffers before merging so the merge has the heap to itself
+    Comparator<Student> cmp = sorter.studentComparator;
+    sorter = null;
+    runCount = runs.size();
+
+    // 2. k-way merge; the median is taken from the stream at position n / 2
+    return merge(runs, cmp, output, n / 2);
+  }
+
+  /**
+   * Merges sorted run files, optionally writing the merged sequence. Every run is closed before
+   * this method returns, even when it stops early at the median or fails.
+   *
+   * @param runs sorted run files, in input order
+   * @param cmp comparator the runs were sorted with
+   * @param output destination binary file, or {@code null} to stop at the median
+   * @param medianIndex merged position of the median
+   * @return the element at {@code medianIndex}
+   * @throws IOException if a file cannot be read or written
+   */
+  private static Student merge(List<Path> runs, Comparator<Student> cmp, Path output,
+                               long medianIndex) throws IOException {
+    PriorityQueue<Cursor> heads = new PriorityQueue<>(runs.size(), (a, b) -> {
+      int c = cmp.compare(a.head, b.head);
+      return (c != 0) ? c : Integer.compare(a.run, b.run);
+    });
+    List<StudentBinaryFile.Reader> readers = new ArrayList<>(runs.size());
+    Student median = null;
+    StudentBinaryFile.Writer out = null;
+    try {
+      for (int r = 0; r < runs.size(); r++) {
+        StudentBinaryFile.Reader reader = new StudentBinaryFile.Reader(runs.get(r));
+        readers.add(reader);
+        Cursor cursor = new Cursor(reader, r);
+        if (cursor.advance()) {
+          heads.add(cursor);
+        }
+      }
+
+      out = (output == null) ? null : new StudentBinaryFile.Writer(output);
+      long pos = 0;
+      while (!heads.isEmpty()) {
+        Cursor cursor = heads.poll();
+        if (pos == medianIndex) {
+          median = cursor.head;
+          if (out == null) {
+            break;
+          }
+        }
+        if (out != null) {
+          out.write(cursor.head);
+        }
+        pos++;
+        if (cursor.advance()) {
+          heads.add(cursor);
+        }
+      }
+    } finally {
+      try {
+        if (out != null) {
+          out.close();
+        }
+      } finally {
+        closeAll(readers);
+      }
+    }
+    return median;
+  }
+
+  /**
+   * Creates an empty temporary file and records it for deletion.
+   *
+   * @param temps list that collects temporary files
+   * @param prefix file name prefix
+   * @return the new file
+   * @throws IOException if the file cannot be created
+   */
+  private Path createTemp(List<Path> temps, String prefix) throws IOException {
+    Path file = (tempDirectory == null)
+        ? Files.createTempFile("hw2-" + prefix, ".bin")
+        : Files.createTempFile(tempDirectory, "hw2-" + prefix, ".bin");
+    temps.add(file);
+    return file;
+  }
+
+  /**
+   * Deletes every recorded temporary file, ignoring files that are already gone.
+   *
+   * @param temps temporary files
+   * @throws IOException if a file cannot be deleted
+   */
+  private static void deleteAll(List<Path> temps) throws IOException {
+    for (Path file : temps) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Closes every reader, rethrowing the first failure after trying all of them.
+   *
+   * @param readers open readers
+   * @throws IOException if a reader cannot be closed
+   */
+  private static void closeAll(List<StudentBinaryFile.Reader> readers) throws IOException {
+    IOException failure = null;
+    for (StudentBinaryFile.Reader reader : readers) {
+      try {
+        reader.close();
+      } catch (IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Sequential cursor over one sorted run.
+   */
+  private static final class Cursor {
+    private final StudentBinaryFile.Reader reader;
+    private final int run;
+    private Student head;
+
+    /**
+     * @param reader open run
+     * @param run index of the run in input order (merge tie-breaker)
+     */
+    Cursor(StudentBinaryFile.Reader reader, int run) {
+      this.reader = reader;
+      this.run = run;
+    }
+
+    /**
+     * Moves to the next record of the run.
+     *
+     * @return {@code false} if the run is exhausted
+     * @throws IOException if the run cannot be read
+     */
+    boolean advance() throws IOException {
+      head = reader.next();
+      return head != null;
+    }
+  }
+
+  /**
+   * Command-line entry point:
+   * {@code ExternalSorter <input> <output> [memoryBudgetMB] [algorithm]}. Sorts by order 0,
+   * writes the binary result, and prints the run count and the two-pass median student.
+   *
+   * @param args input file, output file, optional budget in MB, optional algorithm name
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: ExternalSorter <input> <output> [memoryBudgetMB] [algorithm]");
+      return;
+    }
+    Algorithm algo = (args.length > 3) ? Algorithm.valueOf(args[3]) : Algorithm.MergeSort;
+    ExternalSorter ext = new ExternalSorter(algo);
+    if (args.length > 2) {
+      ext.setMemoryBudget(Long.parseLong(args[2]) << 20);
+    }
+    ext.sort(Path.of(args[0]), Path.of(args[1]), 0);
+    System.out.println("Sorted " + args[0] + " into " + ext.getRunCount() + " runs");
+    System.out.println("Median Student: " + ext.medianStudent(Path.of(args[0])));
+  }
+}
@@ -0,0 +1,25 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * Compares two records of a columnar dataset by their row indices.
+ *
+ * <p>This is the primitive counterpart of {@link java.util.Comparator}{@code <Student>}: the
+ * index-based sorters used by {@link StudentTable} move {@code int} row indices and ask this
+ * comparator about the rows they refer to, so no {@link Student} objects are touched.</p>
+ *
+ * @see StudentTable#comparator(int)
+ * @author Kaleb
+ */
+@FunctionalInterface
+interface IndexComparator {
+
+  /**
+   * Compares row {@code i} with row {@code j}.
+   *
+   * @param i first row index
+   * @param j second row index
+   * @return a negative integer, zero, or a positive integer as row {@code i} sorts before,
+   *         together with, or after row {@code j}
+   */
+  int compare(int i, int j);
+}
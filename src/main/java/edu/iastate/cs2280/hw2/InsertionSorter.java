@@ -56,6 +56,17 @@ public class InsertionSorter extends AbstractSorter {
         this.algorithm = Algorithm.InsertionSort.name();
     }
 
+    /**
+     * Constructs a {@code InsertionSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public InsertionSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.InsertionSort.name();
+    }
+
 
     /**
      * Sorts the internal {@link Student} array using the Insertion Sort algorithm.
@@ -71,6 +82,11 @@ public class InsertionSorter extends AbstractSorter {
     @Override
     public void sort() {
         int n = students.length;
+        if (n > 1 && compileSortKeys()) {
+            sortCompiled(sortKeys);
+            applySortKeys();
+            return;
+        }
 
         // Grow a sorted prefix [0..i-1], then insert students[i] into that prefix.
         for (int i = 1; i < n; i++) {
@@ -86,6 +102,49 @@ public class InsertionSorter extends AbstractSorter {
 
             // Insert the saved element at its correct position.
             students[j + 1] = key;
+            countWrites(i - j);
+        }
+    }
+
+    /**
+     * Insertion Sort over compiled {@link SortSpec} keys, comparing primitives directly.
+     * Mirrors {@link #sort()}, including its operation counts.
+     *
+     * @param keys compiled keys to sort ascending in place
+     */
+    private void sortCompiled(long[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int j = i - 1;
+
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            // One comparison per shift, plus the one that stopped the loop (if j did not run out)
+            countComparisons((i - 1 - j) + (j >= 0 ? 1 : 0));
+            countWrites(i - j);
+        }
+    }
+
+    /**
+     * Insertion Sort over a permutation of row indices, used by {@link StudentTable}.
+     * Mirrors {@link #sort()} (including its stability) but moves {@code int} indices.
+     *
+     * @param perm row indices to reorder in place
+     * @param cmp  comparator over row indices
+     */
+    static void sortIndices(int[] perm, IndexComparator cmp) {
+        for (int i = 1; i < perm.length; i++) {
+            int key = perm[i];
+            int j = i - 1;
+
+            while (j >= 0 && cmp.compare(perm[j], key) > 0) {
+                perm[j + 1] = perm[j];
+                j--;
+            }
+            perm[j + 1] = key;
         }
     }
 }
@@ -0,0 +1,183 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ * The {@code MappedStudentFile} class exposes a {@link StudentBinaryFile} as
+ * {@link StudentColumns} through a read-only memory mapping, with no per-record parsing.
+ *
+ * <p><b>How it works:</b> {@link #open(Path)} checks the 16-byte header and maps the record area
+ * with {@link FileChannel#map}. A single mapping is limited to 2 GB, so the records are mapped in
+ * segments of {@code 2^27} records (1.5 GB each); row {@code i} lives in segment
+ * {@code i >>> 27} at byte {@code 12 * (i & (2^27 - 1))}. {@link #getGpa(int)} and
+ * {@link #getCreditsTaken(int)} are single positioned loads from the mapping, so opening a file
+ * costs only the page faults of the rows actually touched.</p>
+ *
+ * <p><b>Sorting:</b> like {@link StudentTable}, {@link #sort(Algorithm, int)} runs one of the four
+ * index-based kernels of {@link StudentTable#sortIndices} (Selection, Insertion, Merge and Quick
+ * Sort) with a comparator that reads the mapping directly and returns a row permutation; the
+ * file is never modified. These kernels are the only code that reads the mapping in place. Every
+ * other sorter, and the driver, works on {@link Student} objects, so it goes through
+ * {@link #toDataset()}, which reads every record and allocates one {@code Student} per record:
+ * the file is not parsed, but the load is still linear CPU and allocation work.</p>
+ *
+ * <p>The mapping stays valid after {@code open} returns (the channel is closed immediately) and
+ * is released when this object becomes unreachable.</p>
+ *
+ * @see StudentBinaryFile
+ * @see StudentColumns
+ * @author Kaleb
+ */
+public final class MappedStudentFile implements StudentColumns {
+
+  // Records per mapped segment; a power of two so row lookup is a shift and a mask
+  private static final int SEGMENT_SHIFT = 27;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+  // Read-only mappings of consecutive record ranges
+  private final ByteBuffer[] segments;
+
+  // Number of records in the file
+  private final int size;
+
+  /**
+   * @param segments mapped record segments in row order
+   * @param size number of records
+   */
+  private MappedStudentFile(ByteBuffer[] segments, int size) {
+    this.segments = segments;
+    this.size = size;
+  }
+
+  /**
+   * Maps a binary student file for reading.
+   *
+   * @param file file in the {@link StudentBinaryFile} format
+   * @return a read-only view of the file's records
+   * @throws IOException if the file cannot be opened or mapped
+   * @throws InputMismatchException if the header is missing or invalid, or the file length does
+   *                                not match the record count
+   */
+  public static MappedStudentFile open(Path file) throws IOException {
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      long count = StudentBinaryFile.readHeader(ch);
+      int segmentCount = (int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+      ByteBuffer[] segments = new ByteBuffer[segmentCount];
+      for (int s = 0; s < segmentCount; s++) {
+        long first = (long) s << SEGMENT_SHIFT;
+        long rows = Math.min(count - first, 1L << SEGMENT_SHIFT);
+        MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY,
+            StudentBinaryFile.HEADER_BYTES + first * StudentBinaryFile.RECORD_BYTES,
+            rows * StudentBinaryFile.RECORD_BYTES);
+        segments[s] = map.order(ByteOrder.LITTLE_ENDIAN);
+      }
+      return new MappedStudentFile(segments, (int) count);
+    }
+  }
+
+  /**
+   * Returns the number of records in the file.
+   *
+   * @return row count
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the GPA stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the GPA of row {@code i}
+   */
+  @Override
+  public double getGpa(int i) {
+    return segments[i >>> SEGMENT_SHIFT].getDouble((i & SEGMENT_MASK) * StudentBinaryFile.RECORD_BYTES);
+  }
+
+  /**
+   * Returns the credits stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the credits of row {@code i}
+   */
+  @Override
+  public int getCreditsTaken(int i) {
+    return segments[i >>> SEGMENT_SHIFT].getInt((i & SEGMENT_MASK) * StudentBinaryFile.RECORD_BYTES + 8);
+  }
+
+  /**
+   * Returns an index comparator implementing the assignment's two orders over the mapped
+   * records; it agrees exactly with {@link AbstractSorter#setComparator(int)}.
+   *
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return comparator over row indices
+   * @throws IllegalArgumentException if {@code order} is not 0 or 1
+   */
+  IndexComparator comparator(int order) {
+    if (order == 0) {
+      // Order 0: GPA desc, then credits desc
+      return (i, j) -> {
+        int r = Double.compare(getGpa(j), getGpa(i));
+        if (r != 0) return r;
+        return Integer.compare(getCreditsTaken(j), getCreditsTaken(i));
+      };
+    } else if (order == 1) {
+      // Order 1: credits asc, then GPA desc
+      return (i, j) -> {
+        int r = Integer.compare(getCreditsTaken(i), getCreditsTaken(j));
+        if (r != 0) return r;
+        return Double.compare(getGpa(j), getGpa(i));
+      };
+    } else {
+      throw new IllegalArgumentException("order must be 0 or 1");
+    }
+  }
+
+  /**
+   * Sorts the rows of the file with the given algorithm and order, reading the mapping directly.
+   *
+   * @param algo one of {@link Algorithm#SelectionSort}, {@link Algorithm#InsertionSort},
+   *             {@link Algorithm#MergeSort} or {@link Algorithm#QuickSort}
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return permutation whose {@code k}-th entry is the row at sorted position {@code k}
+   * @throws IllegalArgumentException if {@code algo} is {@code null} or has no index-based
+   *                                  implementation, or if {@code order} is not 0 or 1
+   */
+  public int[] sort(Algorithm algo, int order) {
+    if (algo == null) {
+      throw new IllegalArgumentException();
+    }
+    return StudentTable.sortIndices(size, algo, comparator(order));
+  }
+
+  /**
+   * Materializes every record as a {@link Student} for the object-based sorters. Unlike
+   * {@link #sort(Algorithm, int)}, this touches every page of the file and allocates one object
+   * per record.
+   *
+   * @return a dataset holding one student per record, in file order
+   * @throws InputMismatchException if a record holds a value out of the range accepted by
+   *                                {@link Student}
+   */
+  public StudentDataset toDataset() {
+    Student[] students = new Student[size];
+    for (int i = 0; i < size; i++) {
+      double gpa = getGpa(i);
+      int credits = getCreditsTaken(i);
+      if (gpa < 0.0 || gpa > 4.0 || credits < 0) {
+        throw new InputMismatchException("File format error: Record " + i + " is out of range.");
+      }
+      students[i] = new Student(gpa, credits);
+    }
+    return new StudentDataset(students);
+  }
+}
@@ -0,0 +1,214 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code MedianSelector} class extends {@link AbstractSorter} and answers the median query
+ * with <b>introselect</b> instead of a full sort.
+ *
+ * <p><b>How it works:</b> {@link StudentScanner#scan()} only ever reads
+ * {@link AbstractSorter#getMedian()}, i.e. the element at index {@code n / 2}. This class's
+ * {@link #sort()} therefore performs a <em>selection</em>: it rearranges the array so that the
+ * element at {@code n / 2} is exactly the one a full sort would put there, every element before
+ * it compares {@code <=} and every element after it compares {@code >=}. The rest of the array is
+ * left only partially ordered.</p>
+ *
+ * <p>Selection proceeds like quicksort but only descends into the side that contains the target
+ * index. Pivots are chosen by median-of-three and partitioning is three-way, so runs of equal keys
+ * are settled in one pass. Every two median-of-three rounds must at least halve the range (as in
+ * Musser's introselect); the first time they do not (e.g. on adversarial input) the pivot rule
+ * switches to <b>median-of-medians</b> for the rest of the search. The rounds before the switch
+ * therefore cost at most a geometric series in {@code n}, and median-of-medians guarantees a
+ * linear worst case from there.</p>
+ *
+ * <p><b>Comparator behavior:</b> All comparisons use {@link #studentComparator}, so the selected
+ * element agrees with what any of the full sorters would report for the same order.</p>
+ *
+ * <p><b>Complexity:</b> {@code O(n)} expected and worst-case time; {@code O(log n)} stack.
+ * Not stable.</p>
+ *
+ * @author Kaleb
+ * @see AbstractSorter#getMedian()
+ * @see Algorithm#MedianSelect
+ */
+public class MedianSelector extends AbstractSorter {
+
+    /** Ranges at most this long are finished with insertion sort. */
+    private static final int INSERTION_CUTOFF = 16;
+
+    // Skip the median-of-three rounds and use median-of-medians from the start (for tests)
+    boolean medianOfMediansOnly = false;
+
+    // Bounds of the "equal to pivot" band produced by the last partition call
+    private int eqFirst;
+    private int eqLast;
+
+    /**
+     * Constructs a {@code MedianSelector} that operates on a deep copy of the provided
+     * {@link Student} array.
+     *
+     * @param students the array of students to select from
+     * @throws IllegalArgumentException if {@code students} is {@code null}
+     */
+    public MedianSelector(Student[] students) {
+        super(students);
+        this.algorithm = Algorithm.MedianSelect.name();
+    }
+
+    /**
+     * Constructs a {@code MedianSelector} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public MedianSelector(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.MedianSelect.name();
+    }
+
+    /**
+     * Places the median element (index {@code n / 2} in sorted order) at index {@code n / 2},
+     * with no greater element before it and no smaller element after it.
+     */
+    @Override
+    public void sort() {
+        int n = students.length;
+        if (n <= 1) {
+            return;
+        }
+        select(0, n - 1, n / 2, !medianOfMediansOnly);
+    }
+
+    /**
+     * Not supported: {@link #sort()} only places the median, so the working array is never fully
+     * sorted and a batch cannot be merged into it.
+     *
+     * @param batch ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void append(Student[] batch) {
+        throw new UnsupportedOperationException("MedianSelect does not keep the array sorted");
+    }
+
+    /**
+     * Moves the element of rank {@code k} (within {@code students[first..last]}) to index
+     * {@code k}.
+     *
+     * @param first      the starting index of the range
+     * @param last       the ending index of the range
+     * @param k          target index, {@code first <= k <= last}
+     * @param fastPivots whether to start with median-of-three pivots
+     */
+    private void select(int first, int last, int k, boolean fastPivots) {
+        // Range size two rounds ago; two median-of-three rounds must at least halve it
+        int checkpoint = last - first + 1;
+        int rounds = 0;
+        while (last - first >= INSERTION_CUTOFF) {
+            int pivotIndex = fastPivots ? medianOfThree(first, last) : medianOfMedians(first, last);
+
+            partition(first, last, pivotIndex);
+            if (k < eqFirst) {
+                last = eqFirst - 1;
+            } else if (k > eqLast) {
+                first = eqLast + 1;
+            } else {
+                return;
+            }
+
+            if (fastPivots && ++rounds == 2) {
+                int size = last - first + 1;
+                fastPivots = size <= checkpoint / 2;
+                checkpoint = size;
+                rounds = 0;
+            }
+        }
+        insertionSort(first, last);
+    }
+
+    /**
+     * Returns the index of the median of the first, middle and last elements of the range.
+     *
+     * @param first the starting index of the range
+     * @param last  the ending index of the range
+     * @return index of the median-of-three pivot
+     */
+    private int medianOfThree(int first, int last) {
+        int mid = first + (last - first) / 2;
+        if (studentComparator.compare(students[mid], students[first]) < 0) {
+            swap(first, mid);
+        }
+        if (studentComparator.compare(students[last], students[first]) < 0) {
+            swap(first, last);
+        }
+        if (studentComparator.compare(students[last], students[mid]) < 0) {
+            swap(mid, last);
+        }
+        return mid;
+    }
+
+    /**
+     * Computes a median-of-medians pivot: the median of each group of five is moved to the front
+     * of the range, and the true median of those medians is selected recursively.
+     *
+     * @param first the starting index of the range
+     * @param last  the ending index of the range
+     * @return index of a pivot guaranteed to have at least ~30% of the range on each side
+     */
+    private int medianOfMedians(int first, int last) {
+        int store = first;
+        for (int i = first; i <= last; i += 5) {
+            int end = Math.min(i + 4, last);
+            insertionSort(i, end);
+            swap(i + (end - i) / 2, store++);
+        }
+        int mid = first + (store - 1 - first) / 2;
+        select(first, store - 1, mid, false);
+        return mid;
+    }
+
+    /**
+     * Three-way (Dijkstra) partition of {@code students[first..last]} around the element at
+     * {@code pivotIndex}. On return, {@code [first, eqFirst)} compares less than the pivot,
+     * {@code [eqFirst, eqLast]} compares equal, and {@code (eqLast, last]} compares greater.
+     *
+     * @param first      the starting index of the range
+     * @param last       the ending index of the range
+     * @param pivotIndex index of the pivot element
+     */
+    private void partition(int first, int last, int pivotIndex) {
+        Student pivot = students[pivotIndex];
+        int lt = first;
+        int i = first;
+        int gt = last;
+        while (i <= gt) {
+            int c = studentComparator.compare(students[i], pivot);
+            if (c < 0) {
+                swap(lt++, i++);
+            } else if (c > 0) {
+                swap(i, gt--);
+            } else {
+                i++;
+            }
+        }
+        eqFirst = lt;
+        eqLast = gt;
+    }
+
+    /**
+     * Insertion sort of the small range {@code students[first..last]}.
+     *
+     * @param first the starting index of the range
+     * @param last  the ending index of the range
+     */
+    private void insertionSort(int first, int last) {
+        for (int i = first + 1; i <= last; i++) {
+            Student key = students[i];
+            int j = i - 1;
+            while (j >= first && studentComparator.compare(students[j], key) > 0) {
+                students[j + 1] = students[j];
+                j--;
+            }
+            students[j + 1] = key;
+            countWrites(i - j);
+        }
+    }
+}
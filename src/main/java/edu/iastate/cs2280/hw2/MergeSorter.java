@@ -43,6 +43,9 @@ public class MergeSorter extends AbstractSorter {
     /** Auxiliary array used for temporary storage during the merge process. */
     private Student[] aux;
 
+    /** Auxiliary array for merging compiled {@link SortSpec} keys. */
+    private long[] keyAux;
+
     /**
      * Constructs a {@code MergeSorter} that operates on a deep copy of the provided
      * {@link Student} array.
@@ -57,6 +60,17 @@ public class MergeSorter extends AbstractSorter {
         this.algorithm = Algorithm.MergeSort.name();
     }
 
+    /**
+     * Constructs a {@code MergeSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public MergeSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.MergeSort.name();
+    }
+
     /**
      * Sorts the internal array of {@link Student} objects using the <b>Merge Sort</b> algorithm.
      *
@@ -70,8 +84,19 @@ public class MergeSorter extends AbstractSorter {
         if (n <= 1) {
             return;
         }
+        if (compileSortKeys()) {
+            if (keyAux == null || keyAux.length != n) {
+                keyAux = new long[n];
+            }
+            sortCompiledRec(sortKeys, keyAux, 0, n - 1);
+            applySortKeys();
+            return;
+        }
 
-        aux = new Student[n];
+        // Reuse the merge buffer across sorts of the same size
+        if (aux == null || aux.length != n) {
+            aux = new Student[n];
+        }
         mergeSortRec(0, n - 1);
     }
 
@@ -123,5 +148,89 @@ public class MergeSorter extends AbstractSorter {
         while (i <= mid) {
             students[dest++] = aux[i++];
         }
+        // Copy into aux, then every element written back up to the untouched right tail
+        countWrites((right - left + 1) + (dest - left));
+    }
+
+    /**
+     * Recursively sorts compiled {@link SortSpec} keys {@code keys[left..right]}, comparing
+     * primitives directly. Mirrors {@link #mergeSortRec(int, int)}, including its operation counts.
+     *
+     * @param keys  compiled keys being sorted
+     * @param aux   scratch buffer of the same length as {@code keys}
+     * @param left  the leftmost index of the range
+     * @param right the rightmost index of the range
+     */
+    private void sortCompiledRec(long[] keys, long[] aux, int left, int right) {
+        if (left >= right) {
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        sortCompiledRec(keys, aux, left, mid);
+        sortCompiledRec(keys, aux, mid + 1, right);
+
+        System.arraycopy(keys, left, aux, left, right - left + 1);
+        int i = left;
+        int j = mid + 1;
+        int dest = left;
+        while (i <= mid && j <= right) {
+            if (aux[i] <= aux[j]) {
+                keys[dest++] = aux[i++];
+            } else {
+                keys[dest++] = aux[j++];
+            }
+        }
+        countComparisons(dest - left);
+        while (i <= mid) {
+            keys[dest++] = aux[i++];
+        }
+        countWrites((right - left + 1) + (dest - left));
+    }
+
+    /**
+     * Stable Merge Sort over a permutation of row indices, used by {@link StudentTable}.
+     * Mirrors {@link #sort()} but moves {@code int} indices through an {@code int[]} buffer.
+     *
+     * @param perm row indices to reorder in place
+     * @param cmp  comparator over row indices
+     */
+    static void sortIndices(int[] perm, IndexComparator cmp) {
+        if (perm.length <= 1) {
+            return;
+        }
+        sortIndicesRec(perm, new int[perm.length], cmp, 0, perm.length - 1);
+    }
+
+    /**
+     * Recursively sorts {@code perm[left..right]}, merging through {@code aux}.
+     *
+     * @param perm  row indices being sorted
+     * @param aux   scratch buffer of the same length as {@code perm}
+     * @param cmp   comparator over row indices
+     * @param left  the leftmost index of the range
+     * @param right the rightmost index of the range
+     */
+    private static void sortIndicesRec(int[] perm, int[] aux, IndexComparator cmp, int left, int right) {
+        if (left >= right) {
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        sortIndicesRec(perm, aux, cmp, left, mid);
+        sortIndicesRec(perm, aux, cmp, mid + 1, right);
+
+        System.arraycopy(perm, left, aux, left, right - left + 1);
+        int i = left;
+        int j = mid + 1;
+        int dest = left;
+        while (i <= mid && j <= right) {
+            if (cmp.compare(aux[i], aux[j]) <= 0) {
+                perm[dest++] = aux[i++];
+            } else {
+                perm[dest++] = aux[j++];
+            }
+        }
+        while (i <= mid) {
+            perm[dest++] = aux[i++];
+        }
     }
 }
@@ -0,0 +1,296 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code ParallelMergeSorter} class extends {@link AbstractSorter} and implements a
+ * <b>fork/join parallel Merge Sort</b> for arrays of {@link Student} objects.
+ *
+ * <p><b>How it works:</b> The array is split in half recursively and both halves are sorted as
+ * concurrent {@link RecursiveAction} tasks on a {@link ForkJoinPool}. Ranges of at most
+ * {@link #SEQUENTIAL_CUTOFF} elements are sorted sequentially. Sorted halves are merged by a
+ * <em>parallel merge</em>: the middle element of the longer half is located in the other half by
+ * binary search (co-ranking), which fixes its final position and splits the merge into two
+ * independent merges that run as separate tasks. Merges of at most {@link #MERGE_CUTOFF} elements
+ * run sequentially. The sorted data ping-pongs between {@link #students} and one scratch array,
+ * so each level reads and writes every element once.</p>
+ *
+ * <p><b>Stability:</b> This implementation is stable, like {@link MergeSorter}. When the pivot of
+ * a split comes from the left half, right-half elements equal to it are placed after it
+ * (lower-bound search); when it comes from the right half, left-half elements equal to it are
+ * placed before it (upper-bound search).</p>
+ *
+ * <p><b>Complexity:</b> {@code O(n log n)} work, {@code O(log^3 n)} span; auxiliary space
+ * {@code O(n)}.</p>
+ *
+ * @author Kaleb
+ * @see MergeSorter
+ * @see Algorithm#ParallelMergeSort
+ */
+public class ParallelMergeSorter extends AbstractSorter {
+
+    /** Ranges at most this long are sorted by a single task. */
+    static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+    /** Merges of at most this many elements are not split further. */
+    static final int MERGE_CUTOFF = 1 << 13;
+
+    /** Ranges at most this long are finished with insertion sort inside a sequential task. */
+    private static final int INSERTION_CUTOFF = 32;
+
+    // Cutoffs; package-private so tests can force deep task trees on small inputs
+    int sequentialCutoff = SEQUENTIAL_CUTOFF;
+    int mergeCutoff = MERGE_CUTOFF;
+
+    /**
+     * Constructs a {@code ParallelMergeSorter} that operates on a deep copy of the provided
+     * {@link Student} array.
+     *
+     * @param students the array of students to be sorted
+     * @throws IllegalArgumentException if {@code students} is {@code null}
+     */
+    public ParallelMergeSorter(Student[] students) {
+        super(students);
+        this.algorithm = Algorithm.ParallelMergeSort.name();
+    }
+
+    /**
+     * Constructs a {@code ParallelMergeSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public ParallelMergeSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.ParallelMergeSort.name();
+    }
+
+    /**
+     * Sorts the internal array on the common {@link ForkJoinPool} using all available cores.
+     */
+    @Override
+    public void sort() {
+        int n = students.length;
+        if (n <= 1) {
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new SortTask(students, new Student[n], 0, n, true));
+    }
+
+    /**
+     * Sorts {@code src[lo, hi)}, leaving the result in {@code src} or in {@code tmp}.
+     */
+    private final class SortTask extends RecursiveAction {
+        private final Student[] src;
+        private final Student[] tmp;
+        private final int lo;
+        private final int hi;
+        private final boolean intoSrc;
+
+        /**
+         * @param src     array holding the unsorted input range
+         * @param tmp     scratch array of the same length
+         * @param lo      first index of the range (inclusive)
+         * @param hi      end of the range (exclusive)
+         * @param intoSrc {@code true} to leave the sorted range in {@code src}, else in {@code tmp}
+         */
+        SortTask(Student[] src, Student[] tmp, int lo, int hi, boolean intoSrc) {
+            this.src = src;
+            this.tmp = tmp;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoSrc = intoSrc;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= sequentialCutoff) {
+                sequentialSort(src, tmp, lo, hi - 1);
+                if (!intoSrc) {
+                    System.arraycopy(src, lo, tmp, lo, hi - lo);
+                    countWrites(hi - lo);
+                }
+                return;
+            }
+
+            // Children leave their halves in the opposite array, which we then merge from
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(src, tmp, lo, mid, !intoSrc),
+                    new SortTask(src, tmp, mid, hi, !intoSrc));
+            Student[] from = intoSrc ? tmp : src;
+            Student[] to = intoSrc ? src : tmp;
+            new MergeTask(from, lo, mid, mid, hi, to, lo).compute();
+        }
+    }
+
+    /**
+     * Stably merges the sorted ranges {@code from[aLo, aHi)} (left) and {@code from[bLo, bHi)}
+     * (right) into {@code to} starting at {@code dest}.
+     */
+    private final class MergeTask extends RecursiveAction {
+        private final Student[] from;
+        private final int aLo;
+        private final int aHi;
+        private final int bLo;
+        private final int bHi;
+        private final Student[] to;
+        private final int dest;
+
+        /**
+         * @param from source array holding both sorted ranges
+         * @param aLo  start of the left range (inclusive)
+         * @param aHi  end of the left range (exclusive)
+         * @param bLo  start of the right range (inclusive)
+         * @param bHi  end of the right range (exclusive)
+         * @param to   destination array
+         * @param dest first destination index
+         */
+        MergeTask(Student[] from, int aLo, int aHi, int bLo, int bHi, Student[] to, int dest) {
+            this.from = from;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.to = to;
+            this.dest = dest;
+        }
+
+        @Override
+        protected void compute() {
+            int lenA = aHi - aLo;
+            int lenB = bHi - bLo;
+            if (lenA + lenB <= mergeCutoff) {
+                sequentialMerge(from, aLo, aHi, bLo, bHi, to, dest);
+                return;
+            }
+
+            MergeTask left;
+            MergeTask right;
+            if (lenA >= lenB) {
+                // Co-rank the middle of the left range: right elements strictly less go first
+                int aMid = (aLo + aHi) >>> 1;
+                int bSplit = lowerBound(from, bLo, bHi, from[aMid]);
+                int pos = dest + (aMid - aLo) + (bSplit - bLo);
+                to[pos] = from[aMid];
+                countWrites(1);
+                left = new MergeTask(from, aLo, aMid, bLo, bSplit, to, dest);
+                right = new MergeTask(from, aMid + 1, aHi, bSplit, bHi, to, pos + 1);
+            } else {
+                // Co-rank the middle of the right range: left elements less or equal go first
+                int bMid = (bLo + bHi) >>> 1;
+                int aSplit = upperBound(from, aLo, aHi, from[bMid]);
+                int pos = dest + (aSplit - aLo) + (bMid - bLo);
+                to[pos] = from[bMid];
+                countWrites(1);
+                left = new MergeTask(from, aLo, aSplit, bLo, bMid, to, dest);
+                right = new MergeTask(from, aSplit, aHi, bMid + 1, bHi, to, pos + 1);
+            }
+            invokeAll(left, right);
+        }
+    }
+
+    /**
+     * Returns the first index in {@code a[lo, hi)} whose element compares {@code >= key}.
+     *
+     * @param a   sorted array
+     * @param lo  start of the range (inclusive)
+     * @param hi  end of the range (exclusive)
+     * @param key value to locate
+     * @return insertion point before any equal elements
+     */
+    private int lowerBound(Student[] a, int lo, int hi, Student key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (studentComparator.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the first index in {@code a[lo, hi)} whose element compares {@code > key}.
+     *
+     * @param a   sorted array
+     * @param lo  start of the range (inclusive)
+     * @param hi  end of the range (exclusive)
+     * @param key value to locate
+     * @return insertion point after any equal elements
+     */
+    private int upperBound(Student[] a, int lo, int hi, Student key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (studentComparator.compare(a[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Sequential stable merge of {@code from[aLo, aHi)} and {@code from[bLo, bHi)} into {@code to}.
+     *
+     * @param from source array holding both sorted ranges
+     * @param aLo  start of the left range (inclusive)
+     * @param aHi  end of the left range (exclusive)
+     * @param bLo  start of the right range (inclusive)
+     * @param bHi  end of the right range (exclusive)
+     * @param to   destination array
+     * @param dest first destination index
+     */
+    private void sequentialMerge(Student[] from, int aLo, int aHi, int bLo, int bHi,
+                                 Student[] to, int dest) {
+        countWrites((aHi - aLo) + (bHi - bLo));
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            if (studentComparator.compare(from[i], from[j]) <= 0) {
+                to[dest++] = from[i++];
+            } else {
+                to[dest++] = from[j++];
+            }
+        }
+        while (i < aHi) {
+            to[dest++] = from[i++];
+        }
+        while (j < bHi) {
+            to[dest++] = from[j++];
+        }
+    }
+
+    /**
+     * Sequential stable merge sort of {@code a[left..right]}, using {@code aux[left..right]} as
+     * scratch space; small ranges are finished with insertion sort.
+     *
+     * @param a     array to sort in place
+     * @param aux   scratch array
+     * @param left  the leftmost index of the range
+     * @param right the rightmost index of the range
+     */
+    private void sequentialSort(Student[] a, Student[] aux, int left, int right) {
+        if (right - left < INSERTION_CUTOFF) {
+            for (int i = left + 1; i <= right; i++) {
+                Student key = a[i];
+                int j = i - 1;
+                while (j >= left && studentComparator.compare(a[j], key) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = key;
+                countWrites(i - j);
+            }
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        sequentialSort(a, aux, left, mid);
+        sequentialSort(a, aux, mid + 1, right);
+        System.arraycopy(a, left, aux, left, right - left + 1);
+        countWrites(right - left + 1);
+        sequentialMerge(aux, left, mid + 1, mid + 1, right + 1, a, left);
+    }
+}
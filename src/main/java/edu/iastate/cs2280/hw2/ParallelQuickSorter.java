@@ -0,0 +1,363 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * ParallelQuickSorter is a fork/join parallel variant of {@link QuickSorter}.
+ * <p>
+ * Each partition step splits its range into elements less than, equal to, and greater than a
+ * median-of-three pivot; the "less" and "greater" sub-ranges are then sorted as two concurrent
+ * {@link RecursiveAction} tasks on the common {@link ForkJoinPool}. Ranges smaller than
+ * {@link #SEQUENTIAL_CUTOFF} are sorted by a single task with a sequential quicksort.
+ * <p>
+ * The first partitions of a large array would otherwise be a sequential bottleneck, so ranges of
+ * at least {@link #PARALLEL_PARTITION_THRESHOLD} elements are partitioned in parallel: the range
+ * is cut into blocks, each block classifies and counts its elements concurrently, prefix sums of
+ * the counts give every block its output offsets, and the blocks then scatter into a scratch
+ * array and copy back concurrently.
+ * <p>
+ * Three-way partitioning keeps long runs of equal (GPA, credits) keys, which are common at
+ * large sizes, from being partitioned again and again.
+ * <p>
+ * Like {@link QuickSorter} in introsort mode, every partition step (parallel or sequential)
+ * consumes one unit of a {@code 2 * log2(n)} depth budget, and a range that exhausts it is
+ * heapsorted by its task. Adversarial input such as a median-of-three killer therefore cannot
+ * build a linear-depth chain of tasks or stack frames, and the worst case is O(n log n).
+ * <p>
+ * Average time complexity is O(n log n) work with O(log^2 n) span for the partition tree.
+ * The sort is not stable. All element comparisons delegate to the comparator configured via
+ * {@link AbstractSorter#setComparator(int)}.
+ * </p>
+ * @see QuickSorter
+ * @see Algorithm#ParallelQuickSort
+ * @author Kaleb
+ */
+public class ParallelQuickSorter extends AbstractSorter {
+
+  /** Ranges smaller than this are sorted sequentially by one task. */
+  static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+  /** Ranges at least this long are partitioned in parallel. */
+  static final int PARALLEL_PARTITION_THRESHOLD = 1 << 20;
+
+  /** Ranges at most this long are finished with insertion sort. */
+  private static final int INSERTION_CUTOFF = 16;
+
+  // Tuning knobs; package-private so tests can force the parallel paths on small inputs
+  int sequentialCutoff = SEQUENTIAL_CUTOFF;
+  int parallelPartitionThreshold = PARALLEL_PARTITION_THRESHOLD;
+  int parallelism = Runtime.getRuntime().availableProcessors();
+
+  // Scratch space for parallel partitioning (allocated only when needed)
+  private Student[] scratch;
+  private byte[] side;
+
+  /**
+   * Constructs a ParallelQuickSorter with the given array of Student objects.
+   * Initializes the sorter and sets the algorithm name to "ParallelQuickSort".
+   *
+   * @param students the array of Student objects to be sorted
+   */
+  public ParallelQuickSorter(Student[] students) {
+    super(students);
+    this.algorithm = Algorithm.ParallelQuickSort.name();
+  }
+
+  /**
+   * Constructs a {@code ParallelQuickSorter} over the shared {@code data}, copying only references.
+   *
+   * @param data the dataset to be sorted
+   * @throws IllegalArgumentException if {@code data} is {@code null}
+   */
+  public ParallelQuickSorter(StudentDataset data) {
+    super(data);
+    this.algorithm = Algorithm.ParallelQuickSort.name();
+  }
+
+  /**
+   * Sorts the array of students on the common fork/join pool.
+   * If the array has zero or one element, no sorting is performed.
+   */
+  @Override
+  public void sort() {
+    int n = students.length;
+    if (n <= 1) {
+      return;
+    }
+    if (n >= parallelPartitionThreshold) {
+      scratch = new Student[n];
+      side = new byte[n];
+    }
+    int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+    ForkJoinPool.commonPool().invoke(new SortTask(0, n - 1, depthLimit));
+    scratch = null;
+    side = null;
+  }
+
+  /**
+   * Sorts {@code students[first..last]}, forking both sub-partitions.
+   */
+  private final class SortTask extends RecursiveAction {
+    private final int first;
+    private final int last;
+    private final int depthLimit;
+
+    /**
+     * @param first the starting index of the range
+     * @param last the ending index of the range
+     * @param depthLimit partition steps allowed before switching to heapsort
+     */
+    SortTask(int first, int last, int depthLimit) {
+      this.first = first;
+      this.last = last;
+      this.depthLimit = depthLimit;
+    }
+
+    @Override
+    protected void compute() {
+      if (last - first + 1 < sequentialCutoff || depthLimit == 0) {
+        sequentialSort(first, last, depthLimit);
+        return;
+      }
+
+      Student pivot = medianOfThree(first, last);
+      int[] eq = (last - first + 1 >= parallelPartitionThreshold)
+          ? parallelPartition(first, last, pivot)
+          : partition(first, last, pivot);
+      invokeAll(new SortTask(first, eq[0] - 1, depthLimit - 1),
+          new SortTask(eq[1] + 1, last, depthLimit - 1));
+    }
+  }
+
+  /**
+   * Sequential three-way introsort of {@code students[first..last]}. Recurses on the smaller
+   * side and loops on the larger one, so the stack depth stays O(log n), and heapsorts the range
+   * once {@code depthLimit} partition steps have been spent.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param depthLimit partition steps allowed before switching to heapsort
+   */
+  private void sequentialSort(int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_CUTOFF) {
+      if (depthLimit == 0) {
+        heapSort(first, last);
+        return;
+      }
+      depthLimit--;
+      int[] eq = partition(first, last, medianOfThree(first, last));
+      if (eq[0] - first < last - eq[1]) {
+        sequentialSort(first, eq[0] - 1, depthLimit);
+        first = eq[1] + 1;
+      } else {
+        sequentialSort(eq[1] + 1, last, depthLimit);
+        last = eq[0] - 1;
+      }
+    }
+    insertionSort(first, last);
+  }
+
+  /**
+   * Heapsorts {@code students[first..last]} in place; see {@link QuickSorter}'s heapsort.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   */
+  private void heapSort(int first, int last) {
+    int n = last - first + 1;
+    for (int i = n / 2 - 1; i >= 0; i--) {
+      siftDown(first, i, n);
+    }
+    for (int end = n - 1; end > 0; end--) {
+      swap(first, first + end);
+      siftDown(first, 0, end);
+    }
+  }
+
+  /**
+   * Restores the max-heap property below heap node {@code i} of the heap stored at
+   * {@code students[base..base+size-1]}.
+   *
+   * @param base array index of the heap root
+   * @param i heap index of the node to sift down
+   * @param size number of elements in the heap
+   */
+  private void siftDown(int base, int i, int size) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size
+          && studentComparator.compare(students[base + child + 1], students[base + child]) > 0) {
+        child++;
+      }
+      if (studentComparator.compare(students[base + child], students[base + i]) <= 0) {
+        return;
+      }
+      swap(base + i, base + child);
+      i = child;
+    }
+  }
+
+  /**
+   * Orders the first, middle and last elements of the range and returns their median.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @return the median-of-three pivot value
+   */
+  private Student medianOfThree(int first, int last) {
+    int mid = first + (last - first) / 2;
+    if (studentComparator.compare(students[mid], students[first]) < 0) {
+      swap(first, mid);
+    }
+    if (studentComparator.compare(students[last], students[first]) < 0) {
+      swap(first, last);
+    }
+    if (studentComparator.compare(students[last], students[mid]) < 0) {
+      swap(mid, last);
+    }
+    return students[mid];
+  }
+
+  /**
+   * Sequential three-way (Dijkstra) partition of {@code students[first..last]} around
+   * {@code pivot}.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param pivot the pivot value
+   * @return {@code {lt, gt}}: indices of the first and last elements equal to the pivot
+   */
+  private int[] partition(int first, int last, Student pivot) {
+    int lt = first;
+    int i = first;
+    int gt = last;
+    while (i <= gt) {
+      int c = studentComparator.compare(students[i], pivot);
+      if (c < 0) {
+        swap(lt++, i++);
+      } else if (c > 0) {
+        swap(i, gt--);
+      } else {
+        i++;
+      }
+    }
+    return new int[] {lt, gt};
+  }
+
+  /**
+   * Parallel three-way partition of {@code students[first..last]} around {@code pivot}:
+   * parallel classify-and-count per block, prefix sums of the counts, parallel scatter into
+   * {@link #scratch}, and a parallel copy back.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param pivot the pivot value
+   * @return {@code {lt, gt}}: indices of the first and last elements equal to the pivot
+   */
+  private int[] parallelPartition(int first, int last, Student pivot) {
+    final int len = last - first + 1;
+    final int blocks = Math.max(1, Math.min(parallelism * 4, len / INSERTION_CUTOFF));
+    final int blockSize = (len + blocks - 1) / blocks;
+    final int[] less = new int[blocks];
+    final int[] equal = new int[blocks];
+
+    // 1. Classify each element (0 = less, 1 = equal, 2 = greater) and count per block
+    IntStream.range(0, blocks).parallel().forEach(b -> {
+      int from = first + b * blockSize;
+      int to = Math.min(last + 1, from + blockSize);
+      int lt = 0;
+      int eq = 0;
+      for (int i = from; i < to; i++) {
+        int c = studentComparator.compare(students[i], pivot);
+        if (c < 0) {
+          side[i] = 0;
+          lt++;
+        } else if (c == 0) {
+          side[i] = 1;
+          eq++;
+        } else {
+          side[i] = 2;
+        }
+      }
+      less[b] = lt;
+      equal[b] = eq;
+    });
+
+    // 2. Prefix sums: each block's first output slot in each of the three regions
+    int totalLess = 0;
+    int totalEqual = 0;
+    for (int b = 0; b < blocks; b++) {
+      totalLess += less[b];
+      totalEqual += equal[b];
+    }
+    final int[] ltPos = new int[blocks];
+    final int[] eqPos = new int[blocks];
+    final int[] gtPos = new int[blocks];
+    int lt = first;
+    int eq = first + totalLess;
+    int gt = first + totalLess + totalEqual;
+    for (int b = 0; b < blocks; b++) {
+      int from = first + b * blockSize;
+      int size = Math.max(0, Math.min(last + 1, from + blockSize) - from);
+      ltPos[b] = lt;
+      eqPos[b] = eq;
+      gtPos[b] = gt;
+      lt += less[b];
+      eq += equal[b];
+      gt += size - less[b] - equal[b];
+    }
+
+    // 3. Scatter into scratch, then copy back
+    IntStream.range(0, blocks).parallel().forEach(b -> {
+      int from = first + b * blockSize;
+      int to = Math.min(last + 1, from + blockSize);
+      int l = ltPos[b];
+      int e = eqPos[b];
+      int g = gtPos[b];
+      for (int i = from; i < to; i++) {
+        byte s = side[i];
+        if (s == 0) {
+          scratch[l++] = students[i];
+        } else if (s == 1) {
+          scratch[e++] = students[i];
+        } else {
+          scratch[g++] = students[i];
+        }
+      }
+    });
+    IntStream.range(0, blocks).parallel().forEach(b -> {
+      int from = first + b * blockSize;
+      int to = Math.min(last + 1, from + blockSize);
+      if (from < to) {
+        System.arraycopy(scratch, from, students, from, to - from);
+      }
+    });
+    countWrites(2L * len);
+
+    return new int[] {first + totalLess, first + totalLess + totalEqual - 1};
+  }
+
+  /**
+   * Insertion sort of the small range {@code students[first..last]}.
+   *
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   */
+  private void insertionSort(int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      Student key = students[i];
+      int j = i - 1;
+      while (j >= first && studentComparator.compare(students[j], key) > 0) {
+        students[j + 1] = students[j];
+        j--;
+      }
+      students[j + 1] = key;
+      countWrites(i - j);
+    }
+  }
+}
@@ -13,10 +13,21 @@ package edu.iastate.cs2280.hw2;
  * <p>
  * The average time complexity of quicksort is O(n log n), where n is the number of elements.
  * The worst-case time complexity is O(n^2), but the median-of-three pivot selection reduces
- * the likelihood of this occurring.
+ * the likelihood of this occurring. Inputs crafted against median-of-three can still force it,
+ * so {@link #setIntrosort(boolean)} offers an introsort mode with a guaranteed O(n log n) bound.
  * <p>
  * This implementation sorts the array in place and does not require additional memory beyond
- * the recursion stack.
+ * the recursion stack, which is kept to O(log n) frames by always recursing on the smaller
+ * partition.
+ * <p>
+ * Two partition schemes are available through {@link #setPartitionScheme(PartitionScheme)}. The
+ * default {@link PartitionScheme#LOMUTO} partition sends every element equal to the pivot to the
+ * right side, so inputs with many duplicate keys are partitioned again and again. The
+ * {@link PartitionScheme#THREE_WAY} (Dijkstra "Dutch national flag") partition groups all
+ * elements equal to the pivot in the middle in the same single pass and never revisits them,
+ * which makes duplicate-heavy inputs close to O(n log k) for k distinct keys. The scheme only
+ * matters on the comparator path: the compiled keys of {@link #setSpecialized(boolean)} (on by
+ * default) are all distinct, so that path always runs the two-way partition.
  * <p>
  * All element comparisons delegate to the comparator configured via {@link AbstractSorter#setComparator(int)} (order 0 or 1) so this sorter respects the assignment's sorting criteria.
  * </p>
@@ -26,6 +37,29 @@ package edu.iastate.cs2280.hw2;
  */
 public class QuickSorter extends AbstractSorter {
 
+  /**
+   * Partitioning strategy used by each quicksort step.
+   */
+  public enum PartitionScheme {
+    /** Two-way Lomuto partition: less than the pivot to the left, everything else to the right. */
+    LOMUTO,
+    /** Three-way partition: less, equal, and greater than the pivot, in one pass. */
+    THREE_WAY
+  }
+
+  // Partitioning strategy; Lomuto unless changed via setPartitionScheme
+  private PartitionScheme partitionScheme = PartitionScheme.LOMUTO;
+
+  // Introsort mode: fall back to heapsort past 2*log2(n) partition levels
+  private boolean introsort = false;
+
+  // Scratch for the vectorized partition steps; reused across sorts of the same size
+  private long[] vectorScratch;
+
+  // Bounds of the "equal to pivot" band produced by the last three-way partition
+  private int eqFirst;
+  private int eqLast;
+
   /**
    * Constructs a QuickSorter with the given array of Student objects.
    * Initializes the sorter and sets the algorithm name to "QuickSort".
@@ -37,6 +71,44 @@ public class QuickSorter extends AbstractSorter {
     this.algorithm = Algorithm.QuickSort.name();
   }
 
+  /**
+   * Constructs a {@code QuickSorter} over the shared {@code data}, copying only references.
+   *
+   * @param data the dataset to be sorted
+   * @throws IllegalArgumentException if {@code data} is {@code null}
+   */
+  public QuickSorter(StudentDataset data) {
+    super(data);
+    this.algorithm = Algorithm.QuickSort.name();
+  }
+
+  /**
+   * Selects the partitioning strategy used by subsequent calls to {@link #sort()}. Has no effect
+   * while specialized comparisons are enabled, since compiled keys never compare equal.
+   *
+   * @param scheme the partition scheme
+   * @throws IllegalArgumentException if {@code scheme} is {@code null}
+   */
+  public void setPartitionScheme(PartitionScheme scheme) {
+    if (scheme == null) {
+      throw new IllegalArgumentException();
+    }
+    this.partitionScheme = scheme;
+  }
+
+  /**
+   * Enables or disables introsort mode. In introsort mode the sort tracks its partition depth
+   * and switches to heapsort for any range reached after more than {@code 2 * log2(n)}
+   * partition steps, which guarantees O(n log n) time even on adversarial ("antiquicksort")
+   * inputs. The algorithm name reported in the results table follows the mode.
+   *
+   * @param enabled {@code true} to enable introsort mode
+   */
+  public void setIntrosort(boolean enabled) {
+    this.introsort = enabled;
+    this.algorithm = enabled ? Algorithm.IntroSort.name() : Algorithm.QuickSort.name();
+  }
+
   /**
    * Sorts the array of students using the quicksort algorithm.
    * If the array has zero or one element, no sorting is performed.
@@ -47,31 +119,309 @@ public class QuickSorter extends AbstractSorter {
     if (n <= 1) {
       return;
     }
-    quickSortRec(0, n - 1);
+    int depthLimit = introsort ? 2 * (31 - Integer.numberOfLeadingZeros(n)) : Integer.MAX_VALUE;
+    if (compileSortKeys()) {
+      // Compiled keys are all distinct, so both partition schemes reduce to the two-way one
+      if (useVectorKeys()) {
+        int scratch = VectorKeys.scratchLength(n);
+        if (vectorScratch == null || vectorScratch.length != scratch) {
+          vectorScratch = new long[scratch];
+        }
+        quickSortVectorized(sortKeys, 0, n - 1, depthLimit, vectorScratch);
+      } else {
+        quickSortCompiled(sortKeys, 0, n - 1, depthLimit);
+      }
+      applySortKeys();
+      return;
+    }
+    quickSortRec(0, n - 1, depthLimit);
+  }
+
+  /**
+   * Sorts compiled {@link SortSpec} keys {@code keys[first..last]}, comparing primitives
+   * directly. Mirrors {@link #quickSortRec(int, int, int)}: median-of-three pivot, Lomuto
+   * partition, recursion on the smaller side, and heapsort once {@code depthLimit} is exhausted.
+   * Every key comparison and swap is counted like its comparator-path counterpart.
+   *
+   * @param keys compiled keys being sorted
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param depthLimit partition steps allowed before switching to heapsort
+   */
+  private void quickSortCompiled(long[] keys, int first, int last, int depthLimit) {
+    while (first < last) {
+      if (last - first == 1) {
+        if (lessKey(keys[last], keys[first])) {
+          swapKeys(keys, first, last);
+        }
+        return;
+      }
+      if (depthLimit == 0) {
+        heapSortCompiled(keys, first, last);
+        return;
+      }
+      depthLimit--;
+
+      // Median-of-three, median moved to keys[last]
+      int mid = first + (last - first) / 2;
+      if (lessKey(keys[mid], keys[first])) {
+        swapKeys(keys, first, mid);
+      }
+      if (lessKey(keys[last], keys[first])) {
+        swapKeys(keys, first, last);
+      }
+      if (lessKey(keys[last], keys[mid])) {
+        swapKeys(keys, mid, last);
+      }
+      swapKeys(keys, mid, last);
+
+      // Lomuto partition around keys[last]
+      long pivot = keys[last];
+      int p = first;
+      for (int j = first; j < last; j++) {
+        if (lessKey(keys[j], pivot)) {
+          swapKeys(keys, p++, j);
+        }
+      }
+      swapKeys(keys, p, last);
+
+      // Recurse on the smaller side, loop on the larger
+      if (p - first < last - p) {
+        quickSortCompiled(keys, first, p - 1, depthLimit);
+        first = p + 1;
+      } else {
+        quickSortCompiled(keys, p + 1, last, depthLimit);
+        last = p - 1;
+      }
+    }
+  }
+
+  /**
+   * Sorts compiled keys {@code keys[first..last]} with the {@link VectorKeys} kernels. Same
+   * structure as {@link #quickSortCompiled(long[], int, int, int)}, except that each partition
+   * step is a SIMD {@link VectorKeys#partition} (which keeps both sides in input order rather
+   * than Lomuto's swap order), ranges of at most {@link VectorKeys#SMALL_SORT} keys are finished
+   * by {@link VectorKeys#sortSmall}, and the median-of-three samples the quartiles and middle
+   * instead of the ends. A stable partition leaves each side in input order, so on inputs with
+   * runs of rising tie-breaker indices (few distinct GPAs, say) the end keys are often the
+   * extremes of a run, and end sampling exhausted the depth limit.
+   *
+   * @param keys compiled keys being sorted
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param depthLimit partition steps allowed before switching to heapsort
+   * @param scratch at least {@code VectorKeys.scratchLength(keys.length)} long
+   */
+  private void quickSortVectorized(long[] keys, int first, int last, int depthLimit,
+      long[] scratch) {
+    while (first < last) {
+      if (last - first < VectorKeys.SMALL_SORT) {
+        VectorKeys.sortSmall(keys, first, last + 1, scratch);
+        return;
+      }
+      if (depthLimit == 0) {
+        heapSortCompiled(keys, first, last);
+        return;
+      }
+      depthLimit--;
+
+      // Median of the quartile and middle keys, moved to keys[last]
+      int quarter = (last - first) / 4;
+      int lo = first + quarter;
+      int mid = first + (last - first) / 2;
+      int hi = last - quarter;
+      if (keys[mid] < keys[lo]) {
+        swapKeys(keys, lo, mid);
+      }
+      if (keys[hi] < keys[lo]) {
+        swapKeys(keys, lo, hi);
+      }
+      if (keys[hi] < keys[mid]) {
+        swapKeys(keys, mid, hi);
+      }
+      swapKeys(keys, mid, last);
+
+      // Vectorized partition of keys[first..last-1] around keys[last]; compiled keys are
+      // unique, so no keys equal to the pivot need splitting off
+      int p = VectorKeys.partition(keys, first, last, keys[last], scratch);
+      swapKeys(keys, p, last);
+
+      // Recurse on the smaller side, loop on the larger
+      if (p - first < last - p) {
+        quickSortVectorized(keys, first, p - 1, depthLimit, scratch);
+        first = p + 1;
+      } else {
+        quickSortVectorized(keys, p + 1, last, depthLimit, scratch);
+        last = p - 1;
+      }
+    }
+  }
+
+  /**
+   * Heapsorts compiled keys {@code keys[first..last]}; see {@link #heapSort(int, int)}.
+   *
+   * @param keys compiled keys being sorted
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   */
+  private void heapSortCompiled(long[] keys, int first, int last) {
+    int n = last - first + 1;
+    for (int i = n / 2 - 1; i >= 0; i--) {
+      siftDownCompiled(keys, first, i, n);
+    }
+    for (int end = n - 1; end > 0; end--) {
+      swapKeys(keys, first, first + end);
+      siftDownCompiled(keys, first, 0, end);
+    }
+  }
+
+  /**
+   * Restores the max-heap property below heap node {@code i} of the heap stored at
+   * {@code keys[base..base+size-1]}.
+   *
+   * @param keys compiled keys
+   * @param base array index of the heap root
+   * @param i heap index of the node to sift down
+   * @param size number of elements in the heap
+   */
+  private void siftDownCompiled(long[] keys, int base, int i, int size) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size && lessKey(keys[base + child], keys[base + child + 1])) {
+        child++;
+      }
+      if (!lessKey(keys[base + i], keys[base + child])) {
+        return;
+      }
+      swapKeys(keys, base + i, base + child);
+      i = child;
+    }
+  }
+
+  /**
+   * Compares two compiled keys, counting the comparison when instrumented.
+   *
+   * @param a first key
+   * @param b second key
+   * @return {@code true} if {@code a} sorts before {@code b}
+   */
+  private boolean lessKey(long a, long b) {
+    countComparisons(1);
+    return a < b;
+  }
+
+  /**
+   * Exchanges {@code keys[i]} and {@code keys[j]}, counting the swap when instrumented.
+   *
+   * @param keys compiled keys
+   * @param i first position
+   * @param j second position
+   */
+  private void swapKeys(long[] keys, int i, int j) {
+    long temp = keys[i];
+    keys[i] = keys[j];
+    keys[j] = temp;
+    countSwaps(1);
   }
 
   /**
    * Recursively sorts the subarray of students between indices first and last (inclusive)
    * using the quicksort algorithm with median-of-three pivot selection.
+   * <p>
+   * Only the smaller side of each partition is sorted by a recursive call; the larger side is
+   * handled by the next iteration of the loop, so the stack depth is at most log2(n) frames even
+   * when the partitions are badly unbalanced. In introsort mode every partition step consumes
+   * one unit of {@code depthLimit}; once it is exhausted the remaining range is heapsorted.
    *
    * @param first the starting index of the subarray to sort
    * @param last the ending index of the subarray to sort
+   * @param depthLimit partition steps allowed before switching to heapsort
    */
-  private void quickSortRec(int first, int last) {
-    if (first >= last) {
-      return;
-    }
-    if (last - first == 1) {
-      if (studentComparator.compare(students[last], students[first]) < 0) {
-        swap(first, last);
+  private void quickSortRec(int first, int last, int depthLimit) {
+    while (first < last) {
+      if (last - first == 1) {
+        if (studentComparator.compare(students[last], students[first]) < 0) {
+          swap(first, last);
+        }
+        return;
+      }
+      if (depthLimit == 0) {
+        heapSort(first, last);
+        return;
+      }
+      depthLimit--;
+
+      // [low, high] is the band this partition step puts in its final position
+      medianOfThree(first, last);
+      int low;
+      int high;
+      if (partitionScheme == PartitionScheme.THREE_WAY) {
+        partitionThreeWay(first, last);
+        low = eqFirst;
+        high = eqLast;
+      } else {
+        low = partition(first, last);
+        high = low;
+      }
+
+      // Recurse on the smaller side, loop on the larger
+      if (low - first < last - high) {
+        quickSortRec(first, low - 1, depthLimit);
+        first = high + 1;
+      } else {
+        quickSortRec(high + 1, last, depthLimit);
+        last = low - 1;
       }
-      return;
     }
+  }
 
-    medianOfThree(first, last);
-    int pivotIndex = partition(first, last);
-    quickSortRec(first, pivotIndex - 1);
-    quickSortRec(pivotIndex + 1, last);
+  /**
+   * Heapsorts the subarray {@code students[first..last]} in place. Used by introsort mode once
+   * the partition depth limit is exceeded, which bounds the worst case at O(n log n).
+   *
+   * @param first the starting index of the subarray to sort
+   * @param last the ending index of the subarray to sort
+   */
+  private void heapSort(int first, int last) {
+    int n = last - first + 1;
+    // Build a max-heap (largest under the comparator at the root)
+    for (int i = n / 2 - 1; i >= 0; i--) {
+      siftDown(first, i, n);
+    }
+    // Repeatedly move the root behind the shrinking heap
+    for (int end = n - 1; end > 0; end--) {
+      swap(first, first + end);
+      siftDown(first, 0, end);
+    }
+  }
+
+  /**
+   * Restores the max-heap property below heap node {@code i} of the heap stored at
+   * {@code students[base..base+size-1]}.
+   *
+   * @param base array index of the heap root
+   * @param i heap index of the node to sift down
+   * @param size number of elements in the heap
+   */
+  private void siftDown(int base, int i, int size) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size
+          && studentComparator.compare(students[base + child + 1], students[base + child]) > 0) {
+        child++;
+      }
+      if (studentComparator.compare(students[base + child], students[base + i]) <= 0) {
+        return;
+      }
+      swap(base + i, base + child);
+      i = child;
+    }
   }
 
   /**
@@ -120,4 +470,177 @@ public class QuickSorter extends AbstractSorter {
     swap(i, last); // move pivot into correct position
     return i;
   }
+
+  /**
+   * Three-way partitions the subarray around the pivot element located at index last.
+   * On return, {@code students[first..eqFirst-1]} are less than the pivot,
+   * {@code students[eqFirst..eqLast]} are equal to it, and {@code students[eqLast+1..last]}
+   * are greater.
+   *
+   * @param first the starting index of the subarray to partition
+   * @param last  the ending index of the subarray to partition
+   */
+  private void partitionThreeWay(int first, int last) {
+    Student pivot = students[last];
+    int lt = first; // boundary for elements less than pivot
+    int i = first;  // next element to classify
+    int gt = last;  // boundary for elements greater than pivot
+
+    while (i <= gt) {
+      int c = studentComparator.compare(students[i], pivot);
+      if (c < 0) {
+        swap(lt++, i++);
+      } else if (c > 0) {
+        swap(i, gt--);
+      } else {
+        i++;
+      }
+    }
+    eqFirst = lt;
+    eqLast = gt;
+  }
+
+  /**
+   * Quicksort over a permutation of row indices, used by {@link StudentTable}. Uses the same
+   * median-of-three pivot selection as {@link #sort()}, with a three-way partition so that runs
+   * of equal rows are settled in one pass. Always bounded like introsort mode: after
+   * {@code 2 * log2(n)} partition steps the remaining range is heapsorted, so tables of millions
+   * of rows cannot hit the quadratic case.
+   *
+   * @param perm row indices to reorder in place
+   * @param cmp comparator over row indices
+   */
+  static void sortIndices(int[] perm, IndexComparator cmp) {
+    if (perm.length <= 1) {
+      return;
+    }
+    int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(perm.length));
+    sortIndicesRec(perm, cmp, 0, perm.length - 1, depthLimit);
+  }
+
+  /**
+   * Recursively sorts {@code perm[first..last]}; see {@link #quickSortRec(int, int, int)}. Only
+   * the smaller side of each partition is sorted by a recursive call, so the stack depth is at
+   * most log2(n) frames.
+   *
+   * @param perm row indices being sorted
+   * @param cmp comparator over row indices
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   * @param depthLimit partition steps allowed before switching to heapsort
+   */
+  private static void sortIndicesRec(int[] perm, IndexComparator cmp, int first, int last,
+      int depthLimit) {
+    while (first < last) {
+      if (last - first == 1) {
+        if (cmp.compare(perm[last], perm[first]) < 0) {
+          swapIndices(perm, first, last);
+        }
+        return;
+      }
+      if (depthLimit == 0) {
+        heapSortIndices(perm, cmp, first, last);
+        return;
+      }
+      depthLimit--;
+
+      // Median-of-three, median moved to perm[last]
+      int mid = first + (last - first) / 2;
+      if (cmp.compare(perm[mid], perm[first]) < 0) {
+        swapIndices(perm, first, mid);
+      }
+      if (cmp.compare(perm[last], perm[first]) < 0) {
+        swapIndices(perm, first, last);
+      }
+      if (cmp.compare(perm[last], perm[mid]) < 0) {
+        swapIndices(perm, mid, last);
+      }
+      swapIndices(perm, mid, last);
+
+      // Three-way partition around perm[last]: [first, lt) less, [lt, gt] equal, the rest greater
+      int pivot = perm[last];
+      int lt = first;
+      int i = first;
+      int gt = last;
+      while (i <= gt) {
+        int c = cmp.compare(perm[i], pivot);
+        if (c < 0) {
+          swapIndices(perm, lt++, i++);
+        } else if (c > 0) {
+          swapIndices(perm, i, gt--);
+        } else {
+          i++;
+        }
+      }
+
+      // Recurse on the smaller side, loop on the larger
+      if (lt - first < last - gt) {
+        sortIndicesRec(perm, cmp, first, lt - 1, depthLimit);
+        first = gt + 1;
+      } else {
+        sortIndicesRec(perm, cmp, gt + 1, last, depthLimit);
+        last = lt - 1;
+      }
+    }
+  }
+
+  /**
+   * Heapsorts {@code perm[first..last]}; see {@link #heapSort(int, int)}.
+   *
+   * @param perm row indices being sorted
+   * @param cmp comparator over row indices
+   * @param first the starting index of the range
+   * @param last the ending index of the range
+   */
+  private static void heapSortIndices(int[] perm, IndexComparator cmp, int first, int last) {
+    int n = last - first + 1;
+    for (int i = n / 2 - 1; i >= 0; i--) {
+      siftDownIndices(perm, cmp, first, i, n);
+    }
+    for (int end = n - 1; end > 0; end--) {
+      swapIndices(perm, first, first + end);
+      siftDownIndices(perm, cmp, first, 0, end);
+    }
+  }
+
+  /**
+   * Restores the max-heap property below heap node {@code i} of the heap stored at
+   * {@code perm[base..base+size-1]}.
+   *
+   * @param perm row indices being sorted
+   * @param cmp comparator over row indices
+   * @param base array index of the heap root
+   * @param i heap index of the node to sift down
+   * @param size number of elements in the heap
+   */
+  private static void siftDownIndices(int[] perm, IndexComparator cmp, int base, int i,
+      int size) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size && cmp.compare(perm[base + child + 1], perm[base + child]) > 0) {
+        child++;
+      }
+      if (cmp.compare(perm[base + child], perm[base + i]) <= 0) {
+        return;
+      }
+      swapIndices(perm, base + i, base + child);
+      i = child;
+    }
+  }
+
+  /**
+   * Exchanges {@code perm[i]} and {@code perm[j]}.
+   *
+   * @param perm row indices
+   * @param i first position
+   * @param j second position
+   */
+  private static void swapIndices(int[] perm, int i, int j) {
+    int temp = perm[i];
+    perm[i] = perm[j];
+    perm[j] = temp;
+  }
 }
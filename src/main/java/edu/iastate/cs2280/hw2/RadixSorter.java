@@ -0,0 +1,188 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RadixSorter} class extends {@link AbstractSorter} and implements a stable
+ * <b>least-significant-digit (LSD) radix sort</b> for arrays of {@link Student} objects.
+ *
+ * <p><b>How it works:</b> Instead of calling {@link #studentComparator}, each student's key for
+ * the current order is encoded into a single {@code long} by {@link SortKeys#packInto}, so that
+ * ascending key order is exactly the comparator order. The keys are then sorted one byte at a
+ * time, least significant byte first, using a counting pass per byte; students move along with
+ * their keys. Bytes that are identical across all keys are skipped, so with the usual 0.00–4.00
+ * GPA and 0–150 credit ranges only two passes are needed.</p>
+ *
+ * <p><b>Off-grid GPAs:</b> if some GPA has more than two decimals the two fields cannot be
+ * packed. The sorter then runs the same radix passes twice: first on the secondary field, then
+ * (stably) on the primary field, which yields the same order.</p>
+ *
+ * <p><b>Stability:</b> Every counting pass is stable, so students that compare equal keep their
+ * original relative order.</p>
+ *
+ * <p><b>Complexity:</b> {@code O(p * (n + 256))} time for {@code p} non-trivial byte passes
+ * ({@code p <= 8}, typically 2); auxiliary space {@code O(n)}.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * RadixSorter sorter = new RadixSorter(students);
+ * sorter.setComparator(1); // credits ascending, then GPA descending
+ * sorter.sort();
+ * }</pre>
+ *
+ * @author Kaleb
+ * @see AbstractSorter
+ * @see SortKeys
+ * @see Algorithm#RadixSort
+ */
+public class RadixSorter extends AbstractSorter {
+
+    /** Number of buckets per pass (one byte of the key). */
+    private static final int RADIX = 256;
+
+    // Scratch buffers, kept across sorts of the same size so repeated sorts allocate nothing
+    private long[] keyBuffer;
+    private long[] keyScratch;
+    protected Student[] studentScratch;
+    private final int[] count = new int[RADIX + 1];
+
+    /**
+     * Constructs a {@code RadixSorter} that operates on a deep copy of the provided
+     * {@link Student} array.
+     *
+     * @param students the array of students to be sorted
+     * @throws IllegalArgumentException if {@code students} is {@code null}
+     */
+    public RadixSorter(Student[] students) {
+        super(students);
+        this.algorithm = Algorithm.RadixSort.name();
+    }
+
+    /**
+     * Constructs a {@code RadixSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public RadixSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.RadixSort.name();
+    }
+
+    /**
+     * Sorts the internal array by the order selected with {@link #setComparator(int)} using
+     * LSD radix passes over encoded keys.
+     *
+     * @throws IllegalStateException if {@link #setComparator(int)} has not been called
+     */
+    @Override
+    public void sort() {
+        if (order < 0) {
+            throw new IllegalStateException("setComparator must be called before sort()");
+        }
+        int n = students.length;
+        if (n <= 1) {
+            return;
+        }
+
+        ensureBuffers(n);
+        long[] keys = keyBuffer;
+        long maxKey = SortKeys.packInto(students, order, keys);
+        if (maxKey >= 0) {
+            sortPacked(keys, maxKey);
+        } else {
+            // LSD over fields: secondary first, then a stable pass on the primary field
+            SortKeys.secondaryInto(students, order, keys);
+            radixSort(keys);
+            SortKeys.primaryInto(students, order, keys);
+            radixSort(keys);
+        }
+    }
+
+    /**
+     * (Re)allocates the key and scratch buffers if they do not match {@code n} elements.
+     *
+     * @param n number of students to sort
+     */
+    private void ensureBuffers(int n) {
+        if (keyBuffer == null || keyBuffer.length != n) {
+            keyBuffer = new long[n];
+            keyScratch = new long[n];
+            studentScratch = new Student[n];
+        }
+    }
+
+    /**
+     * Stably sorts {@link #students} by packed keys produced by {@link SortKeys#packInto}.
+     * Subclasses may override this to use a different strategy for packed keys.
+     *
+     * @param keys   one packed key per student
+     * @param maxKey the largest key in {@code keys}
+     */
+    protected void sortPacked(long[] keys, long maxKey) {
+        radixSort(keys);
+    }
+
+    /**
+     * Stably sorts {@link #students} by the unsigned value of {@code keys}, where {@code keys[i]}
+     * is the key of {@code students[i]}. Both arrays are permuted together, ping-ponging through
+     * the scratch buffers.
+     *
+     * @param keys one key per student
+     */
+    protected final void radixSort(long[] keys) {
+        int n = students.length;
+
+        // Bits that differ between any key and the first; only those bytes need a pass
+        long diff = 0;
+        if (useVectorKeys()) {
+            diff = VectorKeys.differingBits(keys, 0, n);
+        } else {
+            for (int i = 1; i < n; i++) {
+                diff |= keys[i] ^ keys[0];
+            }
+        }
+
+        long[] srcKeys = keys;
+        Student[] src = students;
+        long[] dstKeys = keyScratch;
+        Student[] dst = studentScratch;
+
+        for (int shift = 0; shift < 64; shift += 8) {
+            if (((diff >>> shift) & 0xFF) == 0) {
+                continue;
+            }
+
+            // Histogram of this byte, offset by one so the prefix sum yields start positions
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(int) ((srcKeys[i] >>> shift) & 0xFF) + 1]++;
+            }
+            for (int b = 0; b < RADIX; b++) {
+                count[b + 1] += count[b];
+            }
+
+            // Stable scatter in input order
+            for (int i = 0; i < n; i++) {
+                int pos = count[(int) ((srcKeys[i] >>> shift) & 0xFF)]++;
+                dstKeys[pos] = srcKeys[i];
+                dst[pos] = src[i];
+            }
+            countWrites(n);
+
+            long[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            Student[] ts = src;
+            src = dst;
+            dst = ts;
+        }
+
+        // After an odd number of passes the result lives in the scratch arrays
+        if (src != students) {
+            System.arraycopy(src, 0, students, 0, n);
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            countWrites(n);
+        }
+    }
+}
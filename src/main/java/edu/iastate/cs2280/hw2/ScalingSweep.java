@@ -0,0 +1,495 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code ScalingSweep} class is the headless benchmark mode of the driver. It measures the
+ * two-pass {@link StudentScanner#scan()} of each selected {@link Algorithm} over a geometric
+ * sequence of input sizes and fits an empirical growth exponent per algorithm.
+ *
+ * <p><b>Procedure:</b> for every size {@code n = min, min·factor, min·factor², … ≤ max} one
+ * dataset of the selected {@link StudentGenerator.Shape} (random by default) is generated from a
+ * fixed seed and shared by all algorithms. Each algorithm's
+ * scanner first runs {@code warmup} untimed scans, then {@code repetitions} timed scans. The
+ * samples of one point are summarized by nearest-rank percentiles (p50, p90, p99).</p>
+ *
+ * <p><b>Growth exponent:</b> the slope {@code k} of the least-squares line through
+ * {@code (log n, log p50)}, so that {@code time ≈ c·n^k}. Expect about 2 for Selection and
+ * Insertion Sort and slightly above 1 for the n log n sorters.</p>
+ *
+ * <p><b>Time budget:</b> once an algorithm's p50 exceeds the per-point budget it is left out of
+ * all larger sizes, so the quadratic sorters do not dominate a sweep to large {@code n}.</p>
+ *
+ * <p><b>Output:</b> CSV (one row per point, in the spirit of {@code perf.csv}) or JSON (one
+ * object per algorithm with its exponent and points), to standard output or a file.</p>
+ * <pre>{@code
+ * java edu.iastate.cs2280.hw2.CompareSorters --sweep --min 1000 --max 1000000 --reps 7 \
+ *     --algorithms MergeSort,QuickSort,RadixSort --format json --out sweep.json
+ * }</pre>
+ *
+ * @see CompareSorters
+ * @see StudentScanner
+ * @author Kaleb
+ */
+public class ScalingSweep {
+
+  /** CSV header written by {@link #writeCsv(List, Writer)}. */
+  public static final String CSV_HEADER =
+      "algorithm,size,reps,p50_ns,p90_ns,p99_ns,min_ns,exponent";
+
+  private static final String USAGE = "Usage: CompareSorters --sweep [--min N] [--max N]"
+      + " [--factor F] [--reps N] [--warmup N] [--algorithms A,B,...] [--seed N]"
+      + " [--shape NAME] [--budget-ms N] [--format csv|json] [--out FILE]";
+
+  /**
+   * Timing samples of one algorithm at one input size.
+   */
+  public static final class Point {
+    private final int size;
+    private final long[] samples;
+
+    /**
+     * @param size input size
+     * @param samples scan times in nanoseconds; sorted ascending by this constructor
+     */
+    Point(int size, long[] samples) {
+      this.size = size;
+      this.samples = samples.clone();
+      Arrays.sort(this.samples);
+    }
+
+    /**
+     * Returns the input size of this point.
+     *
+     * @return number of students
+     */
+    public int getSize() {
+      return size;
+    }
+
+    /**
+     * Returns the number of timed repetitions.
+     *
+     * @return sample count
+     */
+    public int getRepetitions() {
+      return samples.length;
+    }
+
+    /**
+     * Returns the nearest-rank percentile of the samples: the smallest sample with at least
+     * {@code p} percent of the samples at or below it.
+     *
+     * @param p percentile in (0, 100]
+     * @return scan time in nanoseconds
+     * @throws IllegalArgumentException if {@code p} is out of range
+     */
+    public long percentile(double p) {
+      if (!(p > 0.0 && p <= 100.0)) {
+        throw new IllegalArgumentException("percentile must be in (0, 100]");
+      }
+      int rank = (int) Math.ceil(p / 100.0 * samples.length);
+      return samples[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Returns the fastest sample.
+     *
+     * @return minimum scan time in nanoseconds
+     */
+    public long min() {
+      return samples[0];
+    }
+  }
+
+  /**
+   * All points measured for one algorithm.
+   */
+  public static final class Series {
+    private final Algorithm algorithm;
+    private final List<Point> points = new ArrayList<>();
+
+    /**
+     * @param algorithm measured algorithm
+     */
+    Series(Algorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns the measured algorithm.
+     *
+     * @return the algorithm
+     */
+    public Algorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    /**
+     * Returns the measured points in increasing size order.
+     *
+     * @return unmodifiable list of points
+     */
+    public List<Point> getPoints() {
+      return Collections.unmodifiableList(points);
+    }
+
+    /**
+     * Returns the fitted growth exponent of the median times.
+     *
+     * @return slope of {@code log p50} over {@code log n}, or {@code NaN} with fewer than two sizes
+     */
+    public double exponent() {
+      int[] sizes = new int[points.size()];
+      double[] times = new double[points.size()];
+      for (int i = 0; i < sizes.length; i++) {
+        sizes[i] = points.get(i).getSize();
+        times[i] = points.get(i).percentile(50);
+      }
+      return fitExponent(sizes, times);
+    }
+  }
+
+  // Smallest and largest input size of the sweep
+  private int minSize = 1_000;
+  private int maxSize = 100_000;
+
+  // Ratio between consecutive sizes
+  private double factor = 2.0;
+
+  // Untimed and timed scans per point
+  private int warmup = 2;
+  private int repetitions = 5;
+
+  // Algorithms to measure, in output order
+  private Algorithm[] algorithms = Algorithm.values();
+
+  // Seed and shape of the generated datasets
+  private long seed = 2280L;
+  private StudentGenerator.Shape shape = StudentGenerator.Shape.RANDOM;
+
+  // Algorithms whose p50 exceeds this are skipped at larger sizes
+  private long budgetNanos = 10_000_000_000L;
+
+  /**
+   * Sets the size range of the sweep.
+   *
+   * @param min smallest size, at least 1
+   * @param max largest size, at least {@code min}
+   * @throws IllegalArgumentException if the range is empty or {@code min < 1}
+   */
+  public void setSizeRange(int min, int max) {
+    if (min < 1 || max < min) {
+      throw new IllegalArgumentException("size range must satisfy 1 <= min <= max");
+    }
+    this.minSize = min;
+    this.maxSize = max;
+  }
+
+  /**
+   * Sets the ratio between consecutive sizes.
+   *
+   * @param factor growth factor, greater than 1
+   * @throws IllegalArgumentException if {@code factor <= 1}
+   */
+  public void setFactor(double factor) {
+    if (!(factor > 1.0)) {
+      throw new IllegalArgumentException("factor must be greater than 1");
+    }
+    this.factor = factor;
+  }
+
+  /**
+   * Sets the number of untimed and timed scans per point.
+   *
+   * @param warmup untimed scans, at least 0
+   * @param repetitions timed scans, at least 1
+   * @throws IllegalArgumentException if either count is out of range
+   */
+  public void setRepetitions(int warmup, int repetitions) {
+    if (warmup < 0 || repetitions < 1) {
+      throw new IllegalArgumentException("need warmup >= 0 and repetitions >= 1");
+    }
+    this.warmup = warmup;
+    this.repetitions = repetitions;
+  }
+
+  /**
+   * Selects the algorithms to measure.
+   *
+   * @param algorithms one or more algorithms, in output order
+   * @throws IllegalArgumentException if {@code algorithms} is empty or contains {@code null}
+   */
+  public void setAlgorithms(Algorithm... algorithms) {
+    if (algorithms == null || algorithms.length == 0) {
+      throw new IllegalArgumentException("at least one algorithm is required");
+    }
+    for (Algorithm a : algorithms) {
+      if (a == null) {
+        throw new IllegalArgumentException();
+      }
+    }
+    this.algorithms = algorithms.clone();
+  }
+
+  /**
+   * Sets the seed for the generated datasets.
+   *
+   * @param seed random seed
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Sets the input shape of the generated datasets.
+   *
+   * @param shape input shape
+   * @throws IllegalArgumentException if {@code shape} is {@code null}
+   */
+  public void setShape(StudentGenerator.Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("shape must not be null");
+    }
+    this.shape = shape;
+  }
+
+  /**
+   * Sets the per-point time budget.
+   *
+   * @param nanos p50 above which an algorithm is not run at larger sizes; at least 1
+   * @throws IllegalArgumentException if {@code nanos < 1}
+   */
+  public void setBudgetNanos(long nanos) {
+    if (nanos < 1) {
+      throw new IllegalArgumentException("budget must be positive");
+    }
+    this.budgetNanos = nanos;
+  }
+
+  /**
+   * Returns the sizes of the sweep: {@code min}, then each previous size times the factor
+   * (rounded, and always growing by at least one) up to {@code max}.
+   *
+   * @return sizes in increasing order
+   */
+  int[] sizes() {
+    List<Integer> sizes = new ArrayList<>();
+    long n = minSize;
+    while (n <= maxSize) {
+      sizes.add((int) n);
+      n = Math.max(n + 1, Math.round(n * factor));
+    }
+    int[] out = new int[sizes.size()];
+    for (int i = 0; i < out.length; i++) {
+      out[i] = sizes.get(i);
+    }
+    return out;
+  }
+
+  /**
+   * Runs the sweep. Progress is reported on standard error, one line per point.
+   *
+   * @return one series per selected algorithm, in selection order
+   */
+  public List<Series> run() {
+    List<Series> result = new ArrayList<>(algorithms.length);
+    boolean[] overBudget = new boolean[algorithms.length];
+    for (Algorithm a : algorithms) {
+      result.add(new Series(a));
+    }
+
+    for (int n : sizes()) {
+      StudentDataset data = new StudentDataset(new StudentGenerator(seed + n).generate(shape, n));
+      for (int a = 0; a < algorithms.length; a++) {
+        if (overBudget[a]) {
+          continue;
+        }
+        StudentScanner scanner = new StudentScanner(data, algorithms[a]);
+        for (int w = 0; w < warmup; w++) {
+          scanner.scan();
+        }
+        long[] samples = new long[repetitions];
+        for (int r = 0; r < repetitions; r++) {
+          scanner.scan();
+          samples[r] = scanner.getScanTime();
+        }
+        Point point = new Point(n, samples);
+        result.get(a).points.add(point);
+        overBudget[a] = point.percentile(50) > budgetNanos;
+        System.err.println(String.format(Locale.US, "%-17s %10d  p50 %,15d ns", algorithms[a], n,
+            point.percentile(50)));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Fits {@code time ≈ c·size^k} by least squares on the log-log data and returns {@code k}.
+   *
+   * @param sizes input sizes
+   * @param times matching times, all positive
+   * @return the exponent, or {@code NaN} if fewer than two distinct sizes are given
+   */
+  static double fitExponent(int[] sizes, double[] times) {
+    int m = sizes.length;
+    double sx = 0;
+    double sy = 0;
+    for (int i = 0; i < m; i++) {
+      sx += Math.log(sizes[i]);
+      sy += Math.log(Math.max(times[i], 1.0));
+    }
+    double mx = sx / m;
+    double my = sy / m;
+    double sxx = 0;
+    double sxy = 0;
+    for (int i = 0; i < m; i++) {
+      double dx = Math.log(sizes[i]) - mx;
+      sxx += dx * dx;
+      sxy += dx * (Math.log(Math.max(times[i], 1.0)) - my);
+    }
+    return (sxx == 0) ? Double.NaN : sxy / sxx;
+  }
+
+  /**
+   * Writes one CSV row per point, headed by {@link #CSV_HEADER}. The exponent column repeats the
+   * algorithm's fitted exponent on each of its rows and is empty when it cannot be fitted.
+   *
+   * @param series sweep result
+   * @param out destination
+   */
+  public static void writeCsv(List<Series> series, Writer out) {
+    PrintWriter pw = new PrintWriter(out);
+    pw.println(CSV_HEADER);
+    for (Series s : series) {
+      double k = s.exponent();
+      String exponent = Double.isNaN(k) ? "" : String.format(Locale.US, "%.4f", k);
+      for (Point p : s.points) {
+        pw.println(s.algorithm + "," + p.size + "," + p.getRepetitions() + ","
+            + p.percentile(50) + "," + p.percentile(90) + "," + p.percentile(99) + ","
+            + p.min() + "," + exponent);
+      }
+    }
+    pw.flush();
+  }
+
+  /**
+   * Writes the result as a JSON array with one object per algorithm:
+   * <pre>{@code
+   * [{"algorithm":"MergeSort","exponent":1.08,"points":[
+   *   {"size":1000,"reps":5,"p50_ns":…,"p90_ns":…,"p99_ns":…,"min_ns":…}, …]}, …]
+   * }</pre>
+   * An exponent that cannot be fitted is written as {@code null}.
+   *
+   * @param series sweep result
+   * @param out destination
+   */
+  public static void writeJson(List<Series> series, Writer out) {
+    PrintWriter pw = new PrintWriter(out);
+    pw.println("[");
+    for (int i = 0; i < series.size(); i++) {
+      Series s = series.get(i);
+      double k = s.exponent();
+      pw.print("  {\"algorithm\":\"" + s.algorithm + "\",\"exponent\":"
+          + (Double.isNaN(k) ? "null" : String.format(Locale.US, "%.4f", k)) + ",\"points\":[");
+      for (int j = 0; j < s.points.size(); j++) {
+        Point p = s.points.get(j);
+        pw.print((j == 0 ? "" : ",") + "\n    {\"size\":" + p.size + ",\"reps\":" + p.getRepetitions()
+            + ",\"p50_ns\":" + p.percentile(50) + ",\"p90_ns\":" + p.percentile(90)
+            + ",\"p99_ns\":" + p.percentile(99) + ",\"min_ns\":" + p.min() + "}");
+      }
+      pw.println("]}" + (i + 1 < series.size() ? "," : ""));
+    }
+    pw.println("]");
+    pw.flush();
+  }
+
+  /**
+   * Command-line entry point; see {@link #USAGE} for the options. Invoked by
+   * {@link CompareSorters#main(String[])} for {@code --sweep}.
+   *
+   * @param args sweep options
+   * @throws IOException if the output file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    ScalingSweep sweep = new ScalingSweep();
+    String format = "csv";
+    Path out = null;
+    try {
+      int min = sweep.minSize;
+      int max = sweep.maxSize;
+      int warmup = sweep.warmup;
+      int reps = sweep.repetitions;
+      for (int i = 0; i < args.length; i++) {
+        String opt = args[i];
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("missing value for " + opt);
+        }
+        String value = args[++i];
+        switch (opt) {
+          case "--min": min = Integer.parseInt(value); break;
+          case "--max": max = Integer.parseInt(value); break;
+          case "--factor": sweep.setFactor(Double.parseDouble(value)); break;
+          case "--reps": reps = Integer.parseInt(value); break;
+          case "--warmup": warmup = Integer.parseInt(value); break;
+          case "--seed": sweep.setSeed(Long.parseLong(value)); break;
+          case "--shape": sweep.setShape(StudentGenerator.Shape.valueOf(value.trim().toUpperCase(Locale.ROOT))); break;
+          case "--budget-ms": sweep.setBudgetNanos(Long.parseLong(value) * 1_000_000L); break;
+          case "--out": out = Path.of(value); break;
+          case "--format":
+            if (!value.equals("csv") && !value.equals("json")) {
+              throw new IllegalArgumentException("format must be csv or json");
+            }
+            format = value;
+            break;
+          case "--algorithms": {
+            String[] names = value.split(",");
+            Algorithm[] algos = new Algorithm[names.length];
+            for (int a = 0; a < names.length; a++) {
+              algos[a] = Algorithm.valueOf(names[a].trim());
+            }
+            sweep.setAlgorithms(algos);
+            break;
+          }
+          default:
+            throw new IllegalArgumentException("unknown option " + opt);
+        }
+      }
+      sweep.setSizeRange(min, max);
+      sweep.setRepetitions(warmup, reps);
+    } catch (IllegalArgumentException e) {
+      // NumberFormatException is an IllegalArgumentException too
+      System.out.println("Error: " + e.getMessage());
+      System.out.println(USAGE);
+      return;
+    }
+
+    List<Series> result = sweep.run();
+    Writer writer = (out == null)
+        ? new PrintWriter(System.out)
+        : Files.newBufferedWriter(out, StandardCharsets.UTF_8);
+    try {
+      if (format.equals("json")) {
+        writeJson(result, writer);
+      } else {
+        writeCsv(result, writer);
+      }
+    } finally {
+      if (out != null) {
+        writer.close();
+      } else {
+        writer.flush();
+      }
+    }
+  }
+}
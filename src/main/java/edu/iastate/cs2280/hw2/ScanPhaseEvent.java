@@ -0,0 +1,189 @@
+package edu.iastate.cs2280.hw2;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for one phase of {@link StudentScanner#scan()}: the dataset copy into
+ * the sorter ({@link #COPY}), the order-0 sort ({@link #PASS_0}), the order-1 sort
+ * ({@link #PASS_1}), and the median extraction ({@link #MEDIAN}).
+ *
+ * <p>Besides the duration JFR records for every event, each phase carries the bytes allocated by
+ * the scanning thread during the phase (from
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}) and the number and
+ * accumulated time of garbage collections that completed while it ran. Allocations made by
+ * fork/join workers of the parallel sorters are not included in the byte count.</p>
+ *
+ * <p>The event costs nothing unless a recording enables it: {@link #recording()} is checked once
+ * per scan, and no event, allocation counter or GC bean is touched otherwise.</p>
+ *
+ * <pre>{@code
+ * java -XX:StartFlightRecording:filename=scan.jfr,settings=profile -cp target/classes \
+ *     edu.iastate.cs2280.hw2.CompareSorters
+ * jfr print --events edu.iastate.cs2280.hw2.ScanPhase scan.jfr
+ * }</pre>
+ *
+ * @see StudentScanner#scan()
+ * @author Kaleb
+ */
+@Name(ScanPhaseEvent.NAME)
+@Label("Scan Phase")
+@Category({"HW2", "Sorting"})
+@Description("One phase of a two-pass median scan")
+@StackTrace(false)
+final class ScanPhaseEvent extends Event {
+
+  /** Event type name used in recordings. */
+  static final String NAME = "edu.iastate.cs2280.hw2.ScanPhase";
+
+  /** Phase name: loading the dataset into the sorter (or creating it). */
+  static final String COPY = "copy";
+
+  /** Phase name: sorting by order 0. */
+  static final String PASS_0 = "pass0";
+
+  /** Phase name: sorting by order 1. */
+  static final String PASS_1 = "pass1";
+
+  /** Phase name: extracting the two medians. */
+  static final String MEDIAN = "median";
+
+  // Uncommitted instance used only to ask whether the event type is enabled
+  private static final ScanPhaseEvent PROBE = new ScanPhaseEvent();
+
+  private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+  private static final List<GarbageCollectorMXBean> COLLECTORS =
+      ManagementFactory.getGarbageCollectorMXBeans();
+
+  @Label("Algorithm")
+  String algorithm;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Size")
+  @Description("Number of students scanned")
+  int size;
+
+  @Label("Allocated")
+  @Description("Bytes allocated by the scanning thread during the phase, or -1 if unsupported")
+  @DataAmount
+  long allocatedBytes;
+
+  @Label("GC Count")
+  @Description("Garbage collections that completed during the phase")
+  long gcCount;
+
+  @Label("GC Time")
+  @Description("Accumulated collection time of those garbage collections")
+  @Timespan(Timespan.MILLISECONDS)
+  long gcTime;
+
+  // Counter values when the phase started; transient so JFR does not record them
+  private transient long startAllocated;
+  private transient long startGcCount;
+  private transient long startGcTime;
+
+  /**
+   * Returns whether any active recording enables this event.
+   *
+   * @return {@code true} if phases should be recorded
+   */
+  static boolean recording() {
+    return PROBE.isEnabled();
+  }
+
+  /**
+   * Creates an event for {@code phase}, snapshots the counters, and starts its timer.
+   *
+   * @param algorithm algorithm being scanned
+   * @param phase one of the phase name constants
+   * @param size number of students
+   * @return the started event
+   */
+  static ScanPhaseEvent start(Algorithm algorithm, String phase, int size) {
+    ScanPhaseEvent event = new ScanPhaseEvent();
+    event.algorithm = algorithm.name();
+    event.phase = phase;
+    event.size = size;
+    event.startGcCount = totalGcCount();
+    event.startGcTime = totalGcTime();
+    event.startAllocated = allocatedBytes();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Stops the timer, fills in the counter deltas, and commits the event.
+   */
+  void finish() {
+    end();
+    long allocated = allocatedBytes();
+    allocatedBytes = (allocated < 0 || startAllocated < 0) ? -1 : allocated - startAllocated;
+    gcCount = totalGcCount() - startGcCount;
+    gcTime = totalGcTime() - startGcTime;
+    commit();
+  }
+
+  /**
+   * Returns the HotSpot thread bean if per-thread allocation counting is available.
+   *
+   * @return the bean, or {@code null}
+   */
+  private static com.sun.management.ThreadMXBean threadBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+        return bean;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the bytes allocated so far by the current thread.
+   *
+   * @return allocated bytes, or -1 if unsupported
+   */
+  private static long allocatedBytes() {
+    return (THREADS == null) ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+  }
+
+  /**
+   * Returns the number of collections completed so far, summed over all collectors.
+   *
+   * @return collection count
+   */
+  private static long totalGcCount() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : COLLECTORS) {
+      total += Math.max(0, gc.getCollectionCount());
+    }
+    return total;
+  }
+
+  /**
+   * Returns the accumulated collection time so far, summed over all collectors.
+   *
+   * @return collection time in milliseconds
+   */
+  private static long totalGcTime() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : COLLECTORS) {
+      total += Math.max(0, gc.getCollectionTime());
+    }
+    return total;
+  }
+}
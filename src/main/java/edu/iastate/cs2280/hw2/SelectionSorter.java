@@ -56,6 +56,17 @@ public class SelectionSorter extends AbstractSorter {
         this.algorithm = Algorithm.SelectionSort.name();
     }
 
+    /**
+     * Constructs a {@code SelectionSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public SelectionSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.SelectionSort.name();
+    }
+
     /**
      * Sorts the array of students using the <b>Selection Sort</b> algorithm.
      * <p>
@@ -74,6 +85,11 @@ public class SelectionSorter extends AbstractSorter {
     @Override
     public void sort() {
         int n = students.length;
+        if (n > 1 && compileSortKeys()) {
+            sortCompiled(sortKeys);
+            applySortKeys();
+            return;
+        }
 
         // Outer loop selects each position in sequence
         for (int i = 0; i < n-1; i++){
@@ -93,4 +109,59 @@ public class SelectionSorter extends AbstractSorter {
         }
 
     }
+
+    /**
+     * Selection Sort over compiled {@link SortSpec} keys, comparing primitives directly.
+     * Mirrors {@link #sort()}, including its operation counts.
+     *
+     * @param keys compiled keys to sort ascending in place
+     */
+    private void sortCompiled(long[] keys) {
+        int n = keys.length;
+
+        for (int i = 0; i < n - 1; i++) {
+            int minIndex = i;
+
+            for (int j = i + 1; j < n; j++) {
+                if (keys[j] < keys[minIndex]) {
+                    minIndex = j;
+                }
+            }
+            countComparisons(n - 1 - i);
+
+            if (minIndex != i) {
+                long temp = keys[i];
+                keys[i] = keys[minIndex];
+                keys[minIndex] = temp;
+                countSwaps(1);
+            }
+        }
+    }
+
+    /**
+     * Selection Sort over a permutation of row indices, used by {@link StudentTable}.
+     * Mirrors {@link #sort()} but moves {@code int} indices instead of {@link Student} references.
+     *
+     * @param perm row indices to reorder in place
+     * @param cmp  comparator over row indices
+     */
+    static void sortIndices(int[] perm, IndexComparator cmp) {
+        int n = perm.length;
+
+        for (int i = 0; i < n - 1; i++) {
+            int minIndex = i;
+
+            for (int j = i + 1; j < n; j++) {
+                if (cmp.compare(perm[j], perm[minIndex]) < 0) {
+                    minIndex = j;
+                }
+            }
+
+            if (minIndex != i) {
+                int temp = perm[i];
+                perm[i] = perm[minIndex];
+                perm[minIndex] = temp;
+            }
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * Encodes the assignment's two comparator orders as primitive {@code long} keys whose natural
+ * (unsigned) ascending order is exactly the order imposed by
+ * {@link AbstractSorter#setComparator(int)}.
+ *
+ * <p><b>Packed keys:</b> GPAs are normally given to two decimals, so a GPA maps to an integer
+ * number of hundredths in [0, 400]. When every GPA in the dataset lies on that grid, both fields
+ * fit into a single key:</p>
+ * <ul>
+ *   <li>Order 0: {@code (400 - hundredths) * creditRange + (maxCredits - credits)}</li>
+ *   <li>Order 1: {@code (credits - minCredits) * 401 + (400 - hundredths)}</li>
+ * </ul>
+ * <p>where {@code creditRange = maxCredits - minCredits + 1}. The largest key is below
+ * {@code 401 * 2^31}, so it always fits in a {@code long}, and for the usual 0–150 credit range
+ * it is below {@code 2^16}.</p>
+ *
+ * <p><b>Field keys:</b> when a GPA is off the grid (e.g. {@code 3.855}), each field is encoded on
+ * its own and callers sort by the secondary field first, then stably by the primary field.</p>
+ *
+ * @see RadixSorter
+ * @author Kaleb
+ */
+final class SortKeys {
+
+  /** Largest GPA expressed in hundredths. */
+  static final int MAX_GPA_HUNDREDTHS = 400;
+
+  /** Number of distinct on-grid GPA values (0.00 through 4.00). */
+  static final int GPA_VALUES = MAX_GPA_HUNDREDTHS + 1;
+
+  private SortKeys() {
+  }
+
+  /**
+   * Returns {@code gpa} in hundredths if it lies exactly on the two-decimal grid.
+   *
+   * @param gpa a student GPA
+   * @return hundredths in [0, 400], or -1 if {@code gpa} has more precision than two decimals
+   */
+  static int gpaHundredths(double gpa) {
+    long h = Math.round(gpa * 100.0);
+    if (h < 0 || h > MAX_GPA_HUNDREDTHS) {
+      return -1;
+    }
+    // Compare bit patterns so -0.0 and NaN are never treated as on-grid
+    return Double.doubleToLongBits(h / 100.0) == Double.doubleToLongBits(gpa) ? (int) h : -1;
+  }
+
+  /**
+   * Encodes every student into a single packed key for {@code order}, writing into {@code keys}.
+   *
+   * @param students students to encode
+   * @param order 0 or 1
+   * @param keys destination, at least {@code students.length} long
+   * @return the largest key written, or -1 if some GPA is off the grid and no key was packed
+   */
+  static long packInto(Student[] students, int order, long[] keys) {
+    int n = students.length;
+    int minCredits = Integer.MAX_VALUE;
+    int maxCredits = 0;
+    for (int i = 0; i < n; i++) {
+      int c = students[i].getCreditsTaken();
+      if (c < minCredits) minCredits = c;
+      if (c > maxCredits) maxCredits = c;
+      if (gpaHundredths(students[i].getGpa()) < 0) {
+        return -1;
+      }
+    }
+    long creditRange = (long) maxCredits - minCredits + 1;
+
+    long max = 0;
+    for (int i = 0; i < n; i++) {
+      long g = MAX_GPA_HUNDREDTHS - gpaHundredths(students[i].getGpa());
+      int c = students[i].getCreditsTaken();
+      long key;
+      if (order == 0) {
+        // GPA desc, then credits desc
+        key = g * creditRange + (maxCredits - c);
+      } else {
+        // Credits asc, then GPA desc
+        key = (long) (c - minCredits) * GPA_VALUES + g;
+      }
+      keys[i] = key;
+      if (key > max) max = key;
+    }
+    return max;
+  }
+
+  /**
+   * Encodes {@code gpa} so that unsigned ascending key order is GPA <em>descending</em> order as
+   * defined by {@link Double#compare(double, double)}.
+   *
+   * @param gpa a student GPA
+   * @return the descending GPA key
+   */
+  static long gpaDescendingKey(double gpa) {
+    long bits = Double.doubleToLongBits(gpa);
+    // Signed order of "sortable" matches Double.compare; flipping the sign bit makes it unsigned
+    long sortable = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    return ~(sortable ^ Long.MIN_VALUE);
+  }
+
+  /**
+   * Writes the key of the <em>secondary</em> field of {@code order} for every student.
+   *
+   * @param students students to encode
+   * @param order 0 (credits descending) or 1 (GPA descending)
+   * @param keys destination, at least {@code students.length} long
+   */
+  static void secondaryInto(Student[] students, int order, long[] keys) {
+    for (int i = 0; i < students.length; i++) {
+      keys[i] = (order == 0)
+          ? Integer.MAX_VALUE - students[i].getCreditsTaken()
+          : gpaDescendingKey(students[i].getGpa());
+    }
+  }
+
+  /**
+   * Writes the key of the <em>primary</em> field of {@code order} for every student.
+   *
+   * @param students students to encode
+   * @param order 0 (GPA descending) or 1 (credits ascending)
+   * @param keys destination, at least {@code students.length} long
+   */
+  static void primaryInto(Student[] students, int order, long[] keys) {
+    for (int i = 0; i < students.length; i++) {
+      keys[i] = (order == 0)
+          ? gpaDescendingKey(students[i].getGpa())
+          : students[i].getCreditsTaken();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code SortSpec} class compiles one of the assignment's comparator orders into primitive
+ * sort keys, so that the comparison sorters can order plain {@code long} values instead of
+ * calling {@link AbstractSorter#studentComparator} through the {@link java.util.Comparator}
+ * interface.
+ *
+ * <p><b>Compiled keys:</b> each student is encoded by {@link SortKeys#packInto} into a key whose
+ * ascending order is exactly the comparator order, and its position in the input is stored in the
+ * low 32 bits:</p>
+ * <pre>
+ *   compiled[i] = (packedKey(students[i]) &lt;&lt; 32) | i
+ * </pre>
+ * <p>Sorting the compiled array with {@code <} therefore sorts by the comparator, with input
+ * position as the final tie-breaker, and {@link #index(long)} recovers where each student came
+ * from. Every compiled key is distinct, so any algorithm over them gives the stable order.</p>
+ *
+ * <p>A dataset cannot be compiled when a GPA lies off the two-decimal grid or the packed key does
+ * not fit in 31 bits (a credit range in the millions). {@link #compile(Student[], long[])} then
+ * returns {@code false} and callers keep using the comparator.</p>
+ *
+ * <pre>{@code
+ * long[] keys = new long[students.length];
+ * if (SortSpec.of(0).compile(students, keys)) {
+ *   Arrays.sort(keys);
+ *   Student first = students[SortSpec.index(keys[0])];
+ * }
+ * }</pre>
+ *
+ * @see SortKeys
+ * @see AbstractSorter#setSpecialized(boolean)
+ * @author Kaleb
+ */
+public final class SortSpec {
+
+  /** Specification of order 0: GPA descending, then credits descending. */
+  public static final SortSpec BY_GPA = new SortSpec(0);
+
+  /** Specification of order 1: credits ascending, then GPA descending. */
+  public static final SortSpec BY_CREDITS = new SortSpec(1);
+
+  // Largest packed key that still leaves the low 32 bits for the index
+  private static final long MAX_PACKED_KEY = Integer.MAX_VALUE;
+
+  // Comparator order (0 or 1)
+  private final int order;
+
+  private SortSpec(int order) {
+    this.order = order;
+  }
+
+  /**
+   * Returns the specification of comparator order {@code order}.
+   *
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return the shared specification
+   * @throws IllegalArgumentException if {@code order} is not 0 or 1
+   */
+  public static SortSpec of(int order) {
+    if (order == 0) {
+      return BY_GPA;
+    } else if (order == 1) {
+      return BY_CREDITS;
+    }
+    throw new IllegalArgumentException("order must be 0 or 1");
+  }
+
+  /**
+   * Returns the comparator order this specification compiles.
+   *
+   * @return 0 or 1
+   */
+  public int order() {
+    return order;
+  }
+
+  /**
+   * Compiles {@code students} into {@code keys}, one key per student.
+   *
+   * @param students students to encode; must not contain nulls
+   * @param keys destination, at least {@code students.length} long
+   * @return {@code true} if the keys were written; {@code false} if this dataset cannot be
+   *         compiled and {@code keys} holds no meaningful values
+   * @throws IllegalArgumentException if {@code keys} is shorter than {@code students}
+   */
+  public boolean compile(Student[] students, long[] keys) {
+    if (keys.length < students.length) {
+      throw new IllegalArgumentException("keys must hold one entry per student");
+    }
+    long max = SortKeys.packInto(students, order, keys);
+    if (max < 0 || max > MAX_PACKED_KEY) {
+      return false;
+    }
+    for (int i = 0; i < students.length; i++) {
+      keys[i] = (keys[i] << 32) | i;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the input position stored in a compiled key.
+   *
+   * @param compiled a key written by {@link #compile(Student[], long[])}
+   * @return index of the student the key was compiled from
+   */
+  public static int index(long compiled) {
+    return (int) compiled;
+  }
+}
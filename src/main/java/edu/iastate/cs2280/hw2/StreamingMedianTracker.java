@@ -0,0 +1,561 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code StreamingMedianTracker} class keeps the two-pass median of a growing student
+ * dataset current as students arrive, without re-sorting anything.
+ *
+ * <p><b>What it tracks:</b> exactly what {@link StudentScanner#scan()} would report for all
+ * students added so far. The order-0 median GPA is the GPA at sorted position {@code n / 2} under
+ * GPA-descending order, i.e. the {@code (n / 2)}-th largest GPA; the order-1 median credits is the
+ * {@code (n / 2)}-th smallest credit count. Tie-breakers do not change either value, so each
+ * median depends on one column only.</p>
+ *
+ * <p><b>How it works:</b> both columns have small domains, so each keeps a histogram inside a
+ * Fenwick (binary indexed) tree: an update is {@code O(log B)} for {@code B} buckets, and the
+ * bucket holding a given rank is found by one {@code O(log B)} descent.</p>
+ * <ul>
+ *   <li>GPA uses 401 buckets, one per hundredth ({@link SortKeys#gpaHundredths}). A GPA with more
+ *       than two decimals goes into the bucket of the hundredth below it, and that bucket also
+ *       keeps the exact off-grid values in an order-statistic tree, so medians stay exact.</li>
+ *   <li>Credits use a dense bucket per value, grown by doubling up to {@link #DENSE_CREDITS};
+ *       larger credit counts go to an order-statistic overflow tree.</li>
+ * </ul>
+ * <p>The order-statistic trees are treaps with a count per distinct value and per subtree, so
+ * inserting a value and finding the value of a rank both take expected {@code O(log m)} for
+ * {@code m} distinct values. Every update therefore stays logarithmic however many distinct
+ * off-grid GPAs or large credit counts arrive.</p>
+ *
+ * <p><b>Concurrency:</b> ingestion is synchronized. After each {@link #add}, batch, or file
+ * increment the medians are recomputed once and published as an immutable snapshot through a
+ * {@code volatile} field, so {@link #getMedianGpa()}, {@link #getMedianCredits()} and
+ * {@link #size()} are lock-free, O(1), and consistent with each other.</p>
+ *
+ * <p><b>Tailing a file:</b> {@link #ingestFile(Path, long)} parses the complete lines appended
+ * since the previous call and returns the offset to resume from, so a file that is still being
+ * written can be polled.</p>
+ *
+ * @see StudentScanner
+ * @see StudentFileParser
+ * @author Kaleb
+ */
+public class StreamingMedianTracker {
+
+  /** Largest credit count (exclusive) kept in the dense credits histogram. */
+  static final int DENSE_CREDITS = 1 << 16;
+
+  // Initial dense credits capacity (covers generated data, 0-150)
+  private static final int INITIAL_CREDITS = 256;
+
+  // GPA histogram by hundredth, plus exact off-grid values per bucket (created on demand)
+  private final Fenwick gpaCounts = new Fenwick(SortKeys.GPA_VALUES);
+  private final long[] gpaOffGrid = new long[SortKeys.GPA_VALUES];
+  private final RankTree[] gpaOffGridValues = new RankTree[SortKeys.GPA_VALUES];
+
+  // Credits histogram for values below the dense capacity, and overflow counts above it
+  private Fenwick creditCounts = new Fenwick(INITIAL_CREDITS);
+  private long[] creditTotals = new long[INITIAL_CREDITS];
+  private long denseCredits;
+  private final RankTree creditOverflow = new RankTree();
+
+  // Total number of students added
+  private long count;
+
+  // Latest published medians; replaced as a whole after every update
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  /**
+   * Adds one student and updates the medians.
+   *
+   * @param s student to add; must not be {@code null}
+   * @throws IllegalArgumentException if {@code s} is {@code null}
+   */
+  public synchronized void add(Student s) {
+    if (s == null) {
+      throw new IllegalArgumentException();
+    }
+    insert(s.getGpa(), s.getCreditsTaken());
+    publish();
+  }
+
+  /**
+   * Adds a batch of students and updates the medians once.
+   *
+   * @param batch students to add; must not be {@code null} or contain nulls
+   * @throws IllegalArgumentException if {@code batch} is {@code null} or contains a {@code null};
+   *                                  nothing is added in that case
+   */
+  public synchronized void addAll(Student[] batch) {
+    if (batch == null) {
+      throw new IllegalArgumentException();
+    }
+    for (Student s : batch) {
+      if (s == null) {
+        throw new IllegalArgumentException();
+      }
+    }
+    for (Student s : batch) {
+      insert(s.getGpa(), s.getCreditsTaken());
+    }
+    publish();
+  }
+
+  /**
+   * Adds every row of a columnar batch and updates the medians once.
+   *
+   * @param batch rows to add; must not be {@code null}
+   * @throws IllegalArgumentException if {@code batch} is {@code null}
+   */
+  public synchronized void addAll(StudentColumns batch) {
+    if (batch == null) {
+      throw new IllegalArgumentException();
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      insert(batch.getGpa(i), batch.getCreditsTaken(i));
+    }
+    publish();
+  }
+
+  /**
+   * Ingests the complete lines of a {@code <gpa> <credits>} text file that lie at or after
+   * {@code offset}. A trailing line without a newline is left for the next call, since it may
+   * still be being written.
+   *
+   * @param file text file being appended to
+   * @param offset byte offset returned by the previous call, or 0 for the first call
+   * @return the offset to pass to the next call
+   * @throws IOException if the file cannot be read
+   * @throws java.util.InputMismatchException if a new line is malformed; nothing from this call
+   *                                          is added in that case
+   * @throws IllegalArgumentException if {@code offset} is negative or past the end of the file
+   */
+  public synchronized long ingestFile(Path file, long offset) throws IOException {
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = ch.size();
+      if (offset < 0 || offset > length) {
+        throw new IllegalArgumentException("offset " + offset + " is outside the file");
+      }
+      long end = lastLineEnd(ch, offset, length);
+      if (end > offset) {
+        addAll(StudentFileParser.parseRange(ch, offset, end));
+      }
+      return end;
+    }
+  }
+
+  /**
+   * Returns the number of students added so far.
+   *
+   * @return dataset size
+   */
+  public long size() {
+    return snapshot.count;
+  }
+
+  /**
+   * Returns the current order-0 median GPA, as {@link StudentScanner#scan()} would compute it.
+   *
+   * @return median GPA, or 0.0 if no students have been added
+   */
+  public double getMedianGpa() {
+    return snapshot.gpa;
+  }
+
+  /**
+   * Returns the current order-1 median credits, as {@link StudentScanner#scan()} would compute it.
+   *
+   * @return median credits, or 0 if no students have been added
+   */
+  public int getMedianCredits() {
+    return snapshot.credits;
+  }
+
+  /**
+   * Returns the current median student (median GPA and median credits from one snapshot).
+   *
+   * @return the median student, or {@code null} if no students have been added
+   */
+  public Student getMedianStudent() {
+    Snapshot current = snapshot;
+    return (current.count == 0) ? null : new Student(current.gpa, current.credits);
+  }
+
+  /**
+   * Adds one (GPA, credits) pair to both histograms.
+   *
+   * @param gpa GPA in [0.00, 4.00]
+   * @param credits non-negative credit count
+   * @throws IllegalArgumentException if a value is out of range
+   */
+  private void insert(double gpa, int credits) {
+    if (!(gpa >= 0.0 && gpa <= 4.0) || credits < 0) {
+      throw new IllegalArgumentException();
+    }
+
+    int bucket = SortKeys.gpaHundredths(gpa);
+    if (bucket < 0) {
+      // Off-grid: bucket of the hundredth at or below the value, with the exact value recorded
+      bucket = Math.min(SortKeys.MAX_GPA_HUNDREDTHS, (int) Math.floor(gpa * 100.0));
+      if (bucket > 0 && bucket / 100.0 > gpa) {
+        bucket--;
+      } else if (bucket < SortKeys.MAX_GPA_HUNDREDTHS && (bucket + 1) / 100.0 < gpa) {
+        bucket++;
+      }
+      if (gpaOffGridValues[bucket] == null) {
+        gpaOffGridValues[bucket] = new RankTree();
+      }
+      gpaOffGridValues[bucket].add(gpaKey(gpa));
+      gpaOffGrid[bucket]++;
+    }
+    gpaCounts.add(bucket, 1);
+
+    if (credits < DENSE_CREDITS) {
+      if (credits >= creditTotals.length) {
+        growCredits(credits);
+      }
+      creditCounts.add(credits, 1);
+      creditTotals[credits]++;
+      denseCredits++;
+    } else {
+      creditOverflow.add(credits);
+    }
+    count++;
+  }
+
+  /**
+   * Recomputes both medians and publishes them as a new snapshot.
+   */
+  private void publish() {
+    if (count == 0) {
+      return;
+    }
+    long k = count / 2;
+    snapshot = new Snapshot(count, gpaOfRank(count - 1 - k), creditsOfRank(k));
+  }
+
+  /**
+   * Returns the GPA of ascending rank {@code r} (0-based).
+   *
+   * @param r rank among all GPAs in ascending order, {@code 0 <= r < count}
+   * @return the GPA at that rank
+   */
+  private double gpaOfRank(long r) {
+    int bucket = gpaCounts.select(r);
+    long within = r - gpaCounts.prefix(bucket);
+    double grid = bucket / 100.0;
+    RankTree offGrid = gpaOffGridValues[bucket];
+    if (offGrid == null) {
+      return grid;
+    }
+
+    // The bucket in ascending order: off-grid values below the grid value (only -0.0), the
+    // on-grid copies, then the off-grid values above it
+    long onGrid = gpaCounts.get(bucket) - gpaOffGrid[bucket];
+    long below = offGrid.countBelow(gpaKey(grid));
+    if (within < below) {
+      return Double.longBitsToDouble(offGrid.select(within));
+    }
+    if (within < below + onGrid) {
+      return grid;
+    }
+    return Double.longBitsToDouble(offGrid.select(within - onGrid));
+  }
+
+  /**
+   * Returns a key that orders GPAs like {@link Double#compare}: the raw bits, which are
+   * increasing for non-negative doubles and smallest for -0.0.
+   *
+   * @param gpa GPA in [0.00, 4.00], possibly -0.0
+   * @return the order-preserving key
+   */
+  private static long gpaKey(double gpa) {
+    return Double.doubleToRawLongBits(gpa);
+  }
+
+  /**
+   * Returns the credit count of ascending rank {@code r} (0-based).
+   *
+   * @param r rank among all credit counts in ascending order, {@code 0 <= r < count}
+   * @return the credit count at that rank
+   */
+  private int creditsOfRank(long r) {
+    if (r < denseCredits) {
+      return creditCounts.select(r);
+    }
+    return (int) creditOverflow.select(r - denseCredits);
+  }
+
+  /**
+   * Grows the dense credits histogram so that {@code credits} fits, rebuilding its tree.
+   *
+   * @param credits credit count that must fit, {@code < DENSE_CREDITS}
+   */
+  private void growCredits(int credits) {
+    int capacity = creditTotals.length;
+    while (capacity <= credits) {
+      capacity *= 2;
+    }
+    capacity = Math.min(capacity, DENSE_CREDITS);
+    creditTotals = Arrays.copyOf(creditTotals, capacity);
+    creditCounts = new Fenwick(capacity);
+    for (int c = 0; c < capacity; c++) {
+      if (creditTotals[c] != 0) {
+        creditCounts.add(c, creditTotals[c]);
+      }
+    }
+  }
+
+  /**
+   * Returns the end of the last complete line in {@code [from, length)}.
+   *
+   * @param ch open file channel
+   * @param from first byte to consider
+   * @param length file size in bytes
+   * @return the position just after the last newline, or {@code from} if there is none
+   * @throws IOException if the file cannot be read
+   */
+  private static long lastLineEnd(FileChannel ch, long from, long length) throws IOException {
+    ByteBuffer probe = ByteBuffer.allocate(4096);
+    long end = length;
+    while (end > from) {
+      long start = Math.max(from, end - probe.capacity());
+      probe.clear().limit((int) (end - start));
+      while (probe.hasRemaining()) {
+        if (ch.read(probe, start + probe.position()) < 0) {
+          break;
+        }
+      }
+      for (int i = probe.position() - 1; i >= 0; i--) {
+        if (probe.get(i) == '\n') {
+          return start + i + 1;
+        }
+      }
+      end = start;
+    }
+    return from;
+  }
+
+  /**
+   * Immutable set of medians published after each update.
+   */
+  private static final class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(0, 0.0, 0);
+
+    final long count;
+    final double gpa;
+    final int credits;
+
+    /**
+     * @param count number of students covered
+     * @param gpa order-0 median GPA
+     * @param credits order-1 median credits
+     */
+    Snapshot(long count, double gpa, int credits) {
+      this.count = count;
+      this.gpa = gpa;
+      this.credits = credits;
+    }
+  }
+
+  /**
+   * Treap of distinct {@code long} values with a count per value and a total per subtree, so the
+   * value of a given ascending rank is found in one expected {@code O(log m)} descent. Nodes live
+   * in parallel arrays (index 0 is an empty sentinel) that grow by doubling.
+   */
+  private static final class RankTree {
+    private long[] values = new long[8];
+    private long[] counts = new long[8];
+    private long[] totals = new long[8];
+    private int[] left = new int[8];
+    private int[] right = new int[8];
+    private int[] priority = new int[8];
+    private int nodes = 1;
+    private int root;
+
+    // xorshift state for node priorities; fixed so runs are reproducible
+    private int seed = 0x2280;
+
+    /**
+     * Adds one occurrence of {@code value}.
+     */
+    void add(long value) {
+      root = insert(root, value);
+    }
+
+    /**
+     * Returns the number of occurrences of values less than {@code value}.
+     */
+    long countBelow(long value) {
+      long below = 0;
+      int node = root;
+      while (node != 0) {
+        if (value <= values[node]) {
+          node = left[node];
+        } else {
+          below += totals[left[node]] + counts[node];
+          node = right[node];
+        }
+      }
+      return below;
+    }
+
+    /**
+     * Returns the value of ascending rank {@code rank}, {@code 0 <= rank < } total count.
+     *
+     * @throws IllegalStateException if {@code rank} is out of range
+     */
+    long select(long rank) {
+      int node = root;
+      while (node != 0) {
+        long smaller = totals[left[node]];
+        if (rank < smaller) {
+          node = left[node];
+        } else if (rank < smaller + counts[node]) {
+          return values[node];
+        } else {
+          rank -= smaller + counts[node];
+          node = right[node];
+        }
+      }
+      throw new IllegalStateException("rank out of range");
+    }
+
+    /**
+     * Inserts {@code value} below {@code node} and returns the new root of that subtree.
+     */
+    private int insert(int node, long value) {
+      if (node == 0) {
+        return newNode(value);
+      }
+      if (value == values[node]) {
+        counts[node]++;
+        totals[node]++;
+        return node;
+      }
+      // Insert before storing the child: the insert may grow (replace) the arrays
+      if (value < values[node]) {
+        int child = insert(left[node], value);
+        left[node] = child;
+        totals[node]++;
+        return (priority[child] > priority[node]) ? rotateRight(node) : node;
+      }
+      int child = insert(right[node], value);
+      right[node] = child;
+      totals[node]++;
+      return (priority[child] > priority[node]) ? rotateLeft(node) : node;
+    }
+
+    /**
+     * Lifts the left child of {@code node} above it.
+     */
+    private int rotateRight(int node) {
+      int child = left[node];
+      left[node] = right[child];
+      right[child] = node;
+      totals[child] = totals[node];
+      totals[node] = totals[left[node]] + totals[right[node]] + counts[node];
+      return child;
+    }
+
+    /**
+     * Lifts the right child of {@code node} above it.
+     */
+    private int rotateLeft(int node) {
+      int child = right[node];
+      right[node] = left[child];
+      left[child] = node;
+      totals[child] = totals[node];
+      totals[node] = totals[left[node]] + totals[right[node]] + counts[node];
+      return child;
+    }
+
+    /**
+     * Allocates a leaf holding one occurrence of {@code value}.
+     */
+    private int newNode(long value) {
+      if (nodes == values.length) {
+        int capacity = 2 * nodes;
+        values = Arrays.copyOf(values, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+      }
+      seed ^= seed << 13;
+      seed ^= seed >>> 17;
+      seed ^= seed << 5;
+      int node = nodes++;
+      values[node] = value;
+      counts[node] = 1;
+      totals[node] = 1;
+      priority[node] = seed;
+      return node;
+    }
+  }
+
+  /**
+   * Fenwick tree of counts over buckets {@code 0..size-1}.
+   */
+  private static final class Fenwick {
+    private final long[] tree;
+    private final int size;
+
+    /**
+     * @param size number of buckets
+     */
+    Fenwick(int size) {
+      this.size = size;
+      this.tree = new long[size + 1];
+    }
+
+    /**
+     * Adds {@code delta} to bucket {@code index}.
+     */
+    void add(int index, long delta) {
+      for (int i = index + 1; i <= size; i += i & -i) {
+        tree[i] += delta;
+      }
+    }
+
+    /**
+     * Returns the total count of buckets {@code 0..index-1}.
+     */
+    long prefix(int index) {
+      long sum = 0;
+      for (int i = index; i > 0; i -= i & -i) {
+        sum += tree[i];
+      }
+      return sum;
+    }
+
+    /**
+     * Returns the count of bucket {@code index}.
+     */
+    long get(int index) {
+      return prefix(index + 1) - prefix(index);
+    }
+
+    /**
+     * Returns the bucket holding ascending rank {@code rank}: the smallest {@code b} with
+     * {@code prefix(b + 1) > rank}.
+     */
+    int select(long rank) {
+      int pos = 0;
+      for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+        int next = pos + step;
+        if (next <= size && tree[next] <= rank) {
+          pos = next;
+          rank -= tree[next];
+        }
+      }
+      return pos;
+    }
+  }
+}
@@ -0,0 +1,381 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ * The {@code StudentBinaryFile} class defines the fixed-width binary student file format and
+ * converts the driver's {@code <gpa> <credits>} text files into it.
+ *
+ * <p><b>Layout</b> (all values little-endian):</p>
+ * <pre>
+ * offset  size  field
+ *      0     4  magic   "HW2S" ({@link #MAGIC})
+ *      4     4  version ({@link #VERSION})
+ *      8     8  record count n
+ *     16  12*n  records: double gpa, int credits
+ * </pre>
+ *
+ * <p>Records have no separators or padding, so record {@code i} starts at byte
+ * {@code 16 + 12 * i} and {@link MappedStudentFile} can read any field with one positioned load.
+ * Values are validated once, on write, with the same rules as {@link Student}.</p>
+ *
+ * <p><b>Converting from the command line:</b></p>
+ * <pre>{@code
+ * java -cp target/classes edu.iastate.cs2280.hw2.StudentBinaryFile students.txt students.bin
+ * }</pre>
+ *
+ * @see MappedStudentFile
+ * @author Kaleb
+ */
+public final class StudentBinaryFile {
+
+  /** File magic: the ASCII bytes {@code "HW2S"} read as a little-endian int. */
+  public static final int MAGIC = 0x53325748;
+
+  /** Current format version. */
+  public static final int VERSION = 1;
+
+  /** Header size in bytes. */
+  public static final int HEADER_BYTES = 16;
+
+  /** Size of one record in bytes: an 8-byte GPA followed by a 4-byte credit count. */
+  public static final int RECORD_BYTES = 12;
+
+  // Records buffered per write call
+  private static final int RECORDS_PER_WRITE = 1 << 14;
+
+  // Records buffered per read call; small because a k-way merge holds one reader per run
+  private static final int RECORDS_PER_READ = 1 << 10;
+
+  private StudentBinaryFile() {
+  }
+
+  /**
+   * Converts a text file of {@code <gpa> <credits>} lines into the binary format. The text is
+   * parsed one {@link StudentFileParser} chunk at a time, so files larger than the heap can be
+   * converted, and the accepted syntax and error messages are exactly those of the driver's text
+   * reader. Blank lines are skipped.
+   *
+   * @param text source text file
+   * @param binary destination file; created or overwritten
+   * @return number of records written
+   * @throws IOException if either file cannot be read or written
+   * @throws InputMismatchException if a line is malformed or the file holds no records
+   * @throws IllegalArgumentException if a GPA or credit value is out of range
+   */
+  public static long convert(Path text, Path binary) throws IOException {
+    try (FileChannel in = FileChannel.open(text, StandardOpenOption.READ);
+         Writer out = new Writer(binary)) {
+      long length = in.size();
+      for (long start = 0; start < length; ) {
+        long end = StudentFileParser.chunkEnd(in, start, length);
+        StudentTable rows = StudentFileParser.parseRange(in, start, end);
+        for (int i = 0; i < rows.size(); i++) {
+          out.write(rows.getGpa(i), rows.getCreditsTaken(i));
+        }
+        start = end;
+      }
+
+      if (out.count() == 0) {
+        throw new InputMismatchException(StudentFileParser.EMPTY_ERROR);
+      }
+      return out.count();
+    }
+  }
+
+  /**
+   * Writes {@code students} to {@code binary} in the binary format.
+   *
+   * @param students records to write; must not be {@code null} or contain nulls
+   * @param binary destination file; created or overwritten
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if {@code students} is {@code null} or contains a {@code null}
+   */
+  public static void write(Student[] students, Path binary) throws IOException {
+    if (students == null) {
+      throw new IllegalArgumentException("students must be non-null");
+    }
+    write(students, 0, students.length, binary);
+  }
+
+  /**
+   * Writes {@code students[from, to)} to {@code binary} in the binary format.
+   *
+   * @param students records to write; must not be {@code null} or contain nulls in the range
+   * @param from first index to write (inclusive)
+   * @param to end of the range (exclusive)
+   * @param binary destination file; created or overwritten
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if {@code students} is {@code null} or contains a {@code null}
+   */
+  public static void write(Student[] students, int from, int to, Path binary) throws IOException {
+    if (students == null) {
+      throw new IllegalArgumentException("students must be non-null");
+    }
+    try (Writer out = new Writer(binary)) {
+      for (int i = from; i < to; i++) {
+        out.write(students[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns whether {@code file} starts with the binary format's magic number.
+   *
+   * @param file file to probe
+   * @return {@code true} if the first four bytes are {@link #MAGIC}
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isBinary(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      byte[] head = in.readNBytes(4);
+      return head.length == 4
+          && ByteBuffer.wrap(head).order(ByteOrder.LITTLE_ENDIAN).getInt() == MAGIC;
+    }
+  }
+
+  /**
+   * Reads and validates the header of a binary student file.
+   *
+   * @param ch channel open for reading; its position is not changed
+   * @return the record count
+   * @throws IOException if the header cannot be read
+   * @throws InputMismatchException if the header is missing or invalid, or the file length does
+   *                                not match the record count
+   */
+  static int readHeader(FileChannel ch) throws IOException {
+    long length = ch.size();
+    if (length < HEADER_BYTES) {
+      throw new InputMismatchException("File format error: Missing binary header.");
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining()) {
+      if (ch.read(header, header.position()) < 0) {
+        throw new InputMismatchException("File format error: Missing binary header.");
+      }
+    }
+    if (header.getInt(0) != MAGIC) {
+      throw new InputMismatchException("File format error: Not a binary student file.");
+    }
+    if (header.getInt(4) != VERSION) {
+      throw new InputMismatchException("File format error: Unsupported version " + header.getInt(4) + ".");
+    }
+    long count = header.getLong(8);
+    if (count < 0 || count > Integer.MAX_VALUE - 8 || length != HEADER_BYTES + count * RECORD_BYTES) {
+      throw new InputMismatchException("File format error: Record count does not match file size.");
+    }
+    return (int) count;
+  }
+
+  /**
+   * Command-line converter: {@code StudentBinaryFile <text-in> <binary-out>}.
+   *
+   * @param args source text file and destination binary file
+   * @throws IOException if either file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("Usage: StudentBinaryFile <text-in> <binary-out>");
+      return;
+    }
+    long count = convert(Path.of(args[0]), Path.of(args[1]));
+    System.out.println("Wrote " + count + " students to " + args[1]);
+  }
+
+  /**
+   * Streams records into a new binary file. The header is written on {@link #close()}, once the
+   * record count is known, so files of any size can be produced in bounded memory.
+   */
+  static final class Writer implements Closeable {
+    private final FileChannel out;
+    private final ByteBuffer buf;
+    private long count;
+
+    /**
+     * Creates (or truncates) {@code binary} and positions it after the header.
+     *
+     * @param binary destination file
+     * @throws IOException if the file cannot be opened
+     */
+    Writer(Path binary) throws IOException {
+      this.out = FileChannel.open(binary, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.buf = ByteBuffer.allocate(RECORDS_PER_WRITE * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      out.position(HEADER_BYTES);
+    }
+
+    /**
+     * Appends one student.
+     *
+     * @param s record to append; must not be {@code null}
+     * @throws IOException if a buffered write fails
+     * @throws IllegalArgumentException if {@code s} is {@code null}
+     */
+    void write(Student s) throws IOException {
+      if (s == null) {
+        throw new IllegalArgumentException();
+      }
+      write(s.getGpa(), s.getCreditsTaken());
+    }
+
+    /**
+     * Validates and appends one record, flushing the buffer when it is full.
+     *
+     * @param gpa GPA in [0.00, 4.00]
+     * @param credits non-negative credit count
+     * @throws IOException if a buffered write fails
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    void write(double gpa, int credits) throws IOException {
+      if (gpa < 0.0 || gpa > 4.0 || credits < 0) {
+        throw new IllegalArgumentException();
+      }
+      if (buf.remaining() < RECORD_BYTES) {
+        flush();
+      }
+      buf.putDouble(gpa).putInt(credits);
+      count++;
+    }
+
+    /**
+     * Returns the number of records written so far.
+     *
+     * @return record count
+     */
+    long count() {
+      return count;
+    }
+
+    /**
+     * Flushes the remaining records, writes the header at offset 0, and closes the file.
+     *
+     * @throws IOException if a write fails
+     */
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+        while (header.hasRemaining()) {
+          out.write(header, header.position());
+        }
+      } finally {
+        out.close();
+      }
+    }
+
+    /**
+     * Writes the buffered bytes and clears the buffer.
+     *
+     * @throws IOException if the write fails
+     */
+    private void flush() throws IOException {
+      buf.flip();
+      while (buf.hasRemaining()) {
+        out.write(buf);
+      }
+      buf.clear();
+    }
+  }
+
+  /**
+   * Reads the records of a binary file in order through a small channel buffer. Unlike a
+   * {@link MappedStudentFile}, a reader holds no mapping, so the file is released (and can be
+   * deleted on every platform) as soon as the reader is closed.
+   */
+  static final class Reader implements Closeable {
+    private final FileChannel in;
+    private final ByteBuffer buf;
+    private final int count;
+    private int read;
+
+    /**
+     * Opens {@code binary} and validates its header.
+     *
+     * @param binary file in the binary format
+     * @throws IOException if the file cannot be opened or read
+     * @throws InputMismatchException if the header is missing or invalid, or the file length does
+     *                                not match the record count
+     */
+    Reader(Path binary) throws IOException {
+      this.in = FileChannel.open(binary, StandardOpenOption.READ);
+      try {
+        this.count = readHeader(in);
+        in.position(HEADER_BYTES);
+      } catch (IOException | RuntimeException e) {
+        in.close();
+        throw e;
+      }
+      this.buf = ByteBuffer.allocate(RECORDS_PER_READ * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buf.limit(0);
+    }
+
+    /**
+     * Returns the number of records in the file.
+     *
+     * @return record count
+     */
+    int count() {
+      return count;
+    }
+
+    /**
+     * Reads the next record, refilling the buffer when it is empty.
+     *
+     * @return the next student, or {@code null} once every record has been read
+     * @throws IOException if a read fails
+     * @throws InputMismatchException if the record is out of range or the file is truncated
+     */
+    Student next() throws IOException {
+      if (read == count) {
+        return null;
+      }
+      if (buf.remaining() < RECORD_BYTES) {
+        fill();
+      }
+      double gpa = buf.getDouble();
+      int credits = buf.getInt();
+      if (gpa < 0.0 || gpa > 4.0 || credits < 0) {
+        throw new InputMismatchException("File format error: Record " + read + " is out of range.");
+      }
+      read++;
+      return new Student(gpa, credits);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+    /**
+     * Reads at least one more whole record into the buffer.
+     *
+     * @throws IOException if the read fails
+     * @throws InputMismatchException if the file ends early
+     */
+    private void fill() throws IOException {
+      buf.compact();
+      while (buf.position() < RECORD_BYTES) {
+        if (in.read(buf) < 0) {
+          throw new InputMismatchException("File format error: Record count does not match file size.");
+        }
+      }
+      buf.flip();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * Read-only, row-indexed access to a student dataset stored as primitive columns.
+ *
+ * <p>Implementations keep GPA and credits outside of {@link Student} objects, either in heap
+ * arrays ({@link StudentTable}) or in a memory-mapped file ({@link MappedStudentFile}). Both
+ * support index sorting through the same four algorithm kernels, so a dataset can be sorted
+ * without materializing one object per row.</p>
+ *
+ * @see StudentTable
+ * @see MappedStudentFile
+ * @author Kaleb
+ */
+public interface StudentColumns {
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return row count
+   */
+  int size();
+
+  /**
+   * Returns the GPA stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the GPA of row {@code i}
+   */
+  double getGpa(int i);
+
+  /**
+   * Returns the credits stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the credits of row {@code i}
+   */
+  int getCreditsTaken(int i);
+
+  /**
+   * Materializes row {@code i} as a {@link Student}.
+   *
+   * @param i row index
+   * @return a new student with the row's GPA and credits
+   */
+  default Student get(int i) {
+    return new Student(getGpa(i), getCreditsTaken(i));
+  }
+
+  /**
+   * Returns the row at the median position {@code n / 2} of a sorted permutation, mirroring
+   * {@link AbstractSorter#getMedian()}.
+   *
+   * @param perm sorted permutation of the rows
+   * @return the median row as a {@link Student}, or {@code null} if {@code perm} is empty
+   */
+  default Student getMedian(int[] perm) {
+    if (perm.length == 0) {
+      return null;
+    }
+    return get(perm[perm.length / 2]);
+  }
+}
@@ -0,0 +1,88 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code StudentDataset} class is a shared, read-only handle on a validated array of
+ * {@link Student} records.
+ *
+ * <p>{@link Student} is immutable, so there is no need to copy each record every time a layer
+ * (the driver, a {@link StudentScanner}, a sorter) takes hold of the data. A dataset is validated
+ * and reference-copied once on construction; sorters built from it via
+ * {@link AbstractSorter#AbstractSorter(StudentDataset)} or refreshed via
+ * {@link AbstractSorter#load(StudentDataset)} copy only the references into their own working
+ * array, which they are then free to reorder. The dataset itself is never reordered, so any
+ * number of scanners and sorters can share one instance, including across threads.</p>
+ *
+ * <p><b>Memory:</b> each holder of a dataset costs one reference per record instead of one
+ * {@link Student} object per record.</p>
+ *
+ * @see AbstractSorter
+ * @see StudentScanner
+ * @see Student
+ * @author Kaleb
+ */
+public final class StudentDataset {
+
+  // Private reference copy of the records; never exposed or reordered
+  private final Student[] students;
+
+  /**
+   * Creates a dataset over a reference copy of {@code students}. Later changes to the caller's
+   * array do not affect the dataset.
+   *
+   * @param students records to share; may be empty but must not be {@code null} or contain nulls
+   * @throws IllegalArgumentException if {@code students} is {@code null} or contains a null element
+   */
+  public StudentDataset(Student[] students) {
+    if (students == null) {
+      throw new IllegalArgumentException("students must be non-null");
+    }
+    this.students = students.clone();
+    for (Student s : this.students) {
+      if (s == null) {
+        throw new IllegalArgumentException("students must not contain null elements");
+      }
+    }
+  }
+
+  /**
+   * Returns the number of records.
+   *
+   * @return dataset size
+   */
+  public int size() {
+    return students.length;
+  }
+
+  /**
+   * Returns the record at {@code index}.
+   *
+   * @param index record index, {@code 0 <= index < size()}
+   * @return the student at {@code index}
+   * @throws ArrayIndexOutOfBoundsException if {@code index} is out of range
+   */
+  public Student get(int index) {
+    return students[index];
+  }
+
+  /**
+   * Copies all record references into {@code dest} starting at index 0.
+   *
+   * @param dest destination array; must have room for {@link #size()} elements
+   * @throws IllegalArgumentException if {@code dest} is {@code null} or too short
+   */
+  public void copyTo(Student[] dest) {
+    if (dest == null || dest.length < students.length) {
+      throw new IllegalArgumentException("destination must hold " + students.length + " students");
+    }
+    System.arraycopy(students, 0, dest, 0, students.length);
+  }
+
+  /**
+   * Returns a new array holding the record references, which the caller may reorder freely.
+   *
+   * @return a reference copy of the records
+   */
+  public Student[] toArray() {
+    return students.clone();
+  }
+}
@@ -0,0 +1,482 @@
+package edu.iastate.cs2280.hw2;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.Scanner;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code StudentFileParser} class reads {@code <gpa> <credits>} text files at byte level,
+ * in parallel, without allocating per record.
+ *
+ * <p><b>How it works:</b> the file is cut into chunks of about {@link #CHUNK_BYTES} bytes, and
+ * each cut is moved forward to just past the next newline so no line straddles two chunks. Each
+ * chunk is memory-mapped and parsed on its own thread straight from the mapped bytes into
+ * growable {@code double[]}/{@code int[]} columns; the chunk columns are then concatenated in
+ * file order.</p>
+ *
+ * <p><b>Number parsing:</b> a GPA of the form {@code [+-]digits[.digits]} with at most 15
+ * significant digits is computed as {@code mantissa / 10^k}, which is exactly what
+ * {@link Double#parseDouble} returns for such input; credits of the form {@code [+-]digits} are
+ * accumulated directly. Any other token (exponents, grouping separators, {@code NaN}, ...) falls
+ * back to {@link Scanner}, so the accepted syntax is the same as the driver's original
+ * line-by-line reader and only unusual tokens allocate.</p>
+ *
+ * <p><b>Errors:</b> malformed lines are reported with the driver's messages; when several chunks
+ * contain errors, the one nearest the start of the file wins, as with sequential parsing.</p>
+ *
+ * @see CompareSorters
+ * @see StudentTable
+ * @author Kaleb
+ */
+public final class StudentFileParser {
+
+  /** Target chunk size in bytes. */
+  static final int CHUNK_BYTES = 1 << 24;
+
+  // Error messages shared with the driver's original reader
+  static final String GPA_ERROR = "File format error: Invalid GPA format. Expected a double.";
+  static final String CREDITS_ERROR = "File format error: Invalid credits format. Expected an integer.";
+  static final String EMPTY_ERROR = "File is empty or contains no valid student data.";
+
+  // Powers of ten that are exact doubles, for the fast GPA path
+  private static final double[] POW10 = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  // Largest mantissa kept on the fast path (15 digits, well below 2^53)
+  private static final long MAX_FAST_MANTISSA = 999_999_999_999_999L;
+
+  // Chunk size and thread count; package-private so tests can force many small chunks
+  int chunkBytes = CHUNK_BYTES;
+  int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Parses {@code file} and returns one {@link Student} per data line, in file order.
+   *
+   * @param file text file of {@code <gpa> <credits>} lines
+   * @return the parsed students
+   * @throws FileNotFoundException if the file does not exist, is not a regular file, or is not
+   *                               readable
+   * @throws IOException if the file cannot be read
+   * @throws InputMismatchException if a line is malformed or the file holds no records
+   * @throws IllegalArgumentException if a GPA or credit value is out of the range {@link Student}
+   *                                  accepts
+   */
+  public StudentDataset parse(Path file) throws IOException {
+    StudentTable table = parseTable(file);
+    Student[] students = new Student[table.size()];
+    for (int i = 0; i < students.length; i++) {
+      students[i] = table.get(i);
+    }
+    return new StudentDataset(students);
+  }
+
+  /**
+   * Parses {@code file} into a columnar table without creating any {@link Student} objects.
+   *
+   * @param file text file of {@code <gpa> <credits>} lines
+   * @return the parsed rows, in file order
+   * @throws FileNotFoundException if the file does not exist, is not a regular file, or is not
+   *                               readable
+   * @throws IOException if the file cannot be read
+   * @throws InputMismatchException if a line is malformed or the file holds no records
+   * @throws IllegalArgumentException if a GPA or credit value is out of range
+   */
+  public StudentTable parseTable(Path file) throws IOException {
+    // Directories and unreadable files are reported like missing ones, as the driver's Scanner did
+    if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+      throw new FileNotFoundException(file.toString());
+    }
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = ch.size();
+      long[] cuts = chunkBoundaries(ch, length);
+      int chunks = cuts.length - 1;
+      Chunk[] parsed = new Chunk[chunks];
+
+      IntStream range = IntStream.range(0, chunks);
+      if (chunks > 1 && parallelism > 1) {
+        range = range.parallel();
+      }
+      range.forEach(c -> parsed[c] = parseChunk(ch, cuts[c], cuts[c + 1]));
+
+      // Report the first error in file order, exactly as a sequential reader would
+      int total = 0;
+      for (Chunk chunk : parsed) {
+        if (chunk.error != null) {
+          throw new InputMismatchException(chunk.error);
+        }
+        total += chunk.count;
+      }
+      if (total == 0) {
+        throw new InputMismatchException(EMPTY_ERROR);
+      }
+
+      double[] gpa = new double[total];
+      int[] credits = new int[total];
+      int pos = 0;
+      for (Chunk chunk : parsed) {
+        System.arraycopy(chunk.gpa, 0, gpa, pos, chunk.count);
+        System.arraycopy(chunk.credits, 0, credits, pos, chunk.count);
+        pos += chunk.count;
+      }
+      return new StudentTable(gpa, credits);
+    } catch (NoSuchFileException e) {
+      throw new FileNotFoundException(file.toString());
+    }
+  }
+
+  /**
+   * Splits {@code [0, length)} into chunks of about {@link #chunkBytes} bytes whose boundaries
+   * fall just after a newline.
+   *
+   * @param ch open file channel
+   * @param length file size in bytes
+   * @return ascending boundaries, starting at 0 and ending at {@code length}
+   * @throws IOException if the file cannot be read
+   */
+  private long[] chunkBoundaries(FileChannel ch, long length) throws IOException {
+    long step = Math.max(1, chunkBytes);
+    int max = (int) Math.min(Integer.MAX_VALUE - 2, (length + step - 1) / step);
+    long[] cuts = new long[max + 2];
+    int count = 1;
+    ByteBuffer probe = ByteBuffer.allocate(256);
+    long pos = 0;
+    while (pos < length) {
+      long next = pos + step;
+      if (next >= length) {
+        break;
+      }
+      next = afterNewline(ch, next, length, probe);
+      if (next >= length) {
+        break;
+      }
+      cuts[count++] = next;
+      pos = next;
+    }
+    cuts[count++] = length;
+    return Arrays.copyOf(cuts, count);
+  }
+
+  /**
+   * Returns the position just after the first newline at or after {@code from}.
+   *
+   * @param ch open file channel
+   * @param from search start
+   * @param length file size in bytes
+   * @param probe scratch buffer for positioned reads
+   * @return position after the newline, or {@code length} if there is none
+   * @throws IOException if the file cannot be read
+   */
+  private static long afterNewline(FileChannel ch, long from, long length, ByteBuffer probe)
+      throws IOException {
+    long pos = from;
+    while (pos < length) {
+      probe.clear();
+      int read = ch.read(probe, pos);
+      if (read <= 0) {
+        return length;
+      }
+      for (int i = 0; i < read; i++) {
+        if (probe.get(i) == '\n') {
+          return pos + i + 1;
+        }
+      }
+      pos += read;
+    }
+    return length;
+  }
+
+  /**
+   * Returns the end of the chunk that starts at {@code start}: the position just after the first
+   * newline at least {@link #CHUNK_BYTES} bytes in, or {@code length}. Callers that stream a file
+   * pass each {@code [start, end)} to {@link #parseRange(FileChannel, long, long)}.
+   *
+   * @param ch open file channel
+   * @param start first byte of the chunk (start of a line)
+   * @param length file size in bytes
+   * @return the chunk end, greater than {@code start} when {@code start < length}
+   * @throws IOException if the file cannot be read
+   */
+  static long chunkEnd(FileChannel ch, long start, long length) throws IOException {
+    long next = start + CHUNK_BYTES;
+    return (next >= length) ? length : afterNewline(ch, next, length, ByteBuffer.allocate(256));
+  }
+
+  /**
+   * Parses the complete lines in {@code [start, end)} of an open file, for callers that read a
+   * file incrementally.
+   *
+   * @param ch open file channel
+   * @param start first byte of the range (start of a line)
+   * @param end end of the range (exclusive; just after a newline or end of file)
+   * @return the parsed rows, in file order; empty if the range holds only blank lines
+   * @throws InputMismatchException if a line is malformed
+   * @throws IllegalArgumentException if a GPA or credit value is out of range
+   */
+  static StudentTable parseRange(FileChannel ch, long start, long end) {
+    Chunk chunk = parseChunk(ch, start, end);
+    if (chunk.error != null) {
+      throw new InputMismatchException(chunk.error);
+    }
+    return new StudentTable(Arrays.copyOf(chunk.gpa, chunk.count),
+        Arrays.copyOf(chunk.credits, chunk.count));
+  }
+
+  /**
+   * Parses the lines in {@code [start, end)}, stopping at the first malformed line.
+   *
+   * @param ch open file channel
+   * @param start first byte of the chunk (start of a line)
+   * @param end end of the chunk (exclusive; just after a newline or end of file)
+   * @return the chunk's columns, or its first error
+   */
+  private static Chunk parseChunk(FileChannel ch, long start, long end) {
+    Chunk out = new Chunk((int) Math.max(16, (end - start) / 8));
+    ByteBuffer buf;
+    try {
+      buf = ch.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    int n = buf.limit();
+    int i = 0;
+    while (i < n) {
+      // Skip leading whitespace; a blank line is ignored
+      i = skipBlanks(buf, i, n);
+      if (i >= n) {
+        break;
+      }
+      if (buf.get(i) == '\n') {
+        i++;
+        continue;
+      }
+
+      // GPA token
+      int tokEnd = tokenEnd(buf, i, n);
+      double gpa = parseGpa(buf, i, tokEnd);
+      if (Double.isNaN(gpa) && !isNaNToken(buf, i, tokEnd)) {
+        out.error = GPA_ERROR;
+        return out;
+      }
+
+      // Credits token on the same line
+      i = skipBlanks(buf, tokEnd, n);
+      if (i >= n || buf.get(i) == '\n') {
+        out.error = CREDITS_ERROR;
+        return out;
+      }
+      tokEnd = tokenEnd(buf, i, n);
+      long credits = parseCredits(buf, i, tokEnd);
+      if (credits == Long.MIN_VALUE) {
+        out.error = CREDITS_ERROR;
+        return out;
+      }
+      out.add(gpa, (int) credits);
+
+      // Ignore anything else on the line
+      i = tokEnd;
+      while (i < n && buf.get(i) != '\n') {
+        i++;
+      }
+      i++;
+    }
+    return out;
+  }
+
+  /**
+   * Returns the first index at or after {@code i} that is not a non-newline whitespace byte.
+   */
+  private static int skipBlanks(ByteBuffer buf, int i, int n) {
+    while (i < n) {
+      byte b = buf.get(i);
+      if (b == '\n' || !isBlank(b)) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns the index just past the token starting at {@code i}.
+   */
+  private static int tokenEnd(ByteBuffer buf, int i, int n) {
+    while (i < n) {
+      byte b = buf.get(i);
+      if (b == '\n' || isBlank(b)) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns whether {@code b} is a whitespace byte other than newline.
+   */
+  private static boolean isBlank(byte b) {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+  }
+
+  /**
+   * Parses a GPA token, or returns {@code NaN} if {@link Scanner#nextDouble()} would reject it.
+   *
+   * @param buf chunk bytes
+   * @param from token start (inclusive)
+   * @param to token end (exclusive)
+   * @return the parsed value, or {@code NaN} for an invalid token
+   */
+  private static double parseGpa(ByteBuffer buf, int from, int to) {
+    int i = from;
+    boolean negative = false;
+    byte first = buf.get(i);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int fraction = -1;
+    for (; i < to; i++) {
+      byte b = buf.get(i);
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        digits++;
+        if (fraction >= 0) {
+          fraction++;
+        }
+        if (mantissa > MAX_FAST_MANTISSA) {
+          return slowGpa(buf, from, to);
+        }
+      } else if (b == '.' && fraction < 0) {
+        fraction = 0;
+      } else {
+        return slowGpa(buf, from, to);
+      }
+    }
+    if (digits == 0 || fraction >= POW10.length) {
+      return slowGpa(buf, from, to);
+    }
+    double value = (fraction > 0) ? mantissa / POW10[fraction] : (double) mantissa;
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a credits token, or returns {@link Long#MIN_VALUE} if {@link Scanner#nextInt()}
+   * would reject it.
+   *
+   * @param buf chunk bytes
+   * @param from token start (inclusive)
+   * @param to token end (exclusive)
+   * @return the parsed value, or {@code Long.MIN_VALUE} for an invalid token
+   */
+  private static long parseCredits(ByteBuffer buf, int from, int to) {
+    int i = from;
+    boolean negative = false;
+    byte first = buf.get(i);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      i++;
+    }
+    if (i == to) {
+      return slowCredits(buf, from, to);
+    }
+    long value = 0;
+    for (; i < to; i++) {
+      byte b = buf.get(i);
+      if (b < '0' || b > '9' || value > Integer.MAX_VALUE) {
+        return slowCredits(buf, from, to);
+      }
+      value = value * 10 + (b - '0');
+    }
+    value = negative ? -value : value;
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      return Long.MIN_VALUE;
+    }
+    return value;
+  }
+
+  /**
+   * Fallback GPA parse through {@link Scanner} for tokens outside the fast grammar.
+   */
+  private static double slowGpa(ByteBuffer buf, int from, int to) {
+    try (Scanner s = new Scanner(token(buf, from, to))) {
+      return s.hasNextDouble() ? s.nextDouble() : Double.NaN;
+    }
+  }
+
+  /**
+   * Fallback credits parse through {@link Scanner} for tokens outside the fast grammar.
+   */
+  private static long slowCredits(ByteBuffer buf, int from, int to) {
+    try (Scanner s = new Scanner(token(buf, from, to))) {
+      return s.hasNextInt() ? s.nextInt() : Long.MIN_VALUE;
+    }
+  }
+
+  /**
+   * Returns whether the token is one {@link Scanner} reads as {@code NaN}.
+   */
+  private static boolean isNaNToken(ByteBuffer buf, int from, int to) {
+    try (Scanner s = new Scanner(token(buf, from, to))) {
+      return s.hasNextDouble();
+    }
+  }
+
+  /**
+   * Decodes the token bytes as a string (slow path only).
+   */
+  private static String token(ByteBuffer buf, int from, int to) {
+    byte[] bytes = new byte[to - from];
+    buf.get(from, bytes);
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Columns parsed from one chunk, plus its first error if any.
+   */
+  private static final class Chunk {
+    double[] gpa;
+    int[] credits;
+    int count;
+    String error;
+
+    /**
+     * @param capacity initial column capacity
+     */
+    Chunk(int capacity) {
+      gpa = new double[capacity];
+      credits = new int[capacity];
+    }
+
+    /**
+     * Appends one row, growing the columns by half when full.
+     *
+     * @param g GPA
+     * @param c credits
+     */
+    void add(double g, int c) {
+      if (count == gpa.length) {
+        int grown = count + (count >> 1) + 1;
+        gpa = Arrays.copyOf(gpa, grown);
+        credits = Arrays.copyOf(credits, grown);
+      }
+      gpa[count] = g;
+      credits[count] = c;
+      count++;
+    }
+  }
+}
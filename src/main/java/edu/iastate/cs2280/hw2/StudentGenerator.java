@@ -0,0 +1,341 @@
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * The {@code StudentGenerator} class produces seeded student datasets in the input shapes that
+ * matter for sorting performance. The same seed, shape and size always yield the same data.
+ *
+ * <p>"Sorted" always means sorted under the comparator order chosen with
+ * {@link #setOrder(int)} (order 0 by default), so the presorted shapes are presorted for the pass
+ * being measured.</p>
+ *
+ * <pre>{@code
+ * StudentGenerator gen = new StudentGenerator(2280L);
+ * gen.setSwaps(50);
+ * Student[] nearly = gen.generate(StudentGenerator.Shape.NEARLY_SORTED, 100_000);
+ * }</pre>
+ *
+ * @see CompareSorters#generateRandomStudents(int, Random)
+ * @author Kaleb
+ */
+public class StudentGenerator {
+
+  /**
+   * Input shapes.
+   */
+  public enum Shape {
+    /** Uniform GPA (two decimals) and credits in [0, 150], as the driver has always generated. */
+    RANDOM,
+    /** Random students, sorted. */
+    SORTED,
+    /** Random students, sorted and then reversed. */
+    REVERSED,
+    /** Sorted, then {@code swaps} random pairs exchanged. */
+    NEARLY_SORTED,
+    /** Only {@code distinct} different (GPA, credits) keys, in random order. */
+    FEW_UNIQUE,
+    /** Ascending to a peak in the middle, then descending (every other sorted element each way). */
+    ORGAN_PIPE,
+    /** Zipf-distributed GPA concentrated around 3.30; credits uniform in [0, 150]. */
+    ZIPF_GPA,
+    /**
+     * McIlroy's adversary input for {@link QuickSorter}'s median-of-three Lomuto quicksort:
+     * distinct keys arranged so that every partition step is maximally unbalanced. Generating it
+     * runs that quadratic sort once, so it is meant for sizes up to about 10<sup>5</sup>.
+     */
+    MEDIAN_OF_3_KILLER
+  }
+
+  /** Mode of the {@link Shape#ZIPF_GPA} distribution, in hundredths. */
+  static final int ZIPF_MODE_HUNDREDTHS = 330;
+
+  // Credits of RANDOM students are drawn from [0, MAX_CREDITS]
+  private static final int MAX_CREDITS = 150;
+
+  private final Random rand;
+
+  // Comparator order the presorted shapes follow
+  private int order = 0;
+
+  // Swapped pairs for NEARLY_SORTED; negative means 1% of n (at least one)
+  private int swaps = -1;
+
+  // Distinct keys for FEW_UNIQUE
+  private int distinct = 8;
+
+  // Zipf exponent for ZIPF_GPA
+  private double zipfExponent = 1.0;
+
+  /**
+   * Creates a generator whose output is fully determined by {@code seed}.
+   *
+   * @param seed random seed
+   */
+  public StudentGenerator(long seed) {
+    this.rand = new Random(seed);
+  }
+
+  /**
+   * Sets the comparator order that {@link Shape#SORTED}, {@link Shape#REVERSED},
+   * {@link Shape#NEARLY_SORTED}, {@link Shape#ORGAN_PIPE} and {@link Shape#MEDIAN_OF_3_KILLER}
+   * are arranged for.
+   *
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @throws IllegalArgumentException if {@code order} is not 0 or 1
+   */
+  public void setOrder(int order) {
+    if (order != 0 && order != 1) {
+      throw new IllegalArgumentException("order must be 0 or 1");
+    }
+    this.order = order;
+  }
+
+  /**
+   * Sets the number of random pair exchanges applied by {@link Shape#NEARLY_SORTED}.
+   *
+   * @param k exchanges, at least 0
+   * @throws IllegalArgumentException if {@code k < 0}
+   */
+  public void setSwaps(int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("swaps must be non-negative");
+    }
+    this.swaps = k;
+  }
+
+  /**
+   * Sets the number of distinct keys used by {@link Shape#FEW_UNIQUE}.
+   *
+   * @param d distinct keys, at least 1
+   * @throws IllegalArgumentException if {@code d < 1}
+   */
+  public void setDistinct(int d) {
+    if (d < 1) {
+      throw new IllegalArgumentException("distinct must be at least 1");
+    }
+    this.distinct = d;
+  }
+
+  /**
+   * Sets the Zipf exponent of {@link Shape#ZIPF_GPA}; larger values concentrate more students on
+   * the most common GPAs.
+   *
+   * @param s exponent, greater than 0
+   * @throws IllegalArgumentException if {@code s <= 0}
+   */
+  public void setZipfExponent(double s) {
+    if (!(s > 0.0)) {
+      throw new IllegalArgumentException("exponent must be positive");
+    }
+    this.zipfExponent = s;
+  }
+
+  /**
+   * Generates {@code n} students in the given shape.
+   *
+   * @param shape input shape
+   * @param n number of students, at least 1
+   * @return a new array of {@code n} distinct {@link Student} objects
+   * @throws IllegalArgumentException if {@code shape} is {@code null} or {@code n < 1}
+   */
+  public Student[] generate(Shape shape, int n) {
+    if (shape == null) {
+      throw new IllegalArgumentException();
+    }
+    if (n < 1) {
+      throw new IllegalArgumentException("numStudents must be at least 1.");
+    }
+    switch (shape) {
+      case RANDOM:
+        return CompareSorters.generateRandomStudents(n, rand);
+      case SORTED:
+        return sorted(CompareSorters.generateRandomStudents(n, rand));
+      case REVERSED: {
+        Student[] a = sorted(CompareSorters.generateRandomStudents(n, rand));
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+          exchange(a, i, j);
+        }
+        return a;
+      }
+      case NEARLY_SORTED: {
+        Student[] a = sorted(CompareSorters.generateRandomStudents(n, rand));
+        int k = (swaps >= 0) ? swaps : Math.max(1, n / 100);
+        for (int s = 0; s < k; s++) {
+          exchange(a, rand.nextInt(n), rand.nextInt(n));
+        }
+        return a;
+      }
+      case FEW_UNIQUE: {
+        Student[] pool = CompareSorters.generateRandomStudents(distinct, rand);
+        Student[] a = new Student[n];
+        for (int i = 0; i < n; i++) {
+          a[i] = new Student(pool[rand.nextInt(pool.length)]);
+        }
+        return a;
+      }
+      case ORGAN_PIPE: {
+        Student[] s = sorted(CompareSorters.generateRandomStudents(n, rand));
+        Student[] a = new Student[n];
+        for (int i = 0; i < n; i++) {
+          // Even sorted positions rise to the peak, odd ones fall back from it
+          a[(i % 2 == 0) ? i / 2 : n - 1 - i / 2] = s[i];
+        }
+        return a;
+      }
+      case ZIPF_GPA:
+        return zipfGpa(n);
+      case MEDIAN_OF_3_KILLER:
+        return medianOfThreeKiller(n);
+      default:
+        throw new IllegalArgumentException();
+    }
+  }
+
+  /**
+   * Returns {@code a} sorted under {@link #order} by the stable merge sort.
+   *
+   * @param a students to sort
+   * @return sorted array (a new array holding the same references)
+   */
+  private Student[] sorted(Student[] a) {
+    MergeSorter merge = new MergeSorter(new StudentDataset(a));
+    merge.setComparator(order);
+    merge.sort();
+    return merge.students;
+  }
+
+  /**
+   * Draws GPAs from a Zipf distribution over the 401 two-decimal values, where the k-th most
+   * likely GPA is the k-th closest to {@link #ZIPF_MODE_HUNDREDTHS} (the lower one first on ties).
+   *
+   * @param n number of students
+   * @return generated students
+   */
+  private Student[] zipfGpa(int n) {
+    int values = SortKeys.GPA_VALUES;
+    int[] byRank = new int[values];
+    int lo = ZIPF_MODE_HUNDREDTHS;
+    int hi = ZIPF_MODE_HUNDREDTHS + 1;
+    for (int r = 0; r < values; r++) {
+      boolean takeLow = lo >= 0 && (hi >= values || ZIPF_MODE_HUNDREDTHS - lo <= hi - ZIPF_MODE_HUNDREDTHS);
+      byRank[r] = takeLow ? lo-- : hi++;
+    }
+
+    double[] cdf = new double[values];
+    double total = 0;
+    for (int r = 0; r < values; r++) {
+      total += 1.0 / Math.pow(r + 1, zipfExponent);
+      cdf[r] = total;
+    }
+
+    Student[] a = new Student[n];
+    for (int i = 0; i < n; i++) {
+      double u = rand.nextDouble() * total;
+      int left = 0;
+      int right = values - 1;
+      while (left < right) {
+        int mid = (left + right) >>> 1;
+        if (cdf[mid] <= u) {
+          left = mid + 1;
+        } else {
+          right = mid;
+        }
+      }
+      a[i] = new Student(byRank[left] / 100.0, rand.nextInt(MAX_CREDITS + 1));
+    }
+    return a;
+  }
+
+  /**
+   * Builds McIlroy's "killer adversary" input ("A Killer Adversary for Quicksort", 1999) for
+   * {@link QuickSorter}. The sort is run once on placeholder elements with a comparator that
+   * decides element values lazily: all elements start as "gas" (larger than any fixed value), and
+   * whenever two gas elements meet, the one that is not the current pivot candidate is frozen to
+   * the next smallest value. The frozen values are a legal input on which the same sort repeats
+   * exactly the same comparisons, so its pivots are always near an end of the range.
+   *
+   * @param n number of students
+   * @return students whose ranks under {@link #order} are the adversary's values
+   */
+  private Student[] medianOfThreeKiller(int n) {
+    // Placeholder i is identified by its credit count
+    Student[] placeholders = new Student[n];
+    for (int i = 0; i < n; i++) {
+      placeholders[i] = new Student(0.0, i);
+    }
+    int gas = n;
+    int[] val = new int[n];
+    Arrays.fill(val, gas);
+    int[] state = {0, -1}; // next solid value, current candidate
+
+    Comparator<Student> adversary = (a, b) -> {
+      int x = a.getCreditsTaken();
+      int y = b.getCreditsTaken();
+      if (val[x] == gas && val[y] == gas) {
+        if (x == state[1]) {
+          val[x] = state[0]++;
+        } else {
+          val[y] = state[0]++;
+        }
+      }
+      if (val[x] == gas) {
+        state[1] = x;
+      } else if (val[y] == gas) {
+        state[1] = y;
+      }
+      return Integer.compare(val[x], val[y]);
+    };
+
+    QuickSorter quick = new QuickSorter(new StudentDataset(placeholders));
+    quick.studentComparator = adversary;
+    quick.sort();
+
+    // Elements never frozen during the sort take the remaining (largest) values
+    for (int i = 0; i < n; i++) {
+      if (val[i] == gas) {
+        val[i] = state[0]++;
+      }
+    }
+    Student[] a = new Student[n];
+    for (int i = 0; i < n; i++) {
+      a[i] = studentOfRank(val[i], n);
+    }
+    return a;
+  }
+
+  /**
+   * Returns the student at position {@code rank} of a strictly increasing sequence of {@code n}
+   * distinct students under {@link #order}.
+   *
+   * @param rank position in [0, n)
+   * @param n sequence length
+   * @return the student of that rank
+   */
+  private Student studentOfRank(int rank, int n) {
+    int values = SortKeys.GPA_VALUES;
+    if (order == 0) {
+      // GPA descending, then credits descending: each GPA holds a block of credit values
+      int perGpa = (n + values - 1) / values;
+      int gpaIndex = rank / perGpa;
+      return new Student((SortKeys.MAX_GPA_HUNDREDTHS - gpaIndex) / 100.0, perGpa - 1 - rank % perGpa);
+    }
+    // Credits ascending, then GPA descending
+    return new Student((SortKeys.MAX_GPA_HUNDREDTHS - rank % values) / 100.0, rank / values);
+  }
+
+  /**
+   * Exchanges {@code a[i]} and {@code a[j]}.
+   *
+   * @param a array
+   * @param i first index
+   * @param j second index
+   */
+  private static void exchange(Student[] a, int i, int j) {
+    Student temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+}
@@ -1,5 +1,7 @@
 package edu.iastate.cs2280.hw2;
 
+import java.util.concurrent.locks.Lock;
+
 /**
  * The {@code StudentScanner} orchestrates a two-pass sorting procedure to compute a
  * "median student" for the HW2 assignment and to measure total runtime for a chosen algorithm.
@@ -12,9 +14,26 @@ package edu.iastate.cs2280.hw2;
  * The result is a new {@link Student} whose GPA is the median from pass 1 and whose credits
  * is the median from pass 2.</p>
  *
+ * <p>With {@link Algorithm#MedianSelect} both "sorts" are linear-time selections that only place
+ * the median, so its row in the results table shows the cost of answering the median query
+ * directly next to the full-sort algorithms.</p>
+ *
+ * <p><b>Reusable mode:</b> a scanner keeps its sorter (and that sorter's scratch buffers) between
+ * calls, so repeated {@link #scan()} calls over the same data, or over another dataset of the same
+ * size handed in through {@link #load(StudentDataset)}, allocate nothing once the first scan has warmed the
+ * buffers up. The median is kept as two primitives; {@link #getMedianStudent()} only builds a
+ * {@link Student} when asked. The parallel algorithms still allocate their fork/join tasks.</p>
+ *
  * <p>Timing is measured in nanoseconds using {@link System#nanoTime()} and includes both
  * sorting passes executed by the selected algorithm.</p>
  *
+ * <p>While a JDK Flight Recorder recording enables it, each scan emits one
+ * {@link ScanPhaseEvent} per phase (dataset copy, pass 0, pass 1, median) with the bytes allocated
+ * and the garbage collections that overlapped the phase.</p>
+ *
+ * <p>When {@link AbstractSorter#INSTRUMENT} is set, each scan also records the comparisons, swaps
+ * and element writes of both passes, and {@link #stats()} shows them as extra columns.</p>
+ *
  * @see AbstractSorter
  * @see Algorithm
  * @see Student
@@ -23,8 +42,8 @@ package edu.iastate.cs2280.hw2;
  */
 public class StudentScanner {
 
-  // Internal working copy of the dataset (deep-copied in the constructor)
-  private final Student[] students;
+  // Shared read-only dataset; the sorter copies its references before each scan
+  private StudentDataset data;
 
   // Algorithm under test for timing and median computation
   private final Algorithm sortingAlgorithm;
@@ -32,84 +51,253 @@ public class StudentScanner {
   // Total elapsed time in nanoseconds for the two-pass sort
   protected long scanTime;
 
-  // Median result constructed from pass-1 GPA and pass-2 credits
+  // Sorter reused across scans; created by the first scan()
+  private AbstractSorter sorter;
+
+  // Whether the sorter compares compiled keys (AbstractSorter.setSpecialized)
+  private boolean specialized = true;
+
+  // Median GPA from pass 1 and median credits from pass 2 of the last scan
+  private double medianGpa;
+  private int medianCredits;
+  private boolean scanned;
+
+  // Median result constructed lazily from medianGpa and medianCredits
   private Student medianStudent;
 
+  // Operation counts of the last scan (both passes); zero unless AbstractSorter.INSTRUMENT is set
+  private long comparisons;
+  private long swaps;
+  private long writes;
+
   /**
-   * Constructs a scanner for a specific sorting algorithm over a deep copy of {@code students}.
-   * The input array is not modified; each element is copied into an internal working array.
+   * Constructs a scanner for a specific sorting algorithm over {@code students}. The input array
+   * is not modified; its references are copied once into a {@link StudentDataset}.
    *
    * @param students input dataset; must be non-null, non-empty, and contain no null elements
-   * @param algo algorithm to evaluate (SelectionSort, InsertionSort, MergeSort, or QuickSort)
+   * @param algo algorithm to evaluate
    * @throws IllegalArgumentException if {@code students} is null/empty or contains nulls, or if {@code algo} is null
    */
   public StudentScanner(Student[] students, Algorithm algo) {
-    if (students == null || students.length == 0) {
+    this(toDataset(students), algo);
+  }
+
+  /**
+   * Constructs a scanner for a specific sorting algorithm over a shared dataset. Nothing is
+   * copied, so any number of scanners can share one {@code data} instance.
+   *
+   * @param data input dataset; must be non-null and non-empty
+   * @param algo algorithm to evaluate
+   * @throws IllegalArgumentException if {@code data} is null/empty, or if {@code algo} is null
+   */
+  public StudentScanner(StudentDataset data, Algorithm algo) {
+    if (data == null || data.size() == 0) {
       throw new IllegalArgumentException("Students array must not be null or empty");
     }
     if (algo == null) {
       throw new IllegalArgumentException();
     }
 
-    this.students = new Student[students.length];
-    for (int i = 0; i < students.length; i++) {
-      if (students[i] == null) {
-        throw new IllegalArgumentException();
-      }
-
-      // Deep copy the dataset so benchmarking does not mutate client data
-      this.students[i] = new Student(students[i]);
-    }
-
+    this.data = data;
     this.sortingAlgorithm = algo;
     this.scanTime = 0L;
     this.medianStudent = null;
   }
 
+  /**
+   * Replaces the dataset for the next {@link #scan()} with a reference copy of {@code students}.
+   * The caller's array is never reordered.
+   *
+   * @param students next dataset; must be non-null, non-empty, and contain no null elements
+   * @throws IllegalArgumentException if {@code students} is null/empty or contains nulls
+   */
+  public void load(Student[] students) {
+    load(toDataset(students));
+  }
+
+  /**
+   * Replaces the dataset for the next {@link #scan()}. When {@code data} has the same size as the
+   * current dataset the sorter's working array and buffers are reused, so nothing is allocated.
+   *
+   * @param data next dataset; must be non-null and non-empty
+   * @throws IllegalArgumentException if {@code data} is null/empty
+   */
+  public void load(StudentDataset data) {
+    if (data == null || data.size() == 0) {
+      throw new IllegalArgumentException("Students array must not be null or empty");
+    }
+    this.data = data;
+  }
+
+  /**
+   * Enables or disables specialized comparisons ({@link AbstractSorter#setSpecialized(boolean)})
+   * for the following scans. On by default.
+   *
+   * @param enabled {@code true} to let the sorter compare compiled keys
+   */
+  public void setSpecialized(boolean enabled) {
+    this.specialized = enabled;
+  }
+
+  /**
+   * Wraps {@code students} in a dataset, rejecting null or empty arrays.
+   *
+   * @param students input array
+   * @return a dataset over a reference copy of {@code students}
+   * @throws IllegalArgumentException if {@code students} is null/empty or contains nulls
+   */
+  private static StudentDataset toDataset(Student[] students) {
+    if (students == null || students.length == 0) {
+      throw new IllegalArgumentException("Students array must not be null or empty");
+    }
+    return new StudentDataset(students);
+  }
+
   /**
    * Executes the two-pass median workflow and measures total runtime in nanoseconds.
    * <ol>
-   *   <li>Instantiate the concrete sorter corresponding to {@link #sortingAlgorithm}.</li>
+   *   <li>Create the concrete sorter for {@link #sortingAlgorithm} on the first call; later calls
+   *       reload the existing sorter from {@link #data}.</li>
    *   <li>Set comparator to order 0 and sort; read median GPA.</li>
    *   <li>Set comparator to order 1 and sort; read median credits.</li>
-   *   <li>Construct {@link #medianStudent} and record {@link #scanTime}.</li>
+   *   <li>Record the median and {@link #scanTime}.</li>
    * </ol>
    */
   public void scan() {
-    // Create the appropriate sorter instance for this trial
-    AbstractSorter sorter;
-    switch (sortingAlgorithm) {
+    scan(null);
+  }
+
+  /**
+   * Executes the two-pass median workflow like {@link #scan()}, holding {@code timingLock} for
+   * exactly the timed section (both passes). Scanners that run concurrently on different threads
+   * and share one lock still time their sorts in isolation, while the untimed setup (creating or
+   * reloading the sorter) overlaps.
+   *
+   * @param timingLock lock held while timing, or {@code null} to time without locking
+   */
+  public void scan(Lock timingLock) {
+    // JFR phase events (and their allocation/GC accounting) only when a recording wants them
+    boolean record = ScanPhaseEvent.recording();
+    int n = data.size();
+
+    // Reuse the sorter (and its scratch buffers) from earlier scans when there is one
+    ScanPhaseEvent phase = record ? ScanPhaseEvent.start(sortingAlgorithm, ScanPhaseEvent.COPY, n) : null;
+    if (sorter == null) {
+      sorter = createSorter(sortingAlgorithm, data);
+    } else {
+      sorter.load(data);
+    }
+    sorter.setSpecialized(specialized);
+    sorter.resetCounters();
+    if (record) {
+      phase.finish();
+    }
+
+    if (timingLock != null) {
+      timingLock.lock();
+    }
+    try {
+      // Each phase is timed inside its JFR event, so the events' own cost (MXBean reads, GC
+      // polling) stays out of scanTime
+
+      // Pass 1: GPA desc (tie → credits desc)
+      sorter.setComparator(0);
+      phase = record ? ScanPhaseEvent.start(sortingAlgorithm, ScanPhaseEvent.PASS_0, n) : null;
+      long start = System.nanoTime();
+      sorter.sort();
+      Student mid0 = sorter.getMedian();
+      long elapsed = System.nanoTime() - start;
+      if (record) {
+        phase.finish();
+      }
+
+      // Pass 2: credits asc (tie → GPA desc)
+      phase = record ? ScanPhaseEvent.start(sortingAlgorithm, ScanPhaseEvent.PASS_1, n) : null;
+      start = System.nanoTime();
+      sorter.setComparator(1);
+      sorter.sort();
+      elapsed += System.nanoTime() - start;
+      if (record) {
+        phase.finish();
+      }
+
+      // Median GPA from pass 1's median element, median credits from pass 2's
+      phase = record ? ScanPhaseEvent.start(sortingAlgorithm, ScanPhaseEvent.MEDIAN, n) : null;
+      start = System.nanoTime();
+      Student mid1 = sorter.getMedian();
+      this.medianGpa = (mid0 == null) ? 0.0 : mid0.getGpa();
+      this.medianCredits = (mid1 == null) ? 0 : mid1.getCreditsTaken();
+      this.scanned = true;
+      this.medianStudent = null;
+      elapsed += System.nanoTime() - start;
+      if (record) {
+        phase.finish();
+      }
+
+      // Total elapsed time for both passes and the median extraction
+      this.scanTime = elapsed;
+    } finally {
+      this.comparisons = sorter.getComparisons();
+      this.swaps = sorter.getSwaps();
+      this.writes = sorter.getWrites();
+      if (timingLock != null) {
+        timingLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Creates the concrete sorter for {@code algo} over a reference copy of {@code students}.
+   * Used by the JMH benchmarks so they exercise the same sorters as {@link #scan()}.
+   *
+   * @param algo algorithm to instantiate
+   * @param students input records
+   * @return a new, unsorted sorter instance
+   * @throws IllegalArgumentException if {@code algo} is not a known algorithm
+   */
+  static AbstractSorter createSorter(Algorithm algo, Student[] students) {
+    return createSorter(algo, new StudentDataset(students));
+  }
+
+  /**
+   * Creates the concrete sorter for {@code algo} over the shared {@code data}.
+   *
+   * @param algo algorithm to instantiate
+   * @param data input dataset handed to the sorter constructor
+   * @return a new, unsorted sorter instance
+   * @throws IllegalArgumentException if {@code algo} is not a known algorithm
+   */
+  static AbstractSorter createSorter(Algorithm algo, StudentDataset data) {
+    switch (algo) {
       case SelectionSort:
-        sorter = new SelectionSorter(students);
-        break;
+        return new SelectionSorter(data);
       case InsertionSort:
-        sorter = new InsertionSorter(students);
-        break;
+        return new InsertionSorter(data);
       case MergeSort:
-        sorter = new MergeSorter(students);
-        break;
+        return new MergeSorter(data);
+      case TimSort:
+        return new TimSorter(data);
       case QuickSort:
-        sorter = new QuickSorter(students);
-        break;
+        return new QuickSorter(data);
+      case IntroSort:
+        QuickSorter intro = new QuickSorter(data);
+        intro.setIntrosort(true);
+        return intro;
+      case RadixSort:
+        return new RadixSorter(data);
+      case CountingSort:
+        return new CountingSorter(data);
+      case MedianSelect:
+        return new MedianSelector(data);
+      case ParallelMergeSort:
+        return new ParallelMergeSorter(data);
+      case ParallelQuickSort:
+        return new ParallelQuickSorter(data);
+      case AutoSort:
+        return new AutoSorter(data);
       default:
         throw new IllegalArgumentException();
     }
-    // Pass 1: GPA desc (tie → credits desc)
-    sorter.setComparator(0);
-    long start = System.nanoTime();
-    sorter.sort();
-    Student mid0 = sorter.getMedian();
-    double medianGpa = (mid0 == null) ? 0.0 : mid0.getGpa();
-
-    // Pass 2: credits asc (tie → GPA desc)
-    sorter.setComparator(1);
-    sorter.sort();
-    Student mid1 = sorter.getMedian();
-    int medianCredits = (mid1 == null) ? 0 : mid1.getCreditsTaken();
-    this.medianStudent = new Student(medianGpa, medianCredits);
-
-    // Total elapsed time for both passes
-    this.scanTime = System.nanoTime() - start;
   }
 
   /**
@@ -117,11 +305,62 @@ public class StudentScanner {
    * <pre>{@code
    * algorithm size time (ns)
    * }</pre>
+   * followed, when {@link AbstractSorter#INSTRUMENT} is set, by the comparison, swap and write
+   * counts of the scan.
    *
    * @return formatted stats row with algorithm name, data size, and total time in nanoseconds
    */
   public String stats() {
-    return String.format("%-15s %-5d %-10d", sortingAlgorithm, students.length, scanTime);
+    String row = String.format("%-15s %-5d %-10d", sortingAlgorithm, data.size(), scanTime);
+    if (AbstractSorter.INSTRUMENT) {
+      row += String.format(" %14d %14d %14d", comparisons, swaps, writes);
+    }
+    return row;
+  }
+
+  /**
+   * Returns the comparator invocations of the last {@link #scan()}, over both passes.
+   *
+   * @return comparison count, or 0 if {@link AbstractSorter#INSTRUMENT} is not set
+   */
+  public long getComparisons() {
+    return comparisons;
+  }
+
+  /**
+   * Returns the swaps of the last {@link #scan()}, over both passes.
+   *
+   * @return swap count, or 0 if {@link AbstractSorter#INSTRUMENT} is not set
+   */
+  public long getSwaps() {
+    return swaps;
+  }
+
+  /**
+   * Returns the element writes of the last {@link #scan()}, over both passes.
+   *
+   * @return write count, or 0 if {@link AbstractSorter#INSTRUMENT} is not set
+   */
+  public long getWrites() {
+    return writes;
+  }
+
+  /**
+   * Returns the algorithm this scanner evaluates.
+   *
+   * @return the sorting algorithm under test
+   */
+  public Algorithm getAlgorithm() {
+    return sortingAlgorithm;
+  }
+
+  /**
+   * Returns the total time of the last {@link #scan()} in nanoseconds.
+   *
+   * @return elapsed time for both sorting passes, or 0 if {@link #scan()} has not been called
+   */
+  public long getScanTime() {
+    return scanTime;
   }
 
   /**
@@ -130,9 +369,30 @@ public class StudentScanner {
    * @return the median student; may be {@code null} if {@link #scan()} has not been called
    */
   public Student getMedianStudent() {
+    if (medianStudent == null && scanned) {
+      medianStudent = new Student(medianGpa, medianCredits);
+    }
     return medianStudent;
   }
 
+  /**
+   * Returns the median GPA of the last {@link #scan()} without allocating.
+   *
+   * @return median GPA from pass 1, or 0.0 if {@link #scan()} has not been called
+   */
+  public double getMedianGpa() {
+    return medianGpa;
+  }
+
+  /**
+   * Returns the median credits of the last {@link #scan()} without allocating.
+   *
+   * @return median credits from pass 2, or 0 if {@link #scan()} has not been called
+   */
+  public int getMedianCredits() {
+    return medianCredits;
+  }
+
   /**
    * Returns a human-readable description of the computed median profile.
    *
@@ -140,6 +400,7 @@ public class StudentScanner {
    */
   @Override
   public String toString() {
-    return (medianStudent == null) ? "Median Student: <not computed>" : "Median Student: " + medianStudent.toString();
+    Student median = getMedianStudent();
+    return (median == null) ? "Median Student: <not computed>" : "Median Student: " + median.toString();
   }
 }
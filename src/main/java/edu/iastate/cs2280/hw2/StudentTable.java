@@ -0,0 +1,206 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code StudentTable} class is a columnar, primitive-backed view of a student dataset.
+ *
+ * <p>Instead of one heap object per student, the table stores every GPA in a single
+ * {@code double[]} and every credit count in a single {@code int[]}. Row {@code i} of the table
+ * corresponds to {@code students[i]} of the array it was built from. At large sizes this needs
+ * about 12 bytes per record instead of roughly 28 for a {@code Student[]} (reference plus object
+ * header and fields), and comparisons read two adjacent primitive arrays instead of chasing two
+ * object references.</p>
+ *
+ * <p><b>Sorting:</b> {@link #sort(Algorithm, int)} runs one of the four assignment algorithms
+ * against the columns and returns a permutation: {@code perm[k]} is the row that belongs at
+ * position {@code k} in sorted order. The table itself is never reordered, so several orders can
+ * be computed from the same table.</p>
+ *
+ * <pre>{@code
+ * StudentTable table = new StudentTable(students);
+ * int[] byGpa = table.sort(Algorithm.QuickSort, 0);
+ * Student median = table.getMedian(byGpa);
+ * }</pre>
+ *
+ * @see IndexComparator
+ * @see StudentColumns
+ * @see AbstractSorter#setComparator(int)
+ * @author Kaleb
+ */
+public final class StudentTable implements StudentColumns {
+
+  // GPA column; gpa[i] belongs to row i
+  private final double[] gpa;
+
+  // Credits column; credits[i] belongs to row i
+  private final int[] credits;
+
+  /**
+   * Builds a table holding the GPA and credits of each student, in array order.
+   *
+   * @param students input dataset; may be empty but must not be {@code null} or contain nulls
+   * @throws IllegalArgumentException if {@code students} is {@code null} or contains a {@code null}
+   */
+  public StudentTable(Student[] students) {
+    if (students == null) {
+      throw new IllegalArgumentException("students must be non-null");
+    }
+    this.gpa = new double[students.length];
+    this.credits = new int[students.length];
+    for (int i = 0; i < students.length; i++) {
+      if (students[i] == null) {
+        throw new IllegalArgumentException();
+      }
+      gpa[i] = students[i].getGpa();
+      credits[i] = students[i].getCreditsTaken();
+    }
+  }
+
+  /**
+   * Builds a table directly from existing columns. The arrays are adopted, not copied, so the
+   * caller must not modify them afterwards.
+   *
+   * @param gpa GPA column; every value must be in [0.00, 4.00]
+   * @param credits credits column; every value must be non-negative
+   * @throws IllegalArgumentException if either column is {@code null}, the lengths differ, or a
+   *                                  value is out of the range accepted by {@link Student}
+   */
+  public StudentTable(double[] gpa, int[] credits) {
+    if (gpa == null || credits == null || gpa.length != credits.length) {
+      throw new IllegalArgumentException("columns must be non-null and of equal length");
+    }
+    for (int i = 0; i < gpa.length; i++) {
+      if (gpa[i] < 0.0 || gpa[i] > 4.0 || credits[i] < 0) {
+        throw new IllegalArgumentException();
+      }
+    }
+    this.gpa = gpa;
+    this.credits = credits;
+  }
+
+  /**
+   * Returns the number of rows in the table.
+   *
+   * @return row count
+   */
+  @Override
+  public int size() {
+    return gpa.length;
+  }
+
+  /**
+   * Returns the GPA stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the GPA of row {@code i}
+   */
+  @Override
+  public double getGpa(int i) {
+    return gpa[i];
+  }
+
+  /**
+   * Returns the credits stored in row {@code i}.
+   *
+   * @param i row index
+   * @return the credits of row {@code i}
+   */
+  @Override
+  public int getCreditsTaken(int i) {
+    return credits[i];
+  }
+
+  /**
+   * Materializes row {@code i} as a {@link Student}.
+   *
+   * @param i row index
+   * @return a new student with the row's GPA and credits
+   */
+  @Override
+  public Student get(int i) {
+    return new Student(gpa[i], credits[i]);
+  }
+
+  /**
+   * Returns an index comparator implementing the assignment's two orders over this table's
+   * columns; it agrees exactly with {@link AbstractSorter#setComparator(int)}.
+   *
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return comparator over row indices
+   * @throws IllegalArgumentException if {@code order} is not 0 or 1
+   */
+  IndexComparator comparator(int order) {
+    // Capture the columns locally so the lambdas read plain arrays
+    final double[] g = gpa;
+    final int[] c = credits;
+    if (order == 0) {
+      // Order 0: GPA desc, then credits desc
+      return (i, j) -> {
+        int r = Double.compare(g[j], g[i]);
+        if (r != 0) return r;
+        return Integer.compare(c[j], c[i]);
+      };
+    } else if (order == 1) {
+      // Order 1: credits asc, then GPA desc
+      return (i, j) -> {
+        int r = Integer.compare(c[i], c[j]);
+        if (r != 0) return r;
+        return Double.compare(g[j], g[i]);
+      };
+    } else {
+      throw new IllegalArgumentException("order must be 0 or 1");
+    }
+  }
+
+  /**
+   * Sorts the rows of this table with the given algorithm and order, without moving any data.
+   *
+   * @param algo one of {@link Algorithm#SelectionSort}, {@link Algorithm#InsertionSort},
+   *             {@link Algorithm#MergeSort} or {@link Algorithm#QuickSort}
+   * @param order 0 for GPA-first order; 1 for Credits-first order
+   * @return permutation whose {@code k}-th entry is the row at sorted position {@code k}
+   * @throws IllegalArgumentException if {@code algo} is {@code null} or has no index-based
+   *                                  implementation, or if {@code order} is not 0 or 1
+   */
+  public int[] sort(Algorithm algo, int order) {
+    if (algo == null) {
+      throw new IllegalArgumentException();
+    }
+    return sortIndices(gpa.length, algo, comparator(order));
+  }
+
+  /**
+   * Sorts the row indices {@code 0..n-1} with one of the index-based algorithm kernels. Shared
+   * by every {@link StudentColumns} implementation.
+   *
+   * @param n number of rows
+   * @param algo one of {@link Algorithm#SelectionSort}, {@link Algorithm#InsertionSort},
+   *             {@link Algorithm#MergeSort} or {@link Algorithm#QuickSort}
+   * @param cmp comparator over row indices
+   * @return permutation whose {@code k}-th entry is the row at sorted position {@code k}
+   * @throws IllegalArgumentException if {@code algo} has no index-based implementation
+   */
+  static int[] sortIndices(int n, Algorithm algo, IndexComparator cmp) {
+    int[] perm = new int[n];
+    for (int i = 0; i < perm.length; i++) {
+      perm[i] = i;
+    }
+
+    switch (algo) {
+      case SelectionSort:
+        SelectionSorter.sortIndices(perm, cmp);
+        break;
+      case InsertionSort:
+        InsertionSorter.sortIndices(perm, cmp);
+        break;
+      case MergeSort:
+        MergeSorter.sortIndices(perm, cmp);
+        break;
+      case QuickSort:
+        QuickSorter.sortIndices(perm, cmp);
+        break;
+      default:
+        throw new IllegalArgumentException(algo + " does not support index sorting");
+    }
+    return perm;
+  }
+}
@@ -0,0 +1,510 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code TimSorter} class extends {@link AbstractSorter} and implements an adaptive,
+ * <b>TimSort-style natural merge sort</b> for arrays of {@link Student} objects.
+ *
+ * <p><b>How it works:</b> Unlike {@link MergeSorter}, which always splits at the midpoint, this
+ * sorter scans the array for <em>natural runs</em>: maximal ascending stretches, or strictly
+ * descending stretches which are reversed in place. Runs shorter than a computed minimum length
+ * (16–32) are extended with binary insertion sort. Runs are pushed on a stack and merged
+ * whenever the stack would violate TimSort's length invariants, which keeps merges balanced.
+ * Before each merge, galloping (exponential then binary search) trims the prefix of the left run
+ * and the suffix of the right run that are already in place; during the merge, when one run
+ * keeps winning, the merge switches to galloping to copy whole blocks at once.</p>
+ *
+ * <p><b>Adaptivity:</b> An already-sorted array is a single run and costs {@code n - 1}
+ * comparisons. That is exactly the situation in the second pass of
+ * {@link StudentScanner#scan()} for inputs whose order-0 and order-1 orders largely agree, and
+ * nearly-sorted inputs stay close to linear as well.</p>
+ *
+ * <p><b>Stability:</b> This implementation is stable: only strictly descending runs are
+ * reversed, and merges always prefer the left run on ties.</p>
+ *
+ * <p><b>Complexity:</b> {@code O(n)} best case, {@code O(n log n)} worst case; auxiliary space
+ * at most {@code O(n)}.</p>
+ *
+ * @author Kaleb
+ * @see MergeSorter
+ * @see Algorithm#TimSort
+ */
+public class TimSorter extends AbstractSorter {
+
+    /** Arrays shorter than this are sorted with a single binary insertion sort. */
+    private static final int MIN_MERGE = 32;
+
+    /** Consecutive wins by one run before a merge switches to galloping. */
+    private static final int MIN_GALLOP = 7;
+
+    /** Adaptive galloping threshold, tuned during merges. */
+    private int minGallop = MIN_GALLOP;
+
+    /** Merge buffer holding a copy of the left run; grown on demand. */
+    private Student[] tmp = new Student[0];
+
+    /** Stack of pending runs: start index and length of each (49 suffices for any int length). */
+    private final int[] runBase = new int[49];
+    private final int[] runLen = new int[49];
+    private int stackSize;
+
+    /**
+     * Constructs a {@code TimSorter} that operates on a deep copy of the provided
+     * {@link Student} array.
+     *
+     * @param students the array of students to be sorted
+     * @throws IllegalArgumentException if {@code students} is {@code null}
+     */
+    public TimSorter(Student[] students) {
+        super(students);
+        this.algorithm = Algorithm.TimSort.name();
+    }
+
+    /**
+     * Constructs a {@code TimSorter} over the shared {@code data}, copying only references.
+     *
+     * @param data the dataset to be sorted
+     * @throws IllegalArgumentException if {@code data} is {@code null}
+     */
+    public TimSorter(StudentDataset data) {
+        super(data);
+        this.algorithm = Algorithm.TimSort.name();
+    }
+
+    /**
+     * Sorts the internal array by detecting and merging natural runs.
+     */
+    @Override
+    public void sort() {
+        int n = students.length;
+        if (n < 2) {
+            return;
+        }
+        if (n < MIN_MERGE) {
+            int initRunLen = countRunAndMakeAscending(0, n);
+            binaryInsertionSort(0, n, initRunLen);
+            return;
+        }
+
+        minGallop = MIN_GALLOP;
+        stackSize = 0;
+
+        int minRun = minRunLength(n);
+        int lo = 0;
+        int remaining = n;
+        do {
+            int len = countRunAndMakeAscending(lo, n);
+            if (len < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(lo, lo + force, lo + len);
+                len = force;
+            }
+
+            runBase[stackSize] = lo;
+            runLen[stackSize] = len;
+            stackSize++;
+            mergeCollapse();
+
+            lo += len;
+            remaining -= len;
+        } while (remaining != 0);
+
+        mergeForceCollapse();
+    }
+
+    /**
+     * Merges runs that the caller has already found and made ascending, skipping the run scan of
+     * {@link #sort()}; used by {@link AutoSorter}, whose own scan has just compared every
+     * adjacent pair. Runs are pushed as given, without being extended to the minimum run length,
+     * so this is meant for a few long runs.
+     *
+     * @param runEnds exclusive end of each run, ascending; the last one is the array length
+     * @param runs    number of runs in {@code runEnds}
+     */
+    void mergeRuns(int[] runEnds, int runs) {
+        minGallop = MIN_GALLOP;
+        stackSize = 0;
+        int lo = 0;
+        for (int r = 0; r < runs; r++) {
+            runBase[stackSize] = lo;
+            runLen[stackSize] = runEnds[r] - lo;
+            stackSize++;
+            mergeCollapse();
+            lo = runEnds[r];
+        }
+        mergeForceCollapse();
+    }
+
+    /**
+     * Returns the minimum run length for an array of length {@code n}: {@code n} itself if it is
+     * small, otherwise a value in [16, 32] such that {@code n / minRun} is close to, but not
+     * more than, a power of two.
+     *
+     * @param n array length
+     * @return minimum run length
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Returns the length of the run starting at {@code lo}, reversing it first if it is strictly
+     * descending (strictly, so that reversing never reorders equal elements).
+     *
+     * @param lo start of the run
+     * @param hi end of the array (exclusive)
+     * @return length of the (now ascending) run
+     */
+    private int countRunAndMakeAscending(int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+
+        if (studentComparator.compare(students[runHi++], students[lo]) < 0) {
+            while (runHi < hi && studentComparator.compare(students[runHi], students[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                swap(i, j);
+            }
+        } else {
+            while (runHi < hi && studentComparator.compare(students[runHi], students[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * Sorts {@code students[lo, hi)} given that {@code students[lo, start)} is already sorted,
+     * inserting each further element after any equal elements found by binary search.
+     *
+     * @param lo    start of the range
+     * @param hi    end of the range (exclusive)
+     * @param start first element not yet known to be in order
+     */
+    private void binaryInsertionSort(int lo, int hi, int start) {
+        if (start == lo) {
+            start++;
+        }
+        for (; start < hi; start++) {
+            Student pivot = students[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (studentComparator.compare(pivot, students[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(students, left, students, left + 1, start - left);
+            students[left] = pivot;
+            countWrites(start - left + 1);
+        }
+    }
+
+    /**
+     * Merges runs on the stack until the invariants
+     * {@code runLen[i-2] > runLen[i-1] + runLen[i]} and {@code runLen[i-1] > runLen[i]} hold for
+     * the top of the stack.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges all remaining runs into one.
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges stack runs {@code i} and {@code i + 1}, first trimming the parts of each that are
+     * already in their final position.
+     *
+     * @param i stack index of the left run
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // Elements of run1 not greater than run2's first element are already in place
+        int k = gallopRight(students[base2], students, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+
+        // Elements of run2 not less than run1's last element are already in place
+        len2 = gallopLeft(students[base1 + len1 - 1], students, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+
+        mergeLo(base1, len1, base2, len2);
+    }
+
+    /**
+     * Returns the lower-bound position of {@code key} in the sorted range
+     * {@code a[base, base + len)}: the number of elements strictly less than {@code key}.
+     * The search gallops outward from {@code hint} before finishing with a binary search.
+     *
+     * @param key  value to locate
+     * @param a    sorted array
+     * @param base start of the range
+     * @param len  length of the range
+     * @param hint index within the range to start galloping from
+     * @return {@code k} in [0, len] such that {@code a[base + k - 1] < key <= a[base + k]}
+     */
+    private int gallopLeft(Student key, Student[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (studentComparator.compare(key, a[base + hint]) > 0) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && studentComparator.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && studentComparator.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        }
+
+        // a[base + lastOfs] < key <= a[base + ofs]; binary search the gap
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (studentComparator.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Returns the upper-bound position of {@code key} in the sorted range
+     * {@code a[base, base + len)}: the number of elements less than or equal to {@code key}.
+     * The search gallops outward from {@code hint} before finishing with a binary search.
+     *
+     * @param key  value to locate
+     * @param a    sorted array
+     * @param base start of the range
+     * @param len  length of the range
+     * @param hint index within the range to start galloping from
+     * @return {@code k} in [0, len] such that {@code a[base + k - 1] <= key < a[base + k]}
+     */
+    private int gallopRight(Student key, Student[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (studentComparator.compare(key, a[base + hint]) < 0) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && studentComparator.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && studentComparator.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        }
+
+        // a[base + lastOfs] <= key < a[base + ofs]; binary search the gap
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (studentComparator.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Stably merges the adjacent runs {@code students[base1, base1 + len1)} and
+     * {@code students[base2, base2 + len2)}, copying the left run to {@link #tmp}. Requires that
+     * the first element of run 2 precedes the first element of run 1 and that the last element of
+     * run 1 follows every element of run 2 (guaranteed by the trimming in {@link #mergeAt(int)}).
+     *
+     * @param base1 start of the left run
+     * @param len1  length of the left run
+     * @param base2 start of the right run ({@code base1 + len1})
+     * @param len2  length of the right run
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        Student[] a = students;
+        if (tmp.length < len1) {
+            tmp = new Student[Math.max(len1, Math.min(a.length, tmp.length * 2))];
+        }
+        Student[] t = tmp;
+        System.arraycopy(a, base1, t, 0, len1);
+        // The left run is copied out once, then every slot of both runs is written exactly once
+        countWrites(2L * len1 + len2);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(t, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = t[cursor1];
+            return;
+        }
+
+        int gallopThreshold = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0; // consecutive wins by run 1
+            int count2 = 0; // consecutive wins by run 2
+
+            // One element at a time until one run starts winning consistently
+            do {
+                if (studentComparator.compare(a[cursor2], t[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = t[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallopThreshold);
+
+            // Galloping mode: copy whole blocks while it keeps paying off
+            do {
+                count1 = gallopRight(a[cursor2], t, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(t, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft(t[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = t[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                gallopThreshold--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (gallopThreshold < 0) {
+                gallopThreshold = 0;
+            }
+            gallopThreshold += 2; // penalize leaving galloping mode
+        }
+        this.minGallop = Math.max(1, gallopThreshold);
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = t[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("Comparator violates its general contract");
+        } else {
+            System.arraycopy(t, cursor1, a, dest, len1);
+        }
+    }
+}
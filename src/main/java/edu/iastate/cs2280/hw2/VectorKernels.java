@@ -0,0 +1,189 @@
+package edu.iastate.cs2280.hw2;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementations behind {@link VectorKeys}, written with the incubating
+ * {@code jdk.incubator.vector} API over the platform's preferred {@code long} vector shape.
+ *
+ * <p>This is the only class that refers to the incubator module. It must not be loaded unless
+ * {@link VectorKeys#AVAILABLE} has confirmed that the module is present; call its methods only
+ * through {@link VectorKeys}. Every method processes whole vectors and finishes the remaining
+ * tail of fewer than {@link #LANES} elements with scalar code.</p>
+ *
+ * @see VectorKeys
+ * @author Kaleb
+ */
+final class VectorKernels {
+
+  private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+  /** Number of {@code long} lanes per vector. */
+  static final int LANES = SPECIES.length();
+
+  private VectorKernels() {
+  }
+
+  /**
+   * Returns the number of {@code long} lanes per vector.
+   *
+   * @return lanes of the preferred species
+   */
+  static int lanes() {
+    return LANES;
+  }
+
+  /**
+   * See {@link VectorKeys#minMax(long[], int, int, long[])}.
+   */
+  static void minMax(long[] a, int from, int to, long[] out) {
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    int i = from;
+    int bound = from + SPECIES.loopBound(to - from);
+    if (i < bound) {
+      LongVector vmin = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+      LongVector vmax = LongVector.broadcast(SPECIES, Long.MIN_VALUE);
+      for (; i < bound; i += LANES) {
+        LongVector v = LongVector.fromArray(SPECIES, a, i);
+        vmin = vmin.min(v);
+        vmax = vmax.max(v);
+      }
+      min = vmin.reduceLanes(VectorOperators.MIN);
+      max = vmax.reduceLanes(VectorOperators.MAX);
+    }
+    for (; i < to; i++) {
+      min = Math.min(min, a[i]);
+      max = Math.max(max, a[i]);
+    }
+    out[0] = min;
+    out[1] = max;
+  }
+
+  /**
+   * See {@link VectorKeys#differingBits(long[], int, int)}.
+   */
+  static long differingBits(long[] a, int from, int to) {
+    long first = a[from];
+    long diff = 0;
+    int i = from;
+    int bound = from + SPECIES.loopBound(to - from);
+    if (i < bound) {
+      LongVector f = LongVector.broadcast(SPECIES, first);
+      LongVector acc = LongVector.zero(SPECIES);
+      for (; i < bound; i += LANES) {
+        acc = acc.or(LongVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.XOR, f));
+      }
+      diff = acc.reduceLanes(VectorOperators.OR);
+    }
+    for (; i < to; i++) {
+      diff |= a[i] ^ first;
+    }
+    return diff;
+  }
+
+  /**
+   * See {@link VectorKeys#partition(long[], int, int, long, long[])}. Each vector is split with
+   * one comparison mask: the lanes below the pivot are compressed to the front of {@code a}
+   * (never past the vector just read, so no unread element is overwritten), the others are
+   * compressed into {@code scratch} and copied back behind them at the end.
+   */
+  static int partition(long[] a, int from, int to, long pivot, long[] scratch) {
+    LongVector p = LongVector.broadcast(SPECIES, pivot);
+    int lt = from;
+    int ge = 0;
+    int i = from;
+    int bound = from + SPECIES.loopBound(to - from);
+    for (; i < bound; i += LANES) {
+      LongVector v = LongVector.fromArray(SPECIES, a, i);
+      VectorMask<Long> less = v.compare(VectorOperators.LT, p);
+      int c = less.trueCount();
+      v.compress(less).intoArray(a, lt);
+      v.compress(less.not()).intoArray(scratch, ge);
+      lt += c;
+      ge += LANES - c;
+    }
+    for (; i < to; i++) {
+      long x = a[i];
+      if (x < pivot) {
+        a[lt++] = x;
+      } else {
+        scratch[ge++] = x;
+      }
+    }
+    System.arraycopy(scratch, 0, a, lt, ge);
+    return lt;
+  }
+
+  /**
+   * See {@link VectorKeys#mergeBlocks(long[], int, int, int, long[], int)}. Merge by rank: an
+   * element's output position is its index in its own block plus the number of elements of the
+   * other block that precede it, and that count is one vector comparison per {@link #LANES}
+   * elements of the other block. The two counting helpers differ only in their comparison, so
+   * that each operator is a constant C2 can intrinsify, and they finish the tail with scalar code
+   * rather than masked loads, which take a slow path near the end of an array; either mistake
+   * made this merge slower than a scalar one.
+   */
+  static void mergeBlocks(long[] src, int lo, int mid, int hi, long[] dst, int dstPos) {
+    for (int i = lo; i < mid; i++) {
+      long x = src[i];
+      dst[dstPos + (i - lo) + countLess(src, mid, hi, x)] = x;
+    }
+    for (int j = mid; j < hi; j++) {
+      long y = src[j];
+      // Equal elements of the left block come first, as in a stable merge
+      dst[dstPos + (j - mid) + countLessOrEqual(src, lo, mid, y)] = y;
+    }
+  }
+
+  /**
+   * Counts the elements of {@code a[from..to)} less than {@code x}.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive)
+   * @param x value to rank
+   * @return number of smaller elements
+   */
+  private static int countLess(long[] a, int from, int to, long x) {
+    LongVector vx = LongVector.broadcast(SPECIES, x);
+    int n = 0;
+    int k = from;
+    for (; k + LANES <= to; k += LANES) {
+      n += LongVector.fromArray(SPECIES, a, k).compare(VectorOperators.LT, vx).trueCount();
+    }
+    for (; k < to; k++) {
+      if (a[k] < x) {
+        n++;
+      }
+    }
+    return n;
+  }
+
+  /**
+   * Counts the elements of {@code a[from..to)} less than or equal to {@code x}.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive)
+   * @param x value to rank
+   * @return number of elements not greater than {@code x}
+   */
+  private static int countLessOrEqual(long[] a, int from, int to, long x) {
+    LongVector vx = LongVector.broadcast(SPECIES, x);
+    int n = 0;
+    int k = from;
+    for (; k + LANES <= to; k += LANES) {
+      n += LongVector.fromArray(SPECIES, a, k).compare(VectorOperators.LE, vx).trueCount();
+    }
+    for (; k < to; k++) {
+      if (a[k] <= x) {
+        n++;
+      }
+    }
+    return n;
+  }
+}
@@ -0,0 +1,291 @@
+package edu.iastate.cs2280.hw2;
+
+/**
+ * The {@code VectorKeys} class provides the SIMD kernels of the vectorized sort paths: scans,
+ * partitioning, block merges and selection over primitive key columns such as compiled
+ * {@link SortSpec} keys or the packed keys of {@link SortKeys}.
+ *
+ * <p><b>Availability:</b> the kernels use the incubating {@code jdk.incubator.vector} API, which
+ * is only resolved when the JVM is started with {@code --add-modules jdk.incubator.vector} (the
+ * Maven build passes it to the compiler, to Surefire and to the JMH forks). {@link #AVAILABLE}
+ * is {@code true} when the module is present and its preferred {@code long} vector has at least
+ * {@link #MIN_LANES} lanes. Otherwise every method here runs an equivalent scalar loop, so
+ * callers always get the same result and only the speed differs.</p>
+ *
+ * <p>The sorters use these kernels when vectorization is enabled with
+ * {@link AbstractSorter#setVectorized(boolean)}:</p>
+ * <ul>
+ *   <li>{@link QuickSorter}: {@link #partition} for each partition step over compiled keys, and
+ *       {@link #sortSmall} for short ranges;</li>
+ *   <li>{@link RadixSorter} (and {@link CountingSorter}'s radix fallback):
+ *       {@link #differingBits} to skip constant bytes.</li>
+ * </ul>
+ *
+ * <p>There is deliberately no vector histogram: extracting each pass's digits a vector at a time
+ * still leaves one scalar counter increment per key, and measured about 1.5 times slower than
+ * the plain counting loop. {@link #minMax} and {@link #select} are standalone kernels over key
+ * columns: the sorters already get their key range while packing keys, and {@link MedianSelector}
+ * stays scalar because compiling the keys and moving every student to match costs more than
+ * selecting on the students directly.</p>
+ *
+ * @see VectorKernels
+ * @see AbstractSorter#setVectorized(boolean)
+ * @author Kaleb
+ */
+public final class VectorKeys {
+
+  /** Fewest lanes for which the SIMD kernels are used; narrower vectors fall back to scalar. */
+  public static final int MIN_LANES = 4;
+
+  /** Whether the SIMD kernels are used on this JVM. */
+  public static final boolean AVAILABLE = probe();
+
+  /** Ranges up to this length are sorted by {@link #sortSmall} instead of being partitioned. */
+  public static final int SMALL_SORT = 32;
+
+  /** Blocks merged by rank are at most this long together; longer merges are scalar. */
+  static final int RANK_MERGE_MAX = 64;
+
+  // Length of the insertion-sorted blocks that sortSmall merges
+  private static final int BLOCK = 8;
+
+  private VectorKeys() {
+  }
+
+  /**
+   * Checks for the incubator module before touching {@link VectorKernels}, so the class is
+   * never loaded when its API classes cannot be resolved.
+   *
+   * @return {@code true} if the SIMD kernels can be used
+   */
+  private static boolean probe() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return false;
+    }
+    try {
+      return VectorKernels.lanes() >= MIN_LANES;
+    } catch (LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of {@code long} lanes the kernels process at once.
+   *
+   * @return lanes per vector, or 1 if the scalar fallback is in use
+   */
+  public static int lanes() {
+    return AVAILABLE ? VectorKernels.lanes() : 1;
+  }
+
+  /**
+   * Returns the scratch length needed by {@link #partition}, {@link #sortSmall} and
+   * {@link #select} for ranges of up to {@code n} keys.
+   *
+   * @param n largest range length
+   * @return required scratch length
+   */
+  public static int scratchLength(int n) {
+    return n + lanes();
+  }
+
+  /**
+   * Finds the smallest and largest key in {@code a[from..to)}.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive), greater than {@code from}
+   * @param out receives the minimum in {@code out[0]} and the maximum in {@code out[1]}
+   * @throws IllegalArgumentException if the range is empty
+   */
+  public static void minMax(long[] a, int from, int to, long[] out) {
+    if (from >= to) {
+      throw new IllegalArgumentException("range must not be empty");
+    }
+    if (AVAILABLE) {
+      VectorKernels.minMax(a, from, to, out);
+      return;
+    }
+    long min = a[from];
+    long max = a[from];
+    for (int i = from + 1; i < to; i++) {
+      min = Math.min(min, a[i]);
+      max = Math.max(max, a[i]);
+    }
+    out[0] = min;
+    out[1] = max;
+  }
+
+  /**
+   * Returns the bits in which some key of {@code a[from..to)} differs from {@code a[from]}; a
+   * byte that is zero in the result is the same in every key.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive), greater than {@code from}
+   * @return OR of {@code a[i] ^ a[from]} over the range
+   * @throws IllegalArgumentException if the range is empty
+   */
+  public static long differingBits(long[] a, int from, int to) {
+    if (from >= to) {
+      throw new IllegalArgumentException("range must not be empty");
+    }
+    if (AVAILABLE) {
+      return VectorKernels.differingBits(a, from, to);
+    }
+    long diff = 0;
+    for (int i = from + 1; i < to; i++) {
+      diff |= a[i] ^ a[from];
+    }
+    return diff;
+  }
+
+  /**
+   * Partitions {@code a[from..to)} so that all keys less than {@code pivot} come first, each
+   * side keeping the relative order of its keys.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive)
+   * @param pivot partitioning value
+   * @param scratch at least {@link #scratchLength(int) scratchLength(to - from)} long
+   * @return index of the first key not less than {@code pivot}
+   */
+  public static int partition(long[] a, int from, int to, long pivot, long[] scratch) {
+    if (AVAILABLE) {
+      return VectorKernels.partition(a, from, to, pivot, scratch);
+    }
+    int lt = from;
+    int ge = 0;
+    for (int i = from; i < to; i++) {
+      long x = a[i];
+      if (x < pivot) {
+        a[lt++] = x;
+      } else {
+        scratch[ge++] = x;
+      }
+    }
+    System.arraycopy(scratch, 0, a, lt, ge);
+    return lt;
+  }
+
+  /**
+   * Stably merges the sorted blocks {@code src[lo..mid)} and {@code src[mid..hi)} into
+   * {@code dst} starting at {@code dstPos}. Blocks of at most {@link #RANK_MERGE_MAX} keys in
+   * total are merged by rank with vector comparisons; longer ones with a scalar merge.
+   *
+   * @param src source keys
+   * @param lo start of the left block
+   * @param mid start of the right block
+   * @param hi end of the right block (exclusive)
+   * @param dst destination, distinct from {@code src}
+   * @param dstPos first destination index
+   */
+  public static void mergeBlocks(long[] src, int lo, int mid, int hi, long[] dst, int dstPos) {
+    if (AVAILABLE && hi - lo <= RANK_MERGE_MAX) {
+      VectorKernels.mergeBlocks(src, lo, mid, hi, dst, dstPos);
+      return;
+    }
+    int i = lo;
+    int j = mid;
+    int k = dstPos;
+    while (i < mid && j < hi) {
+      dst[k++] = (src[j] < src[i]) ? src[j++] : src[i++];
+    }
+    System.arraycopy(src, i, dst, k, mid - i);
+    System.arraycopy(src, j, dst, k + mid - i, hi - j);
+  }
+
+  /**
+   * Sorts {@code a[from..to)}: blocks of eight keys are insertion-sorted, then merged pairwise
+   * with {@link #mergeBlocks} in rounds of doubling width. Intended for short ranges, but
+   * {@code O(n log n)} for any length.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive)
+   * @param scratch at least {@link #scratchLength(int) scratchLength(to - from)} long
+   */
+  public static void sortSmall(long[] a, int from, int to, long[] scratch) {
+    for (int b = from; b < to; b += BLOCK) {
+      int end = Math.min(b + BLOCK, to);
+      for (int i = b + 1; i < end; i++) {
+        long x = a[i];
+        int j = i - 1;
+        while (j >= b && a[j] > x) {
+          a[j + 1] = a[j];
+          j--;
+        }
+        a[j + 1] = x;
+      }
+    }
+
+    // Ping-pong between a[from..to) and scratch[0..n)
+    int n = to - from;
+    long[] src = a;
+    int srcBase = from;
+    long[] dst = scratch;
+    int dstBase = 0;
+    for (int width = BLOCK; width < n; width *= 2) {
+      for (int lo = 0; lo < n; lo += 2 * width) {
+        int mid = Math.min(lo + width, n);
+        int hi = Math.min(lo + 2 * width, n);
+        mergeBlocks(src, srcBase + lo, srcBase + mid, srcBase + hi, dst, dstBase + lo);
+      }
+      long[] t = src;
+      src = dst;
+      dst = t;
+      int tb = srcBase;
+      srcBase = dstBase;
+      dstBase = tb;
+    }
+    if (src != a) {
+      System.arraycopy(src, srcBase, a, from, n);
+    }
+  }
+
+  /**
+   * Rearranges {@code a[from..to)} so that {@code a[k]} holds the key that a full sort would put
+   * there, with no larger key before it and no smaller key after it. Quickselect with
+   * {@link #partition} around the median of the quartile and middle keys (the ends of a range
+   * that a stable partition left in input order are poor samples); once {@code 2 * log2(n)}
+   * steps have not narrowed the range enough, the rest is sorted with {@link #sortSmall},
+   * bounding the time by {@code O(n log n)}.
+   *
+   * @param a keys
+   * @param from first index
+   * @param to end index (exclusive)
+   * @param k target index in {@code [from, to)}
+   * @param scratch at least {@link #scratchLength(int) scratchLength(to - from)} long
+   * @throws IllegalArgumentException if {@code k} is outside the range
+   */
+  public static void select(long[] a, int from, int to, int k, long[] scratch) {
+    if (k < from || k >= to) {
+      throw new IllegalArgumentException("k must lie in [from, to)");
+    }
+    int budget = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+    while (to - from > SMALL_SORT) {
+      if (budget-- == 0) {
+        break;
+      }
+      int quarter = (to - from) / 4;
+      long x = a[from + quarter];
+      long y = a[from + (to - from) / 2];
+      long z = a[to - 1 - quarter];
+      long pivot = Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+
+      int split = partition(a, from, to, pivot, scratch);
+      if (k < split) {
+        to = split;
+        continue;
+      }
+      // Keys equal to the pivot: split them off so the range always shrinks
+      int above = (pivot == Long.MAX_VALUE) ? to : partition(a, split, to, pivot + 1, scratch);
+      if (k < above) {
+        return;
+      }
+      from = above;
+    }
+    sortSmall(a, from, to, scratch);
+  }
+}
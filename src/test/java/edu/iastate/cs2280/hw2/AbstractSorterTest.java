@@ -0,0 +1,153 @@
+/**
+ * JUnit 5 test suite for the shared behavior in {@link AbstractSorter}, in particular the
+ * incremental {@link AbstractSorter#append(Student[])} API.
+ *
+ * @author Kaleb
+ * @see AbstractSorter
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AbstractSorter#append(Student[])}: the merged array must match a full
+ * re-sort of all data, element for element (by identity for stable algorithms).
+ */
+public class AbstractSorterTest {
+
+  /** Algorithms whose sort is stable, so append must keep the exact element order. */
+  private static final Set<Algorithm> STABLE = EnumSet.of(Algorithm.InsertionSort,
+      Algorithm.MergeSort, Algorithm.TimSort, Algorithm.RadixSort, Algorithm.CountingSort,
+      Algorithm.ParallelMergeSort, Algorithm.AutoSort);
+
+  /**
+   * Verifies that sorting, then appending several random batches, matches a stable full sort of
+   * the concatenated data for every full-sort algorithm and both orders.
+   */
+  @Test
+  void testAppendMatchesFullSort() {
+    Random rand = new Random(99);
+    Student[] initial = CompareSorters.generateRandomStudents(400, rand);
+    Student[][] batches = {
+        CompareSorters.generateRandomStudents(37, rand),
+        CompareSorters.generateRandomStudents(1, rand),
+        new Student[0],
+        CompareSorters.generateRandomStudents(120, rand)
+    };
+
+    for (Algorithm algo : Algorithm.values()) {
+      if (algo == Algorithm.MedianSelect) {
+        continue;
+      }
+      for (int order = 0; order <= 1; order++) {
+        AbstractSorter sorter = StudentScanner.createSorter(algo, new StudentDataset(initial));
+        sorter.setComparator(order);
+        sorter.sort();
+
+        Student[] all = initial;
+        for (Student[] batch : batches) {
+          sorter.append(batch);
+          Student[] grown = new Student[all.length + batch.length];
+          System.arraycopy(all, 0, grown, 0, all.length);
+          System.arraycopy(batch, 0, grown, all.length, batch.length);
+          all = grown;
+        }
+
+        MergeSorter expected = new MergeSorter(new StudentDataset(all));
+        expected.setComparator(order);
+        expected.sort();
+        assertEquals(all.length, sorter.students.length);
+        for (int i = 0; i < all.length; i++) {
+          if (STABLE.contains(algo)) {
+            assertSame(expected.students[i], sorter.students[i], algo + " order " + order + " @" + i);
+          } else {
+            assertEquals(expected.students[i], sorter.students[i], algo + " order " + order + " @" + i);
+          }
+        }
+        assertEquals(expected.getMedian(), sorter.getMedian());
+      }
+    }
+  }
+
+  /**
+   * Verifies that a batch sorting entirely after the existing data is appended in order, and that
+   * the caller's batch array is left untouched.
+   */
+  @Test
+  void testAppendTailBatch() {
+    Student[] initial = {new Student(4.0, 10), new Student(3.0, 20)};
+    Student[] batch = {new Student(1.0, 5), new Student(2.0, 5)};
+    AbstractSorter sorter = new MergeSorter(initial);
+    sorter.setComparator(0);
+    sorter.sort();
+    sorter.append(batch);
+
+    assertArrayEquals(new Student[] {
+        new Student(4.0, 10), new Student(3.0, 20), new Student(2.0, 5), new Student(1.0, 5)
+    }, sorter.students);
+    assertEquals(new Student(1.0, 5), batch[0]);
+  }
+
+  /**
+   * Verifies that appending sorts the batch without touching the compiled-key buffers of the
+   * full working array, so a following full sort of the grown array resizes them only once.
+   */
+  @Test
+  void testAppendKeepsSortBuffers() {
+    Random rand = new Random(17);
+    for (Algorithm algo : new Algorithm[] {Algorithm.MergeSort, Algorithm.QuickSort}) {
+      AbstractSorter sorter = StudentScanner.createSorter(algo,
+          new StudentDataset(CompareSorters.generateRandomStudents(500, rand)));
+      sorter.setComparator(0);
+      sorter.sort();
+      long[] keys = sorter.sortKeys;
+      assertNotNull(keys, algo.name());
+
+      sorter.append(CompareSorters.generateRandomStudents(20, rand));
+      sorter.append(CompareSorters.generateRandomStudents(20, rand));
+      assertSame(keys, sorter.sortKeys, algo.name());
+      assertEquals(540, sorter.students.length);
+    }
+  }
+
+  /**
+   * Verifies argument and state validation.
+   */
+  @Test
+  void testAppendRejectsInvalidUse() {
+    AbstractSorter sorter = new QuickSorter(new Student[] {new Student(3.0, 1)});
+    assertThrows(IllegalStateException.class, () -> sorter.append(new Student[0]));
+    sorter.setComparator(1);
+    assertThrows(IllegalArgumentException.class, () -> sorter.append(null));
+    assertThrows(IllegalArgumentException.class, () -> sorter.append(new Student[] {null}));
+
+    AbstractSorter selector = new MedianSelector(new Student[] {new Student(3.0, 1)});
+    selector.setComparator(0);
+    assertThrows(UnsupportedOperationException.class, () -> selector.append(new Student[0]));
+  }
+
+  /**
+   * Verifies that without {@code -Dhw2.instrument=true} nothing is counted and the stats table
+   * keeps its three columns.
+   */
+  @Test
+  void testCountersOffByDefault() {
+    assertFalse(AbstractSorter.INSTRUMENT);
+    AbstractSorter sorter = new SelectionSorter(CompareSorters.generateRandomStudents(20, new Random(1)));
+    sorter.setSpecialized(false);
+    sorter.setComparator(0);
+    sorter.sort();
+    assertEquals(0, sorter.getComparisons());
+    assertEquals(0, sorter.getSwaps());
+    assertEquals(0, sorter.getWrites());
+
+    StudentScanner scanner = new StudentScanner(sorter.students, Algorithm.QuickSort);
+    scanner.scan();
+    assertEquals(3, scanner.stats().trim().split("\\s+").length);
+  }
+}
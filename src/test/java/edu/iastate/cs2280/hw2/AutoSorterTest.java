@@ -0,0 +1,189 @@
+/**
+ * JUnit 5 test suite for {@link AutoSorter}.
+ *
+ * @author Kaleb
+ * @see AutoSorter
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AutoSorter}: results must match a stable merge sort whatever strategy is
+ * chosen, and the choices must follow the input characteristics.
+ */
+public class AutoSorterTest {
+
+  /**
+   * Verifies element-for-element agreement with a stable merge sort for every generator shape,
+   * several sizes, and both orders.
+   */
+  @Test
+  void testMatchesStableSortForAllShapes() {
+    int[] sizes = {0, 1, 2, 5, 31, 100, 255, 1000, 20_000};
+    for (StudentGenerator.Shape shape : StudentGenerator.Shape.values()) {
+      for (int n : sizes) {
+        for (int order = 0; order <= 1; order++) {
+          StudentGenerator gen = new StudentGenerator(n + order);
+          gen.setOrder(order);
+          Student[] arr = (n == 0) ? new Student[0] : gen.generate(shape, n);
+
+          AutoSorter auto = new AutoSorter(new StudentDataset(arr));
+          auto.setComparator(order);
+          auto.sort();
+          MergeSorter expected = new MergeSorter(new StudentDataset(arr));
+          expected.setComparator(order);
+          expected.sort();
+
+          String label = shape + " n=" + n + " order " + order;
+          assertEquals(n, auto.students.length, label);
+          for (int i = 0; i < n; i++) {
+            assertSame(expected.students[i], auto.students[i], label + " @" + i);
+          }
+          assertNotNull(auto.getDecision(), label);
+          assertEquals(n, auto.getDecision().getSize(), label);
+        }
+      }
+    }
+  }
+
+  /**
+   * Verifies the strategy chosen for characteristic inputs under the standard orders.
+   */
+  @Test
+  void testKeyedDecisions() {
+    assertEquals(AutoSorter.Strategy.INSERTION, decide(StudentGenerator.Shape.RANDOM, 20, 0));
+    assertEquals(AutoSorter.Strategy.BINARY_INSERTION, decide(StudentGenerator.Shape.ORGAN_PIPE, 20, 0));
+    assertEquals(AutoSorter.Strategy.BINARY_INSERTION, decide(StudentGenerator.Shape.SORTED, 200, 0));
+    assertEquals(AutoSorter.Strategy.BINARY_INSERTION, decide(StudentGenerator.Shape.REVERSED, 200, 1));
+    assertEquals(AutoSorter.Strategy.RUN_MERGE, decide(StudentGenerator.Shape.NEARLY_SORTED, 100, 0));
+    assertEquals(AutoSorter.Strategy.RUN_MERGE, decide(StudentGenerator.Shape.ORGAN_PIPE, 100, 1));
+    assertEquals(AutoSorter.Strategy.RUN_MERGE, decide(StudentGenerator.Shape.SORTED, 100_000, 1));
+    assertEquals(AutoSorter.Strategy.RUN_MERGE, decide(StudentGenerator.Shape.ORGAN_PIPE, 5000, 0));
+    assertEquals(AutoSorter.Strategy.INSERTION, decide(StudentGenerator.Shape.RANDOM, 50, 0));
+    assertEquals(AutoSorter.Strategy.RADIX, decide(StudentGenerator.Shape.RANDOM, 100, 0));
+    assertEquals(AutoSorter.Strategy.RADIX, decide(StudentGenerator.Shape.RANDOM, 1000, 1));
+    assertEquals(AutoSorter.Strategy.COUNTING, decide(StudentGenerator.Shape.RANDOM, 50_000, 0));
+    assertEquals(AutoSorter.Strategy.COUNTING, decide(StudentGenerator.Shape.ORGAN_PIPE, 50_000, 0));
+    assertEquals(AutoSorter.Strategy.COUNTING, decide(StudentGenerator.Shape.MEDIAN_OF_3_KILLER, 10_000, 0));
+  }
+
+  /**
+   * Verifies that a custom comparator keeps the sort on comparison strategies, picks the
+   * three-way partition for duplicate-heavy input, and still sorts correctly.
+   */
+  @Test
+  void testComparatorDecisions() {
+    Comparator<Student> byCreditsDesc = Comparator.comparingInt(Student::getCreditsTaken).reversed();
+
+    StudentGenerator gen = new StudentGenerator(11L);
+    gen.setDistinct(4);
+    Student[] few = gen.generate(StudentGenerator.Shape.FEW_UNIQUE, 5000);
+    AutoSorter auto = new AutoSorter(new StudentDataset(few));
+    auto.studentComparator = byCreditsDesc;
+    auto.sort();
+    assertEquals(AutoSorter.Strategy.THREE_WAY_INTRO, auto.getDecision().getStrategy());
+    assertFalse(auto.getDecision().isKeyed());
+    assertTrue(auto.getDecision().getDistinctRatio() <= 4.0 / AutoSorter.DUPLICATE_SAMPLE);
+    assertSorted(auto.students, byCreditsDesc);
+
+    Student[] random = new StudentGenerator(12L).generate(StudentGenerator.Shape.RANDOM, 5000);
+    auto.load(random);
+    auto.setComparator(0);
+    auto.studentComparator = byCreditsDesc;
+    auto.sort();
+    assertEquals(AutoSorter.Strategy.INTRO, auto.getDecision().getStrategy());
+    assertSorted(auto.students, byCreditsDesc);
+
+    // A killer input for the standard order is reversed-like for this one; either way it sorts
+    gen.setOrder(1);
+    Student[] killer = gen.generate(StudentGenerator.Shape.MEDIAN_OF_3_KILLER, 5000);
+    auto.load(killer);
+    auto.sort();
+    assertSorted(auto.students, byCreditsDesc);
+  }
+
+  /**
+   * Verifies that each decision is logged at DEBUG level (FINE in java.util.logging).
+   */
+  @Test
+  void testDecisionIsLogged() {
+    Logger logger = Logger.getLogger(AutoSorter.class.getName());
+    List<LogRecord> records = new ArrayList<>();
+    Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        records.add(record);
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    Level previous = logger.getLevel();
+    logger.setLevel(Level.FINE);
+    logger.addHandler(handler);
+    try {
+      AutoSorter auto = new AutoSorter(new StudentGenerator(13L).generate(StudentGenerator.Shape.RANDOM, 2000));
+      auto.setComparator(0);
+      auto.sort();
+      assertEquals(1, records.size());
+      assertEquals(Level.FINE, records.get(0).getLevel());
+      assertTrue(records.get(0).getParameters()[0].toString().startsWith("RADIX for n=2000"));
+    } finally {
+      logger.removeHandler(handler);
+      logger.setLevel(previous);
+    }
+  }
+
+  /**
+   * Verifies that no decision exists before the first sort.
+   */
+  @Test
+  void testNoDecisionBeforeSort() {
+    assertNull(new AutoSorter(new Student[0]).getDecision());
+  }
+
+  /**
+   * Returns the strategy AutoSorter chooses for a generated input.
+   *
+   * @param shape input shape
+   * @param n size
+   * @param order comparator order, also the order the shape is arranged for
+   * @return the chosen strategy
+   */
+  private static AutoSorter.Strategy decide(StudentGenerator.Shape shape, int n, int order) {
+    StudentGenerator gen = new StudentGenerator(7L);
+    gen.setOrder(order);
+    AutoSorter auto = new AutoSorter(new StudentDataset(gen.generate(shape, n)));
+    auto.setComparator(order);
+    auto.sort();
+    assertTrue(auto.getDecision().isKeyed());
+    return auto.getDecision().getStrategy();
+  }
+
+  /**
+   * Asserts that {@code arr} is sorted under {@code cmp}.
+   *
+   * @param arr array to check
+   * @param cmp comparator
+   */
+  private static void assertSorted(Student[] arr, Comparator<Student> cmp) {
+    for (int i = 1; i < arr.length; i++) {
+      assertTrue(cmp.compare(arr[i - 1], arr[i]) <= 0, "@" + i);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * JUnit 5 test suite for the concurrent run mode of {@link CompareSorters}.
+ *
+ * @author Kaleb
+ * @see CompareSorters
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CompareSorters#runAll}: concurrent scans must report the same medians as
+ * sequential ones, and a timing lock must keep the timed sections from overlapping.
+ */
+public class CompareSortersTest {
+
+  /**
+   * Lock that records how many timed sections ran and the most that ever held it at once.
+   */
+  private static final class RecordingLock extends ReentrantLock {
+    final AtomicInteger acquisitions = new AtomicInteger();
+    final AtomicInteger inside = new AtomicInteger();
+    final AtomicInteger maxInside = new AtomicInteger();
+
+    @Override
+    public void lock() {
+      super.lock();
+      acquisitions.incrementAndGet();
+      maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void unlock() {
+      inside.decrementAndGet();
+      super.unlock();
+    }
+  }
+
+  /**
+   * Verifies that scans on a thread pool report the same medians, in enum order, as sequential
+   * scans, with and without serialized timing.
+   */
+  @Test
+  void testConcurrentRunMatchesSequential() {
+    StudentDataset data = new StudentDataset(CompareSorters.generateRandomStudents(2000, new Random(3)));
+    StudentScanner[] sequential = CompareSorters.runAll(data, null, null);
+
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      RecordingLock lock = new RecordingLock();
+      for (RecordingLock timing : new RecordingLock[] {null, lock}) {
+        StudentScanner[] concurrent = CompareSorters.runAll(data, pool, timing);
+        assertEquals(Algorithm.values().length, concurrent.length);
+        for (int i = 0; i < concurrent.length; i++) {
+          assertEquals(Algorithm.values()[i], concurrent[i].getAlgorithm());
+          assertEquals(sequential[i].getMedianStudent(), concurrent[i].getMedianStudent());
+          assertTrue(concurrent[i].getScanTime() > 0);
+        }
+      }
+      assertEquals(Algorithm.values().length, lock.acquisitions.get());
+      assertEquals(1, lock.maxInside.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Verifies that a failing scan is rethrown to the caller unwrapped.
+   */
+  @Test
+  void testScanFailureIsRethrown() {
+    StudentDataset data = new StudentDataset(new Student[] {new Student(3.0, 10)});
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      ReentrantLock broken = new ReentrantLock() {
+        @Override
+        public void lock() {
+          throw new IllegalStateException("broken");
+        }
+      };
+      assertEquals("broken",
+          assertThrows(IllegalStateException.class, () -> CompareSorters.runAll(data, pool, broken)).getMessage());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * JUnit 5 test suite for {@link CountingSorter} verifying compliance with the HW2 specification.
+ *
+ * <p>Each test validates key aspects of counting sort correctness and median computation:</p>
+ * <ul>
+ *   <li><b>Order 0:</b> GPA descending, then credits descending.</li>
+ *   <li><b>Order 1:</b> credits ascending, then GPA descending.</li>
+ *   <li>Handling of empty arrays, single elements, and duplicate values.</li>
+ * </ul>
+ *
+ * <p>The tests also confirm correct median selection following
+ * {@link AbstractSorter#getMedian()}, which returns the upper median (index {@code n / 2})
+ * for even-sized arrays.</p>
+ *
+ * @author Kaleb
+ * @see CountingSorter
+ * @see AbstractSorter
+ * @see Student
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CountingSorter}, ensuring sorting correctness, stability, and
+ * median accuracy across both comparator orders and special cases.
+ */
+public class CountingSorterTest {
+
+    /**
+     * Verifies CountingSorter correctly sorts and identifies the median for Order 0
+     * (GPA descending; tie → credits descending).
+     */
+    @Test
+    void testOrder0_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.8, 30),
+                new Student(4.0, 10),
+                new Student(3.8, 40),
+                new Student(2.5, 20)
+        };
+        AbstractSorter sorter = new CountingSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.8, median.getGpa(), 1e-9);
+        assertEquals(30, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies CountingSorter correctly sorts and identifies the median for Order 1
+     * (credits ascending; tie → GPA descending).
+     */
+    @Test
+    void testOrder1_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.5, 20),
+                new Student(3.8, 10),
+                new Student(3.0, 10),
+                new Student(4.0, 20)
+        };
+        AbstractSorter sorter = new CountingSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(20, median.getCreditsTaken());
+        assertEquals(4.0, median.getGpa(), 1e-9);
+    }
+
+    /**
+     * Ensures CountingSorter handles an empty array gracefully and returns {@code null} median.
+     */
+    @Test
+    void testEmptyArray_OK() {
+        Student[] arr = {};
+        AbstractSorter sorter = new CountingSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        assertNull(sorter.getMedian());
+    }
+
+    /**
+     * Confirms CountingSorter returns the single element as the median for singleton arrays.
+     */
+    @Test
+    void testSingleElement_MedianSame() {
+        Student[] arr = { new Student(3.0, 10) };
+        AbstractSorter sorter = new CountingSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Confirms CountingSorter maintains stability and correct median when all elements are identical.
+     */
+    @Test
+    void testDuplicates_MedianValue() {
+        Student[] arr = {
+                new Student(3.0, 10),
+                new Student(3.0, 10),
+                new Student(3.0, 10)
+        };
+        AbstractSorter sorter = new CountingSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies the sequential, parallel, and radix-fallback paths all produce the same sequence
+     * as the stable MergeSorter for both orders.
+     */
+    @Test
+    void testMatchesMergeSorter_SequentialParallelAndFallback() {
+        Random rand = new Random(4);
+        Student[] narrow = new Student[50000];
+        for (int i = 0; i < narrow.length; i++) {
+            narrow[i] = new Student(rand.nextInt(401) / 100.0, rand.nextInt(10));
+        }
+        Student[] offGrid = new Student[2000];
+        for (int i = 0; i < offGrid.length; i++) {
+            offGrid[i] = new Student(rand.nextInt(4001) / 1000.0, rand.nextInt(300));
+        }
+
+        for (Student[] arr : new Student[][] { narrow, offGrid }) {
+            for (int order = 0; order <= 1; order++) {
+                AbstractSorter expected = new MergeSorter(arr);
+                expected.setComparator(order);
+                expected.sort();
+
+                CountingSorter sequential = new CountingSorter(arr);
+                sequential.setComparator(order);
+                sequential.sort();
+                assertArrayEquals(expected.students, sequential.students);
+
+                CountingSorter parallel = new CountingSorter(arr);
+                parallel.parallelThreshold = 0;
+                parallel.parallelism = 8;
+                parallel.setComparator(order);
+                parallel.sort();
+                assertArrayEquals(expected.students, parallel.students);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * JUnit 5 test suite for {@link ExternalSorter} verifying that spilling sorted runs and merging
+ * them yields the same order and median as an in-memory sort.
+ *
+ * @author Kaleb
+ * @see ExternalSorter
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ExternalSorter}, covering run spilling, merging, medians, and cleanup.
+ */
+public class ExternalSorterTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Verifies that a budget of 100 records splits 1000 records into 10 runs whose merge matches
+   * {@link MergeSorter} under both orders, for several run algorithms.
+   */
+  @Test
+  void testMergedOutputMatchesInMemorySort() throws IOException {
+    Student[] arr = CompareSorters.generateRandomStudents(1000, new Random(3));
+    Path input = dir.resolve("in.bin");
+    StudentBinaryFile.write(arr, input);
+    Path temp = Files.createDirectory(dir.resolve("tmp"));
+
+    for (Algorithm algo : new Algorithm[] {Algorithm.QuickSort, Algorithm.TimSort, Algorithm.CountingSort}) {
+      for (int order = 0; order <= 1; order++) {
+        ExternalSorter ext = new ExternalSorter(algo);
+        ext.setMemoryBudget(100L * ExternalSorter.BYTES_PER_RECORD);
+        ext.setTempDirectory(temp);
+        Path output = dir.resolve("out.bin");
+        Student median = ext.sort(input, output, order);
+        assertEquals(10, ext.getRunCount());
+
+        MergeSorter expected = new MergeSorter(arr);
+        expected.setComparator(order);
+        expected.sort();
+        try (StudentBinaryFile.Reader sorted = new StudentBinaryFile.Reader(output)) {
+          assertEquals(arr.length, sorted.count());
+          for (int i = 0; i < arr.length; i++) {
+            assertEquals(expected.students[i], sorted.next(), algo + " order " + order + " @" + i);
+          }
+          assertNull(sorted.next());
+        }
+        assertEquals(expected.getMedian(), median);
+        try (Stream<Path> left = Files.list(temp)) {
+          assertEquals(0, left.count(), "temporary files were not deleted");
+        }
+      }
+    }
+  }
+
+  /**
+   * Verifies that the streamed two-pass median of a text file matches {@link StudentScanner}.
+   */
+  @Test
+  void testMedianStudentFromText() throws IOException {
+    Student[] arr = CompareSorters.generateRandomStudents(777, new Random(8));
+    StringBuilder sb = new StringBuilder();
+    for (Student s : arr) {
+      sb.append(String.format(Locale.US, "%.2f %d%n", s.getGpa(), s.getCreditsTaken()));
+    }
+    Path input = Files.writeString(dir.resolve("in.txt"), sb.toString());
+
+    ExternalSorter ext = new ExternalSorter(Algorithm.MergeSort);
+    ext.setMemoryBudget(64L * ExternalSorter.BYTES_PER_RECORD);
+    ext.setTempDirectory(dir);
+
+    StudentScanner scanner = new StudentScanner(arr, Algorithm.MergeSort);
+    scanner.scan();
+    assertEquals(scanner.getMedianStudent(), ext.medianStudent(input));
+    assertEquals(13, ext.getRunCount());
+  }
+
+  /**
+   * Verifies that a record that fails validation partway through the input aborts the sort with
+   * a format error and still closes and deletes every run spilled before it.
+   */
+  @Test
+  void testBadRecordCleansUpRuns() throws IOException {
+    Student[] arr = CompareSorters.generateRandomStudents(500, new Random(5));
+    Path input = dir.resolve("bad.bin");
+    StudentBinaryFile.write(arr, input);
+    byte[] bytes = Files.readAllBytes(input);
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+        .putDouble(StudentBinaryFile.HEADER_BYTES + 450 * StudentBinaryFile.RECORD_BYTES, 9.0);
+    Files.write(input, bytes);
+    Path temp = Files.createDirectory(dir.resolve("tmp"));
+
+    ExternalSorter ext = new ExternalSorter(Algorithm.MergeSort);
+    ext.setMemoryBudget(100L * ExternalSorter.BYTES_PER_RECORD);
+    ext.setTempDirectory(temp);
+    assertThrows(InputMismatchException.class, () -> ext.sort(input, null, 0));
+    try (Stream<Path> left = Files.list(temp)) {
+      assertEquals(0, left.count(), "temporary files were not deleted");
+    }
+  }
+
+  /**
+   * Verifies argument validation.
+   */
+  @Test
+  void testRejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(null));
+    assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(Algorithm.MedianSelect));
+    ExternalSorter ext = new ExternalSorter(Algorithm.QuickSort);
+    assertThrows(IllegalArgumentException.class, () -> ext.setMemoryBudget(1));
+    assertThrows(IllegalArgumentException.class, () -> ext.sort(dir, null, 2));
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * JUnit 5 test suite for {@link StudentBinaryFile} and {@link MappedStudentFile} verifying the
+ * binary round trip, text conversion, and header validation.
+ *
+ * @author Kaleb
+ * @see StudentBinaryFile
+ * @see MappedStudentFile
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary student file format and its memory-mapped loader.
+ */
+public class MappedStudentFileTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Verifies that written records read back unchanged and that index sorting over the mapping
+   * agrees with {@link StudentTable}.
+   */
+  @Test
+  void testRoundTripAndSort() throws IOException {
+    Student[] arr = CompareSorters.generateRandomStudents(700, new Random(13));
+    Path file = dir.resolve("students.bin");
+    StudentBinaryFile.write(arr, file);
+
+    assertTrue(StudentBinaryFile.isBinary(file));
+    assertEquals(StudentBinaryFile.HEADER_BYTES + 700L * StudentBinaryFile.RECORD_BYTES, Files.size(file));
+
+    MappedStudentFile mapped = MappedStudentFile.open(file);
+    assertEquals(arr.length, mapped.size());
+    for (int i = 0; i < arr.length; i++) {
+      assertEquals(arr[i], mapped.get(i));
+    }
+
+    StudentTable table = new StudentTable(arr);
+    for (int order = 0; order <= 1; order++) {
+      int[] expected = table.sort(Algorithm.MergeSort, order);
+      int[] actual = mapped.sort(Algorithm.QuickSort, order);
+      for (int k = 0; k < arr.length; k++) {
+        assertEquals(table.get(expected[k]), mapped.get(actual[k]), "order " + order + " @" + k);
+      }
+      assertEquals(table.getMedian(expected), mapped.getMedian(actual));
+    }
+  }
+
+  /**
+   * Verifies that the text converter skips blank lines and preserves record order.
+   */
+  @Test
+  void testConvertText() throws IOException {
+    Path text = dir.resolve("students.txt");
+    Files.writeString(text, "3.50 40\n\n  2.00   90\n4.0 0\n");
+    Path bin = dir.resolve("students.bin");
+
+    assertEquals(3, StudentBinaryFile.convert(text, bin));
+    assertFalse(StudentBinaryFile.isBinary(text));
+
+    StudentDataset data = MappedStudentFile.open(bin).toDataset();
+    assertEquals(3, data.size());
+    assertEquals(new Student(3.5, 40), data.get(0));
+    assertEquals(new Student(2.0, 90), data.get(1));
+    assertEquals(new Student(4.0, 0), data.get(2));
+  }
+
+  /**
+   * Verifies that the converter reports the driver's format error messages, and that it accepts
+   * and rejects exactly the tokens the driver's text reader does.
+   */
+  @Test
+  void testConvertRejectsBadText() throws IOException {
+    Path bin = dir.resolve("out.bin");
+    Path badGpa = dir.resolve("gpa.txt");
+    Files.writeString(badGpa, "abc 10\n");
+    Path badCredits = dir.resolve("credits.txt");
+    Files.writeString(badCredits, "3.0 x\n");
+    Path empty = dir.resolve("empty.txt");
+    Files.writeString(empty, "\n\n");
+
+    assertEquals(StudentFileParser.GPA_ERROR,
+        assertThrows(InputMismatchException.class, () -> StudentBinaryFile.convert(badGpa, bin)).getMessage());
+    assertEquals(StudentFileParser.CREDITS_ERROR,
+        assertThrows(InputMismatchException.class, () -> StudentBinaryFile.convert(badCredits, bin)).getMessage());
+    assertEquals(StudentFileParser.EMPTY_ERROR,
+        assertThrows(InputMismatchException.class, () -> StudentBinaryFile.convert(empty, bin)).getMessage());
+
+    // Tokens where Double.parseDouble/Integer.parseInt and the driver's Scanner grammar disagree
+    String[] lines = {"3.5d 10", "3.5f 10", "0x1p1 10", "3.5 1,000", "3.5 +10", "3.5 10.0"};
+    for (String line : lines) {
+      Path text = dir.resolve("grammar.txt");
+      Files.writeString(text, line + "\n");
+      String expected;
+      try {
+        expected = new StudentFileParser().parse(text).get(0).toString();
+      } catch (InputMismatchException e) {
+        expected = e.getMessage();
+      }
+      String actual;
+      try {
+        StudentBinaryFile.convert(text, bin);
+        actual = MappedStudentFile.open(bin).toDataset().get(0).toString();
+      } catch (InputMismatchException e) {
+        actual = e.getMessage();
+      }
+      assertEquals(expected, actual, line);
+    }
+  }
+
+  /**
+   * Verifies that files with a bad magic number, a truncated record area or an out-of-range
+   * record are rejected.
+   */
+  @Test
+  void testOpenRejectsInvalidFiles() throws IOException {
+    Path text = dir.resolve("plain.txt");
+    Files.writeString(text, "3.0 10 and some more text\n");
+    assertThrows(InputMismatchException.class, () -> MappedStudentFile.open(text));
+
+    Path file = dir.resolve("truncated.bin");
+    StudentBinaryFile.write(new Student[] {new Student(3.0, 10), new Student(2.0, 20)}, file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrows(InputMismatchException.class, () -> MappedStudentFile.open(file));
+
+    // A negative credits field in the second record maps fine but cannot become a Student
+    Path outOfRange = dir.resolve("range.bin");
+    StudentBinaryFile.write(new Student[] {new Student(3.0, 10), new Student(2.0, 20)}, outOfRange);
+    bytes = Files.readAllBytes(outOfRange);
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+        .putInt(StudentBinaryFile.HEADER_BYTES + StudentBinaryFile.RECORD_BYTES + 8, -1);
+    Files.write(outOfRange, bytes);
+    MappedStudentFile mapped = MappedStudentFile.open(outOfRange);
+    assertEquals(-1, mapped.getCreditsTaken(1));
+    assertThrows(InputMismatchException.class, mapped::toDataset);
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * JUnit 5 test suite for {@link MedianSelector} verifying compliance with the HW2 specification.
+ *
+ * <p>Each test validates that selection places the same median a full sort would:</p>
+ * <ul>
+ *   <li><b>Order 0:</b> GPA descending, then credits descending.</li>
+ *   <li><b>Order 1:</b> credits ascending, then GPA descending.</li>
+ *   <li>Handling of empty arrays, single elements, and duplicate values.</li>
+ * </ul>
+ *
+ * <p>The tests also confirm correct median selection following
+ * {@link AbstractSorter#getMedian()}, which returns the upper median (index {@code n / 2})
+ * for even-sized arrays.</p>
+ *
+ * @author Kaleb
+ * @see MedianSelector
+ * @see AbstractSorter
+ * @see Student
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MedianSelector}, ensuring median accuracy across both comparator
+ * orders, both pivot rules, and special cases.
+ */
+public class MedianSelectorTest {
+
+    /**
+     * Verifies MedianSelector correctly identifies the median for Order 0
+     * (GPA descending; tie → credits descending).
+     */
+    @Test
+    void testOrder0_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.8, 30),
+                new Student(4.0, 10),
+                new Student(3.8, 40),
+                new Student(2.5, 20)
+        };
+        AbstractSorter sorter = new MedianSelector(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.8, median.getGpa(), 1e-9);
+        assertEquals(30, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies MedianSelector correctly identifies the median for Order 1
+     * (credits ascending; tie → GPA descending).
+     */
+    @Test
+    void testOrder1_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.5, 20),
+                new Student(3.8, 10),
+                new Student(3.0, 10),
+                new Student(4.0, 20)
+        };
+        AbstractSorter sorter = new MedianSelector(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(20, median.getCreditsTaken());
+        assertEquals(4.0, median.getGpa(), 1e-9);
+    }
+
+    /**
+     * Ensures MedianSelector handles an empty array gracefully and returns {@code null} median.
+     */
+    @Test
+    void testEmptyArray_OK() {
+        Student[] arr = {};
+        AbstractSorter sorter = new MedianSelector(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        assertNull(sorter.getMedian());
+    }
+
+    /**
+     * Confirms MedianSelector returns the single element as the median for singleton arrays.
+     */
+    @Test
+    void testSingleElement_MedianSame() {
+        Student[] arr = { new Student(3.0, 10) };
+        AbstractSorter sorter = new MedianSelector(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Confirms MedianSelector returns the correct median when all elements are identical.
+     */
+    @Test
+    void testDuplicates_MedianValue() {
+        Student[] arr = {
+                new Student(3.0, 10),
+                new Student(3.0, 10),
+                new Student(3.0, 10)
+        };
+        AbstractSorter sorter = new MedianSelector(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies the selected median matches a full MergeSorter sort for many sizes, for both
+     * orders, for sorted and duplicate-heavy inputs, and with median-of-medians pivots only.
+     * Also checks the partial order around the median.
+     */
+    @Test
+    void testMatchesFullSort_AllPivotRules() {
+        Random rand = new Random(5);
+        for (int n = 1; n <= 400; n += 13) {
+            Student[] random = CompareSorters.generateRandomStudents(n, rand);
+            Student[] fewUnique = new Student[n];
+            for (int i = 0; i < n; i++) {
+                fewUnique[i] = new Student(rand.nextInt(3), rand.nextInt(3));
+            }
+
+            for (Student[] arr : new Student[][] { random, fewUnique }) {
+                for (int order = 0; order <= 1; order++) {
+                    AbstractSorter full = new MergeSorter(arr);
+                    full.setComparator(order);
+                    full.sort();
+                    Student[] sortedInput = full.students;
+
+                    for (Student[] input : new Student[][] { arr, sortedInput }) {
+                        for (boolean momOnly : new boolean[] { false, true }) {
+                            MedianSelector selector = new MedianSelector(input);
+                            selector.medianOfMediansOnly = momOnly;
+                            selector.setComparator(order);
+                            selector.sort();
+                            assertEquals(full.getMedian(), selector.getMedian());
+
+                            Student median = selector.getMedian();
+                            for (int i = 0; i < n; i++) {
+                                int c = selector.studentComparator.compare(selector.students[i], median);
+                                assertTrue(i <= n / 2 ? c <= 0 : c >= 0);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * JUnit 5 test suite for {@link ParallelQuickSorter} verifying compliance with the HW2 specification.
+ *
+ * <p>This suite validates parallel Quick Sort correctness with median-of-three pivot selection
+ * and the assignment's comparator orders:</p>
+ * <ul>
+ *   <li><b>Order 0:</b> GPA descending, then credits descending.</li>
+ *   <li><b>Order 1:</b> credits ascending, then GPA descending.</li>
+ * </ul>
+ *
+ * <p>It also checks empty arrays, single-element arrays, and duplicates, and confirms
+ * median selection follows {@link AbstractSorter#getMedian()} (upper median for even n).</p>
+ *
+ * @author Kaleb
+ * @see ParallelQuickSorter
+ * @see AbstractSorter
+ * @see Student
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelQuickSorter}, covering both comparator orders and key edge cases.
+ */
+public class ParallelQuickSorterTest {
+
+    /**
+     * Verifies ParallelQuickSorter correctly sorts and selects the median under Order 0
+     * (GPA descending; tie → credits descending).
+     */
+    @Test
+    void testOrder0_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.8, 30),
+                new Student(4.0, 10),
+                new Student(3.8, 40),
+                new Student(2.5, 20)
+        };
+        AbstractSorter sorter = new ParallelQuickSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.8, median.getGpa(), 1e-9);
+        assertEquals(30, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies ParallelQuickSorter correctly sorts and selects the median under Order 1
+     * (credits ascending; tie → GPA descending).
+     */
+    @Test
+    void testOrder1_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.5, 20),
+                new Student(3.8, 10),
+                new Student(3.0, 10),
+                new Student(4.0, 20)
+        };
+        AbstractSorter sorter = new ParallelQuickSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(20, median.getCreditsTaken());
+        assertEquals(4.0, median.getGpa(), 1e-9);
+    }
+
+    /**
+     * Ensures ParallelQuickSorter handles an empty input array and returns {@code null} median.
+     */
+    @Test
+    void testEmptyArray_OK() {
+        Student[] arr = {};
+        AbstractSorter sorter = new ParallelQuickSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        assertNull(sorter.getMedian());
+    }
+
+    /**
+     * Confirms the single element is returned as the median for a singleton array.
+     */
+    @Test
+    void testSingleElement_MedianSame() {
+        Student[] arr = { new Student(3.0, 10) };
+        AbstractSorter sorter = new ParallelQuickSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Confirms stable handling of duplicate values and correct median selection.
+     */
+    @Test
+    void testDuplicates_MedianValue() {
+        Student[] arr = {
+                new Student(3.0, 10),
+                new Student(3.0, 10),
+                new Student(3.0, 10)
+        };
+        AbstractSorter sorter = new ParallelQuickSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies ParallelQuickSorter matches MergeSorter with thresholds lowered so that forked
+     * tasks and the parallel partition are exercised, on random and duplicate-heavy data.
+     */
+    @Test
+    void testMatchesMergeSorter_ParallelPartition() {
+        Random rand = new Random(7);
+        Student[] random = CompareSorters.generateRandomStudents(20000, rand);
+        Student[] fewUnique = new Student[20000];
+        for (int i = 0; i < fewUnique.length; i++) {
+            fewUnique[i] = new Student(rand.nextInt(3), rand.nextInt(3));
+        }
+
+        for (Student[] arr : new Student[][] { random, fewUnique }) {
+            for (int order = 0; order <= 1; order++) {
+                AbstractSorter expected = new MergeSorter(arr);
+                expected.setComparator(order);
+                expected.sort();
+
+                ParallelQuickSorter sorter = new ParallelQuickSorter(arr);
+                sorter.sequentialCutoff = 64;
+                sorter.parallelPartitionThreshold = 1000;
+                sorter.parallelism = 4;
+                sorter.setComparator(order);
+                sorter.sort();
+                assertArrayEquals(expected.students, sorter.students);
+            }
+        }
+    }
+
+    /**
+     * Verifies ParallelQuickSorter on every generator shape, including the median-of-three
+     * killer, with the task cutoff lowered so that the depth budget covers the forked tasks too.
+     */
+    @Test
+    void testMatchesMergeSorter_GeneratorShapes() {
+        for (StudentGenerator.Shape shape : StudentGenerator.Shape.values()) {
+            Student[] arr = new StudentGenerator(11).generate(shape, 20000);
+            AbstractSorter expected = new MergeSorter(arr);
+            expected.setComparator(0);
+            expected.sort();
+
+            ParallelQuickSorter sorter = new ParallelQuickSorter(arr);
+            sorter.sequentialCutoff = 64;
+            sorter.parallelPartitionThreshold = 1000;
+            sorter.parallelism = 4;
+            sorter.setComparator(0);
+            sorter.sort();
+            assertArrayEquals(expected.students, sorter.students, shape.name());
+        }
+    }
+}
@@ -18,6 +18,10 @@
  */
 package edu.iastate.cs2280.hw2;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -113,4 +117,99 @@ public class QuickSorterTest {
         assertEquals(3.0, median.getGpa(), 1e-9);
         assertEquals(10, median.getCreditsTaken());
     }
+
+    /**
+     * Verifies the three-way partition scheme sorts random and duplicate-heavy data into the same
+     * sequence as the default Lomuto scheme for both orders.
+     */
+    @Test
+    void testThreeWayPartition_MatchesLomuto() {
+        Random rand = new Random(8);
+        Student[] random = CompareSorters.generateRandomStudents(3000, rand);
+        Student[] fewUnique = new Student[3000];
+        for (int i = 0; i < fewUnique.length; i++) {
+            fewUnique[i] = new Student(rand.nextInt(3), rand.nextInt(3));
+        }
+
+        for (Student[] arr : new Student[][] { random, fewUnique }) {
+            for (int order = 0; order <= 1; order++) {
+                QuickSorter lomuto = new QuickSorter(arr);
+                lomuto.setComparator(order);
+                lomuto.sort();
+
+                QuickSorter threeWay = new QuickSorter(arr);
+                threeWay.setPartitionScheme(QuickSorter.PartitionScheme.THREE_WAY);
+                threeWay.setComparator(order);
+                threeWay.sort();
+                assertArrayEquals(lomuto.students, threeWay.students);
+            }
+        }
+    }
+
+    /**
+     * Verifies introsort mode on duplicate-heavy data, where Lomuto partitions degenerate and the
+     * heapsort fallback takes over: the result must match MergeSorter and finish promptly.
+     */
+    @Test
+    void testIntrosort_DuplicateHeavyFallsBackToHeapsort() {
+        Random rand = new Random(9);
+        Student[] arr = new Student[100000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new Student(rand.nextInt(2), rand.nextInt(2));
+        }
+
+        for (int order = 0; order <= 1; order++) {
+            AbstractSorter expected = new MergeSorter(arr);
+            expected.setComparator(order);
+            expected.sort();
+
+            QuickSorter sorter = new QuickSorter(arr);
+            sorter.setIntrosort(true);
+            sorter.setComparator(order);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), sorter::sort);
+            assertArrayEquals(expected.students, sorter.students);
+            assertEquals(Algorithm.IntroSort.name(), sorter.algorithm);
+        }
+    }
+
+    /**
+     * Verifies that the index kernel behind {@link StudentTable} stays O(n log n) against
+     * McIlroy's adversary, which decides comparisons on the fly so that every median-of-three
+     * pivot is nearly the smallest element: without the depth limit this takes about n^2 / 2
+     * comparisons.
+     */
+    @Test
+    void testSortIndices_AdversaryFallsBackToHeapsort() {
+        int n = 5000;
+        int gas = n;
+        int[] val = new int[n];
+        Arrays.fill(val, gas);
+        int[] state = {0, -1};   // number of frozen values, current candidate
+        long[] comparisons = {0};
+
+        IndexComparator adversary = (x, y) -> {
+            comparisons[0]++;
+            if (val[x] == gas && val[y] == gas) {
+                val[x == state[1] ? x : y] = state[0]++;
+            }
+            if (val[x] == gas) {
+                state[1] = x;
+            } else if (val[y] == gas) {
+                state[1] = y;
+            }
+            return Integer.compare(val[x], val[y]);
+        };
+
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+        }
+        QuickSorter.sortIndices(perm, adversary);
+
+        for (int k = 1; k < n; k++) {
+            assertTrue(val[perm[k - 1]] <= val[perm[k]]);
+        }
+        int log2 = 31 - Integer.numberOfLeadingZeros(n);
+        assertTrue(comparisons[0] <= 8L * n * log2, "comparisons: " + comparisons[0]);
+    }
 }
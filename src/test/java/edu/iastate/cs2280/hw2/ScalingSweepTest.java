@@ -0,0 +1,106 @@
+/**
+ * JUnit 5 test suite for {@link ScalingSweep}, the headless benchmark mode of the driver.
+ *
+ * @author Kaleb
+ * @see ScalingSweep
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for size generation, percentile and exponent math, the time budget, and the CSV and
+ * JSON writers.
+ */
+public class ScalingSweepTest {
+
+  /**
+   * Verifies the geometric size sequence, including factors too small to grow by rounding alone.
+   */
+  @Test
+  void testSizes() {
+    ScalingSweep sweep = new ScalingSweep();
+    sweep.setSizeRange(1000, 10000);
+    assertArrayEquals(new int[] {1000, 2000, 4000, 8000}, sweep.sizes());
+    sweep.setSizeRange(1, 4);
+    sweep.setFactor(1.1);
+    assertArrayEquals(new int[] {1, 2, 3, 4}, sweep.sizes());
+
+    assertThrows(IllegalArgumentException.class, () -> sweep.setSizeRange(0, 5));
+    assertThrows(IllegalArgumentException.class, () -> sweep.setSizeRange(10, 5));
+    assertThrows(IllegalArgumentException.class, () -> sweep.setFactor(1.0));
+    assertThrows(IllegalArgumentException.class, () -> sweep.setRepetitions(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> sweep.setAlgorithms());
+  }
+
+  /**
+   * Verifies nearest-rank percentiles and the least-squares exponent on exact power laws.
+   */
+  @Test
+  void testStatistics() {
+    ScalingSweep.Point point = new ScalingSweep.Point(10, new long[] {50, 10, 40, 20, 30});
+    assertEquals(10, point.min());
+    assertEquals(30, point.percentile(50));
+    assertEquals(50, point.percentile(90));
+    assertEquals(50, point.percentile(99));
+    assertEquals(10, point.percentile(1));
+    assertThrows(IllegalArgumentException.class, () -> point.percentile(0));
+
+    int[] sizes = {1000, 2000, 4000, 8000};
+    double[] quadratic = new double[sizes.length];
+    double[] linear = new double[sizes.length];
+    for (int i = 0; i < sizes.length; i++) {
+      quadratic[i] = 3.0 * sizes[i] * sizes[i];
+      linear[i] = 7.0 * sizes[i];
+    }
+    assertEquals(2.0, ScalingSweep.fitExponent(sizes, quadratic), 1e-9);
+    assertEquals(1.0, ScalingSweep.fitExponent(sizes, linear), 1e-9);
+    assertTrue(Double.isNaN(ScalingSweep.fitExponent(new int[] {5}, new double[] {1})));
+  }
+
+  /**
+   * Verifies a small sweep end to end: every algorithm gets every size, and an algorithm over
+   * budget is dropped from later sizes.
+   */
+  @Test
+  void testRunAndWriters() {
+    ScalingSweep sweep = new ScalingSweep();
+    sweep.setSizeRange(64, 256);
+    sweep.setRepetitions(1, 3);
+    sweep.setAlgorithms(Algorithm.MergeSort, Algorithm.RadixSort);
+    List<ScalingSweep.Series> result = sweep.run();
+
+    assertEquals(2, result.size());
+    assertEquals(Algorithm.MergeSort, result.get(0).getAlgorithm());
+    assertEquals(3, result.get(0).getPoints().size());
+    assertEquals(256, result.get(1).getPoints().get(2).getSize());
+    assertEquals(3, result.get(1).getPoints().get(2).getRepetitions());
+
+    StringWriter csv = new StringWriter();
+    ScalingSweep.writeCsv(result, csv);
+    String[] lines = csv.toString().split("\\R");
+    assertEquals(ScalingSweep.CSV_HEADER, lines[0]);
+    assertEquals(7, lines.length);
+    assertTrue(lines[1].startsWith("MergeSort,64,3,"));
+    assertEquals(8, lines[1].split(",", -1).length);
+
+    StringWriter json = new StringWriter();
+    ScalingSweep.writeJson(result, json);
+    String text = json.toString();
+    assertTrue(text.trim().startsWith("[") && text.trim().endsWith("]"));
+    assertTrue(text.contains("{\"algorithm\":\"RadixSort\",\"exponent\":"));
+    assertTrue(text.contains("{\"size\":128,\"reps\":3,\"p50_ns\":"));
+
+    sweep.setBudgetNanos(1);
+    result = sweep.run();
+    assertEquals(1, result.get(0).getPoints().size());
+    assertTrue(Double.isNaN(result.get(0).exponent()));
+    StringWriter empty = new StringWriter();
+    ScalingSweep.writeJson(result, empty);
+    assertTrue(empty.toString().contains("\"exponent\":null"));
+  }
+}
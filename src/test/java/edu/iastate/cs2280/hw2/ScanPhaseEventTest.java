@@ -0,0 +1,89 @@
+/**
+ * JUnit 5 test suite for the JDK Flight Recorder events emitted by {@link StudentScanner#scan()}.
+ *
+ * @author Kaleb
+ * @see ScanPhaseEvent
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for scan phase events: one event per phase, in order, with allocation and GC
+ * accounting, and none when no recording is active.
+ */
+public class ScanPhaseEventTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Verifies that a recorded scan emits copy, pass0, pass1 and median events with the scan's
+   * algorithm and size, that the first scan's copy phase reports its sorter allocation, and that
+   * the scan time covers no more than the timed events.
+   */
+  @Test
+  void testScanEmitsPhaseEvents() throws IOException {
+    StudentScanner scanner = new StudentScanner(
+        CompareSorters.generateRandomStudents(5000, new Random(2)), Algorithm.MergeSort);
+    Path file = dir.resolve("scan.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(ScanPhaseEvent.NAME);
+      recording.start();
+      assertTrue(ScanPhaseEvent.recording());
+      scanner.scan();
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    events.removeIf(e -> !e.getEventType().getName().equals(ScanPhaseEvent.NAME));
+    events.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+    assertEquals(4, events.size());
+
+    String[] phases = {ScanPhaseEvent.COPY, ScanPhaseEvent.PASS_0, ScanPhaseEvent.PASS_1,
+        ScanPhaseEvent.MEDIAN};
+    for (int i = 0; i < phases.length; i++) {
+      RecordedEvent e = events.get(i);
+      assertEquals(phases[i], e.getString("phase"));
+      assertEquals("MergeSort", e.getString("algorithm"));
+      assertEquals(5000, e.getInt("size"));
+      assertTrue(e.getLong("gcCount") >= 0);
+      assertTrue(e.getLong("gcTime") >= 0);
+      assertTrue(e.getLong("allocatedBytes") >= 0);
+    }
+    // The first scan creates the sorter: at least a 5000-element reference array
+    assertTrue(events.get(0).getLong("allocatedBytes") >= 5000L * 4);
+
+    // scanTime is measured inside the timed events, so it excludes their start/finish overhead
+    long timedEvents = 0;
+    for (int i = 1; i < phases.length; i++) {
+      timedEvents += events.get(i).getDuration().toNanos();
+    }
+    assertTrue(scanner.getScanTime() <= timedEvents, scanner.getScanTime() + " > " + timedEvents);
+
+    // Recording does not change the result
+    StudentScanner plain = new StudentScanner(
+        CompareSorters.generateRandomStudents(5000, new Random(2)), Algorithm.MergeSort);
+    plain.scan();
+    assertEquals(plain.getMedianStudent(), scanner.getMedianStudent());
+  }
+
+  /**
+   * Verifies that the event reports disabled outside a recording, so scans skip it.
+   */
+  @Test
+  void testDisabledWithoutRecording() {
+    assertFalse(ScanPhaseEvent.recording());
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * JUnit 5 test suite for {@link SortSpec} and the specialized (compiled-key) sort paths of the
+ * comparison sorters.
+ *
+ * @author Kaleb
+ * @see SortSpec
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiled sort keys: key order must match the comparator, and every sorter must
+ * produce exactly the same array with and without specialization.
+ */
+public class SortSpecTest {
+
+  /** Comparison sorters that take the compiled-key path. */
+  private static final Algorithm[] SPECIALIZED = {Algorithm.SelectionSort, Algorithm.InsertionSort,
+      Algorithm.MergeSort, Algorithm.QuickSort, Algorithm.IntroSort};
+
+  /**
+   * Verifies that compiled keys order students exactly as the comparator does, with the input
+   * index as the final tie-breaker.
+   */
+  @Test
+  void testCompiledKeysFollowComparator() {
+    Student[] arr = CompareSorters.generateRandomStudents(300, new Random(5));
+    arr[7] = arr[3];
+    for (int order = 0; order <= 1; order++) {
+      long[] keys = new long[arr.length];
+      assertTrue(SortSpec.of(order).compile(arr, keys));
+
+      MergeSorter ref = new MergeSorter(new StudentDataset(arr));
+      ref.setComparator(order);
+      for (int i = 0; i < arr.length; i++) {
+        assertEquals(i, SortSpec.index(keys[i]));
+        for (int j = 0; j < arr.length; j++) {
+          int c = ref.studentComparator.compare(arr[i], arr[j]);
+          int expected = (c != 0) ? c : Integer.compare(i, j);
+          assertEquals(Integer.signum(expected), Long.signum(Long.compare(keys[i], keys[j])));
+        }
+      }
+    }
+    assertSame(SortSpec.BY_GPA, SortSpec.of(0));
+    assertSame(SortSpec.BY_CREDITS, SortSpec.of(1));
+    assertThrows(IllegalArgumentException.class, () -> SortSpec.of(2));
+  }
+
+  /**
+   * Verifies that data with an off-grid GPA or a huge credit range is not compiled.
+   */
+  @Test
+  void testCompileRejectsUnpackableData() {
+    long[] keys = new long[2];
+    assertFalse(SortSpec.BY_GPA.compile(new Student[] {new Student(3.855, 1), new Student(2.0, 2)}, keys));
+    assertFalse(SortSpec.BY_CREDITS.compile(
+        new Student[] {new Student(3.0, 0), new Student(2.0, Integer.MAX_VALUE)}, keys));
+    assertThrows(IllegalArgumentException.class,
+        () -> SortSpec.BY_GPA.compile(new Student[] {new Student(1.0, 1)}, new long[0]));
+  }
+
+  /**
+   * Verifies that the specialized and comparator paths give identical results (element for
+   * element, by identity) for every specialized sorter, including data that falls back.
+   */
+  @Test
+  void testSpecializedMatchesComparatorPath() {
+    Random rand = new Random(21);
+    Student[] onGrid = CompareSorters.generateRandomStudents(500, rand);
+    Student[] pool = CompareSorters.generateRandomStudents(6, rand);
+    Student[] fewUnique = new Student[500];
+    for (int i = 0; i < fewUnique.length; i++) {
+      fewUnique[i] = new Student(pool[rand.nextInt(pool.length)]);
+    }
+    Student[] offGrid = onGrid.clone();
+    offGrid[10] = new Student(3.855, 40);
+
+    for (Student[] input : new Student[][] {onGrid, fewUnique, offGrid}) {
+      for (Algorithm algo : SPECIALIZED) {
+        for (int order = 0; order <= 1; order++) {
+          AbstractSorter fast = StudentScanner.createSorter(algo, new StudentDataset(input));
+          AbstractSorter slow = StudentScanner.createSorter(algo, new StudentDataset(input));
+          assertTrue(fast.isSpecialized());
+          slow.setSpecialized(false);
+          fast.setComparator(order);
+          slow.setComparator(order);
+          fast.sort();
+          slow.sort();
+
+          MergeSorter ref = new MergeSorter(new StudentDataset(input));
+          ref.setComparator(order);
+          ref.sort();
+          for (int i = 0; i < input.length; i++) {
+            assertEquals(ref.students[i], fast.students[i], algo + " order " + order + " @" + i);
+            assertEquals(ref.students[i], slow.students[i], algo + " order " + order + " @" + i);
+            if (input != offGrid) {
+              // Compiled keys break ties by input position, so every algorithm is stable
+              assertSame(ref.students[i], fast.students[i], algo + " order " + order + " @" + i);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Verifies that a comparator assigned directly (not through setComparator) is honored.
+   */
+  @Test
+  void testCustomComparatorDisablesSpecialization() {
+    Student[] arr = CompareSorters.generateRandomStudents(200, new Random(8));
+    MergeSorter sorter = new MergeSorter(arr);
+    sorter.setComparator(0);
+    sorter.studentComparator = sorter.studentComparator.reversed();
+    sorter.sort();
+    for (int i = 1; i < arr.length; i++) {
+      assertTrue(sorter.studentComparator.compare(sorter.students[i - 1], sorter.students[i]) <= 0);
+    }
+  }
+}
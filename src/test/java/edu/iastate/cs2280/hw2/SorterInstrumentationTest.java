@@ -0,0 +1,175 @@
+/**
+ * JUnit 5 test suite for the operation counters of {@link AbstractSorter}. Runs in its own
+ * surefire execution with {@code -Dhw2.instrument=true}.
+ *
+ * @author Kaleb
+ * @see AbstractSorter#INSTRUMENT
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for comparison, swap and write counting, checked against the exact operation counts
+ * of simple inputs.
+ */
+public class SorterInstrumentationTest {
+
+  /**
+   * Skips the suite when it is run without the instrumentation flag (e.g. from an IDE).
+   */
+  @BeforeAll
+  static void requireInstrumentation() {
+    assumeTrue(AbstractSorter.INSTRUMENT, "run with -Dhw2.instrument=true");
+  }
+
+  /**
+   * Verifies exact counts for Selection Sort (n(n-1)/2 comparisons) and for Insertion Sort on
+   * sorted input (n-1 comparisons, one write per element after the first, no swaps), on both the
+   * comparator path and the compiled-key path. The compiled path adds the 2n writes of applying
+   * the sorted keys to the working array.
+   */
+  @Test
+  void testExactCountsForQuadraticSorts() {
+    int n = 50;
+    Student[] arr = CompareSorters.generateRandomStudents(n, new Random(4));
+
+    for (boolean specialized : new boolean[] {false, true}) {
+      long applyWrites = specialized ? 2L * n : 0;
+
+      AbstractSorter selection = new SelectionSorter(arr);
+      selection.setSpecialized(specialized);
+      selection.setComparator(0);
+      selection.sort();
+      assertEquals((long) n * (n - 1) / 2, selection.getComparisons());
+      assertEquals(2 * selection.getSwaps() + applyWrites, selection.getWrites());
+
+      AbstractSorter insertion = new InsertionSorter(selection.students);
+      insertion.setSpecialized(specialized);
+      insertion.setComparator(0);
+      insertion.sort();
+      assertEquals(n - 1, insertion.getComparisons());
+      assertEquals(0, insertion.getSwaps());
+      assertEquals(n - 1 + applyWrites, insertion.getWrites());
+
+      insertion.resetCounters();
+      assertEquals(0, insertion.getComparisons());
+      assertEquals(0, insertion.getWrites());
+    }
+  }
+
+  /**
+   * Verifies that Merge Sort counts its aux traffic (n copies per level plus write-backs), that
+   * its compiled-key path counts the same comparisons and merge traffic as the comparator path,
+   * and that the non-comparison sorters report no comparisons.
+   */
+  @Test
+  void testMergeAuxTrafficAndRadix() {
+    int n = 1024;
+    Student[] arr = CompareSorters.generateRandomStudents(n, new Random(6));
+
+    AbstractSorter merge = new MergeSorter(arr);
+    merge.setSpecialized(false);
+    merge.setComparator(1);
+    merge.sort();
+    assertTrue(merge.getWrites() >= (long) n * 10, "aux copies alone are n per level");
+    assertTrue(merge.getWrites() <= 2L * n * 10);
+    assertTrue(merge.getComparisons() > 0);
+
+    // Stable merges make identical decisions on compiled keys, which break ties by input index
+    AbstractSorter compiled = new MergeSorter(arr);
+    compiled.setComparator(1);
+    compiled.sort();
+    assertEquals(merge.getComparisons(), compiled.getComparisons());
+    assertEquals(merge.getWrites() + 2L * n, compiled.getWrites());
+
+    for (AbstractSorter keyed : new AbstractSorter[] {new RadixSorter(arr), new CountingSorter(arr)}) {
+      keyed.setComparator(0);
+      keyed.sort();
+      assertEquals(0, keyed.getComparisons());
+      assertTrue(keyed.getWrites() >= n);
+    }
+  }
+
+  /**
+   * Verifies that median selection stays linear on the generator's adversarial and structured
+   * shapes: a constant number of comparisons per element, independent of n. (With a fixed
+   * median-of-three budget the killer shape needed over 26 per element at n = 4000.)
+   */
+  @Test
+  void testMedianSelectLinearOnAdversarialShapes() {
+    StudentGenerator.Shape[] shapes = {StudentGenerator.Shape.MEDIAN_OF_3_KILLER,
+        StudentGenerator.Shape.ORGAN_PIPE, StudentGenerator.Shape.SORTED,
+        StudentGenerator.Shape.RANDOM};
+    for (StudentGenerator.Shape shape : shapes) {
+      for (int n : new int[] {4_000, 16_000}) {
+        AbstractSorter select = new MedianSelector(new StudentGenerator(n).generate(shape, n));
+        select.setComparator(0);
+        select.sort();
+        assertTrue(select.getComparisons() <= 20L * n, shape + " n=" + n);
+      }
+    }
+  }
+
+  /**
+   * Verifies that AutoSorter reports its own scan plus the delegate's counts: sorted input is
+   * finished by the run scan in n-1 comparisons, and a delegated radix sort adds exactly the
+   * writes of a standalone RadixSorter to the sampling comparisons.
+   */
+  @Test
+  void testAutoSortAddsDelegateCounts() {
+    Student[] sorted = new StudentGenerator(3L).generate(StudentGenerator.Shape.SORTED, 100);
+    AutoSorter auto = new AutoSorter(sorted);
+    auto.setComparator(0);
+    auto.sort();
+    assertEquals(AutoSorter.Strategy.BINARY_INSERTION, auto.getDecision().getStrategy());
+    assertEquals(99, auto.getComparisons());
+    assertEquals(0, auto.getWrites());
+
+    Student[] arr = CompareSorters.generateRandomStudents(1000, new Random(5));
+    auto.load(arr);
+    auto.setComparator(0);
+    auto.resetCounters();
+    auto.sort();
+    assertEquals(AutoSorter.Strategy.RADIX, auto.getDecision().getStrategy());
+    AbstractSorter radix = new RadixSorter(arr);
+    radix.setComparator(0);
+    radix.sort();
+    assertEquals(radix.getWrites(), auto.getWrites());
+    assertEquals(radix.getSwaps(), auto.getSwaps());
+    long sample = auto.getComparisons();
+    assertTrue(sample > 0 && sample <= AutoSorter.MAX_WINDOWS * AutoSorter.WINDOW,
+        "sample " + sample);
+  }
+
+  /**
+   * Verifies that every algorithm's scan reports its counts in stats(), that the counts are reset
+   * between scans, and that instrumented sorts still sort correctly.
+   */
+  @Test
+  void testScannerColumns() {
+    StudentDataset data = new StudentDataset(CompareSorters.generateRandomStudents(3000, new Random(9)));
+    StudentScanner reference = new StudentScanner(data, Algorithm.MergeSort);
+    reference.scan();
+
+    for (Algorithm algo : Algorithm.values()) {
+      StudentScanner scanner = new StudentScanner(data, algo);
+      scanner.scan();
+      assertEquals(reference.getMedianStudent(), scanner.getMedianStudent(), algo.name());
+      assertEquals(6, scanner.stats().trim().split("\\s+").length, algo.name());
+      assertTrue(scanner.getWrites() > 0 || scanner.getSwaps() > 0, algo.name());
+
+      long comparisons = scanner.getComparisons();
+      scanner.scan();
+      if (algo != Algorithm.ParallelQuickSort) {
+        // Deterministic algorithms repeat the same work on the same input
+        assertEquals(comparisons, scanner.getComparisons(), algo.name());
+      }
+    }
+  }
+}
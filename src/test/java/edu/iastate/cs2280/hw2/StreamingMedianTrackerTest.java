@@ -0,0 +1,134 @@
+/**
+ * JUnit 5 test suite for {@link StreamingMedianTracker} verifying that the incrementally
+ * maintained medians always equal a full {@link StudentScanner} pass over the same data.
+ *
+ * @author Kaleb
+ * @see StreamingMedianTracker
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StreamingMedianTracker}, covering single adds, batches, off-grid GPAs,
+ * large credit counts, and file tailing.
+ */
+public class StreamingMedianTrackerTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Verifies the medians after every single add against a full scan of the prefix.
+   */
+  @Test
+  void testMedianAfterEveryAdd() {
+    Student[] arr = CompareSorters.generateRandomStudents(300, new Random(17));
+    StreamingMedianTracker tracker = new StreamingMedianTracker();
+    assertNull(tracker.getMedianStudent());
+    for (int i = 0; i < arr.length; i++) {
+      tracker.add(arr[i]);
+      assertEquals(scan(Arrays.copyOf(arr, i + 1)), tracker.getMedianStudent(), "after " + (i + 1));
+      assertEquals(i + 1, tracker.size());
+    }
+  }
+
+  /**
+   * Verifies exact medians with GPAs that are not multiples of 0.01 (including values that round
+   * across bucket edges) and credit counts beyond the dense histogram.
+   */
+  @Test
+  void testOffGridAndLargeValues() {
+    Random rand = new Random(4);
+    StreamingMedianTracker tracker = new StreamingMedianTracker();
+    Student[] arr = new Student[2000];
+    for (int i = 0; i < arr.length; i++) {
+      double gpa;
+      switch (i % 4) {
+        case 0:
+          gpa = rand.nextDouble() * 4.0;
+          break;
+        case 1:
+          gpa = Math.nextUp(Math.round(rand.nextDouble() * 400) / 100.0);
+          break;
+        default:
+          gpa = Math.round(rand.nextDouble() * 400) / 100.0;
+      }
+      gpa = Math.min(4.0, gpa);
+      int credits = (i % 7 == 0) ? StreamingMedianTracker.DENSE_CREDITS + rand.nextInt(1000)
+          : rand.nextInt(3000);
+      arr[i] = new Student(gpa, credits);
+    }
+    for (int from = 0; from < arr.length; from += 250) {
+      tracker.addAll(Arrays.copyOfRange(arr, from, from + 250));
+      assertEquals(scan(Arrays.copyOf(arr, from + 250)), tracker.getMedianStudent(), "after " + (from + 250));
+    }
+  }
+
+  /**
+   * Verifies exact medians when almost every GPA and half the credit counts are distinct values
+   * outside the histograms, so the order-statistic trees hold thousands of nodes.
+   */
+  @Test
+  void testManyDistinctOffGridValues() {
+    Random rand = new Random(5);
+    StreamingMedianTracker tracker = new StreamingMedianTracker();
+    Student[] arr = new Student[20_000];
+    for (int i = 0; i < arr.length; i++) {
+      int credits = (i % 2 == 0) ? StreamingMedianTracker.DENSE_CREDITS + rand.nextInt(1 << 20)
+          : rand.nextInt(150);
+      arr[i] = new Student(rand.nextDouble() * 4.0, credits);
+      tracker.add(arr[i]);
+      if ((i + 1) % 2_500 == 0) {
+        assertEquals(scan(Arrays.copyOf(arr, i + 1)), tracker.getMedianStudent(), "after " + (i + 1));
+      }
+    }
+  }
+
+  /**
+   * Verifies that tailing a file picks up only complete lines and resumes at the returned offset.
+   */
+  @Test
+  void testIngestFileTail() throws IOException {
+    Path file = Files.writeString(dir.resolve("live.txt"), "3.0 10\n2.0 20\n4.0 3");
+    StreamingMedianTracker tracker = new StreamingMedianTracker();
+
+    long offset = tracker.ingestFile(file, 0);
+    assertEquals(2, tracker.size());
+    assertEquals(14, offset);
+
+    Files.writeString(file, "0\n1.5 40\n\n", StandardOpenOption.APPEND);
+    offset = tracker.ingestFile(file, offset);
+    assertEquals(4, tracker.size());
+    assertEquals(Files.size(file), offset);
+    assertEquals(scan(new Student[] {
+        new Student(3.0, 10), new Student(2.0, 20), new Student(4.0, 30), new Student(1.5, 40)
+    }), tracker.getMedianStudent());
+
+    assertEquals(offset, tracker.ingestFile(file, offset));
+    Files.writeString(file, "bad line\n", StandardOpenOption.APPEND);
+    long stuck = offset;
+    assertThrows(InputMismatchException.class, () -> tracker.ingestFile(file, stuck));
+    assertEquals(4, tracker.size());
+    assertThrows(IllegalArgumentException.class, () -> tracker.ingestFile(file, Files.size(file) + 1));
+  }
+
+  /**
+   * Returns the median student a full two-pass scan reports for {@code data}.
+   */
+  private static Student scan(Student[] data) {
+    StudentScanner scanner = new StudentScanner(data, Algorithm.MergeSort);
+    scanner.scan();
+    return scanner.getMedianStudent();
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * JUnit 5 test suite for {@link StudentFileParser} verifying that the chunked byte-level parser
+ * reads the same values, and reports the same errors, as the driver's original Scanner reader.
+ *
+ * @author Kaleb
+ * @see StudentFileParser
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StudentFileParser}, covering chunking, number syntax, and error reporting.
+ */
+public class StudentFileParserTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Verifies that many small chunks parse to exactly the generated records, in order.
+   */
+  @Test
+  void testChunkedParseMatchesInput() throws IOException {
+    Student[] arr = CompareSorters.generateRandomStudents(5000, new Random(21));
+    StringBuilder sb = new StringBuilder();
+    for (Student s : arr) {
+      sb.append(String.format(java.util.Locale.US, "%.2f %d%n", s.getGpa(), s.getCreditsTaken()));
+    }
+    Path file = write("many.txt", sb.toString());
+
+    StudentFileParser parser = new StudentFileParser();
+    parser.chunkBytes = 97;
+    parser.parallelism = 8;
+    StudentDataset data = parser.parse(file);
+    assertEquals(arr.length, data.size());
+    for (int i = 0; i < arr.length; i++) {
+      assertEquals(arr[i], data.get(i), "row " + i);
+    }
+  }
+
+  /**
+   * Verifies that unusual but Scanner-accepted tokens, blank lines, trailing tokens, CRLF line
+   * endings, and a missing final newline parse like the original reader.
+   */
+  @Test
+  void testSyntaxMatchesScanner() throws IOException {
+    String text = "3.5 40\r\n\n   \t\n+2 7 extra tokens\n.25 1,000\n4. +3\n0.1e1 -0\n3.99 12";
+    Path file = write("odd.txt", text);
+    StudentTable table = new StudentFileParser().parseTable(file);
+
+    String[] lines = text.split("\n");
+    int row = 0;
+    for (String line : lines) {
+      Scanner ls = new Scanner(line.trim());
+      if (!ls.hasNext()) {
+        continue;
+      }
+      assertEquals(ls.nextDouble(), table.getGpa(row), "gpa row " + row);
+      assertEquals(ls.nextInt(), table.getCreditsTaken(row), "credits row " + row);
+      row++;
+    }
+    assertEquals(row, table.size());
+  }
+
+  /**
+   * Verifies the driver's error messages, that the first error in file order is reported when
+   * several chunks are malformed, and that a missing file or a directory is not found.
+   */
+  @Test
+  void testErrors() throws IOException {
+    assertEquals(StudentFileParser.GPA_ERROR, error(write("g.txt", "3.0 1\nabc 10\n")));
+    assertEquals(StudentFileParser.CREDITS_ERROR, error(write("c1.txt", "3.0\n")));
+    assertEquals(StudentFileParser.CREDITS_ERROR, error(write("c2.txt", "3.0 1.5\n")));
+    assertEquals(StudentFileParser.CREDITS_ERROR, error(write("c3.txt", "3.0 99999999999\n")));
+    assertEquals(StudentFileParser.EMPTY_ERROR, error(write("e.txt", "\n \n")));
+    assertEquals(StudentFileParser.EMPTY_ERROR, error(write("z.txt", "")));
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      sb.append(i == 50 ? "3.0 x\n" : i == 150 ? "y 3\n" : "3.0 3\n");
+    }
+    StudentFileParser parser = new StudentFileParser();
+    parser.chunkBytes = 64;
+    Path file = write("two.txt", sb.toString());
+    assertEquals(StudentFileParser.CREDITS_ERROR,
+        assertThrows(InputMismatchException.class, () -> parser.parseTable(file)).getMessage());
+
+    assertThrows(FileNotFoundException.class,
+        () -> new StudentFileParser().parse(dir.resolve("missing.txt")));
+    assertThrows(FileNotFoundException.class, () -> new StudentFileParser().parse(dir));
+  }
+
+  /**
+   * Writes {@code text} to a file in the temporary directory.
+   */
+  private Path write(String name, String text) throws IOException {
+    return Files.writeString(dir.resolve(name), text);
+  }
+
+  /**
+   * Parses {@code file} and returns the message of the expected {@link InputMismatchException}.
+   */
+  private static String error(Path file) {
+    return assertThrows(InputMismatchException.class,
+        () -> new StudentFileParser().parseTable(file)).getMessage();
+  }
+}
@@ -0,0 +1,228 @@
+/**
+ * JUnit 5 test suite for {@link StudentGenerator}.
+ *
+ * @author Kaleb
+ * @see StudentGenerator
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the generated input shapes: determinism, the defining property of each shape,
+ * and the quadratic behavior the median-of-three killer forces on {@link QuickSorter}.
+ */
+public class StudentGeneratorTest {
+
+  /**
+   * Verifies that the same seed reproduces the same data for every shape.
+   */
+  @Test
+  void testSeededDeterminism() {
+    for (StudentGenerator.Shape shape : StudentGenerator.Shape.values()) {
+      Student[] a = new StudentGenerator(42L).generate(shape, 500);
+      Student[] b = new StudentGenerator(42L).generate(shape, 500);
+      assertEquals(500, a.length, shape.name());
+      for (int i = 0; i < a.length; i++) {
+        assertEquals(a[i].getGpa(), b[i].getGpa(), shape.name());
+        assertEquals(a[i].getCreditsTaken(), b[i].getCreditsTaken(), shape.name());
+      }
+    }
+  }
+
+  /**
+   * Verifies that SORTED and REVERSED follow the selected order.
+   */
+  @Test
+  void testSortedAndReversed() {
+    for (int order = 0; order <= 1; order++) {
+      Comparator<Student> cmp = comparator(order);
+      StudentGenerator gen = new StudentGenerator(1L);
+      gen.setOrder(order);
+      Student[] sorted = gen.generate(StudentGenerator.Shape.SORTED, 1000);
+      Student[] reversed = gen.generate(StudentGenerator.Shape.REVERSED, 1000);
+      for (int i = 1; i < sorted.length; i++) {
+        assertTrue(cmp.compare(sorted[i - 1], sorted[i]) <= 0);
+        assertTrue(cmp.compare(reversed[i - 1], reversed[i]) >= 0);
+      }
+    }
+  }
+
+  /**
+   * Verifies that NEARLY_SORTED differs from sorted order in at most two positions per swap.
+   */
+  @Test
+  void testNearlySorted() {
+    StudentGenerator gen = new StudentGenerator(3L);
+    gen.setSwaps(5);
+    Student[] arr = gen.generate(StudentGenerator.Shape.NEARLY_SORTED, 2000);
+    Student[] sorted = sortedCopy(arr, 0);
+    int displaced = 0;
+    for (int i = 0; i < arr.length; i++) {
+      if (comparator(0).compare(arr[i], sorted[i]) != 0) {
+        displaced++;
+      }
+    }
+    assertTrue(displaced <= 10, "displaced " + displaced);
+
+    gen.setSwaps(0);
+    Student[] none = gen.generate(StudentGenerator.Shape.NEARLY_SORTED, 100);
+    for (int i = 1; i < none.length; i++) {
+      assertTrue(comparator(0).compare(none[i - 1], none[i]) <= 0);
+    }
+  }
+
+  /**
+   * Verifies that FEW_UNIQUE uses no more than the requested number of keys, in fresh objects.
+   */
+  @Test
+  void testFewUnique() {
+    StudentGenerator gen = new StudentGenerator(4L);
+    gen.setDistinct(3);
+    Student[] arr = gen.generate(StudentGenerator.Shape.FEW_UNIQUE, 1000);
+    assertTrue(keys(arr).size() <= 3);
+    assertNotSame(arr[0], arr[1]);
+  }
+
+  /**
+   * Verifies that ORGAN_PIPE rises to a single peak and then falls.
+   */
+  @Test
+  void testOrganPipe() {
+    Comparator<Student> cmp = comparator(1);
+    StudentGenerator gen = new StudentGenerator(5L);
+    gen.setOrder(1);
+    Student[] arr = gen.generate(StudentGenerator.Shape.ORGAN_PIPE, 1001);
+    int i = 1;
+    while (i < arr.length && cmp.compare(arr[i - 1], arr[i]) <= 0) {
+      i++;
+    }
+    assertTrue(i >= arr.length / 2);
+    for (; i < arr.length; i++) {
+      assertTrue(cmp.compare(arr[i - 1], arr[i]) >= 0);
+    }
+  }
+
+  /**
+   * Verifies that ZIPF_GPA makes the mode by far the most frequent GPA.
+   */
+  @Test
+  void testZipfGpa() {
+    Student[] arr = new StudentGenerator(6L).generate(StudentGenerator.Shape.ZIPF_GPA, 20_000);
+    int[] counts = new int[SortKeys.GPA_VALUES];
+    for (Student s : arr) {
+      counts[SortKeys.gpaHundredths(s.getGpa())]++;
+    }
+    int mode = StudentGenerator.ZIPF_MODE_HUNDREDTHS;
+    for (int g = 0; g < counts.length; g++) {
+      if (g != mode) {
+        assertTrue(counts[g] < counts[mode]);
+      }
+    }
+    // With s = 1 over 401 ranks the most common value has about 15% of the mass
+    assertTrue(counts[mode] > arr.length / 10);
+  }
+
+  /**
+   * Verifies that the killer holds distinct keys for both orders and drives QuickSort quadratic,
+   * while IntroSort's depth limit keeps it near n log n.
+   */
+  @Test
+  void testMedianOfThreeKiller() {
+    int n = 2000;
+    for (int order = 0; order <= 1; order++) {
+      StudentGenerator gen = new StudentGenerator(7L);
+      gen.setOrder(order);
+      Student[] killer = gen.generate(StudentGenerator.Shape.MEDIAN_OF_3_KILLER, n);
+      assertEquals(n, keys(killer).size());
+
+      Student[] random = new StudentGenerator(7L).generate(StudentGenerator.Shape.RANDOM, n);
+      long killerQuick = comparisons(Algorithm.QuickSort, killer, order);
+      long randomQuick = comparisons(Algorithm.QuickSort, random, order);
+      long killerIntro = comparisons(Algorithm.IntroSort, killer, order);
+      assertTrue(killerQuick >= (long) n * n / 8, "QuickSort comparisons " + killerQuick);
+      assertTrue(killerQuick > 10 * randomQuick);
+      assertTrue(killerIntro < killerQuick / 5, "IntroSort comparisons " + killerIntro);
+    }
+  }
+
+  /**
+   * Verifies argument validation.
+   */
+  @Test
+  void testInvalidArguments() {
+    StudentGenerator gen = new StudentGenerator(0L);
+    assertThrows(IllegalArgumentException.class, () -> gen.generate(null, 10));
+    assertThrows(IllegalArgumentException.class, () -> gen.generate(StudentGenerator.Shape.RANDOM, 0));
+    assertThrows(IllegalArgumentException.class, () -> gen.setOrder(2));
+    assertThrows(IllegalArgumentException.class, () -> gen.setSwaps(-1));
+    assertThrows(IllegalArgumentException.class, () -> gen.setDistinct(0));
+    assertThrows(IllegalArgumentException.class, () -> gen.setZipfExponent(0.0));
+  }
+
+  /**
+   * Sorts a copy of {@code students} with {@code algorithm} and counts the comparator calls.
+   *
+   * @param algorithm sorter to run
+   * @param students input
+   * @param order comparator order
+   * @return number of comparisons
+   */
+  private static long comparisons(Algorithm algorithm, Student[] students, int order) {
+    AbstractSorter sorter = StudentScanner.createSorter(algorithm, new StudentDataset(students));
+    sorter.setComparator(order);
+    Comparator<Student> base = sorter.studentComparator;
+    long[] count = {0};
+    sorter.studentComparator = (a, b) -> {
+      count[0]++;
+      return base.compare(a, b);
+    };
+    sorter.sort();
+    return count[0];
+  }
+
+  /**
+   * Returns the comparator of {@code order} as installed by {@link AbstractSorter#setComparator}.
+   *
+   * @param order comparator order
+   * @return the comparator
+   */
+  private static Comparator<Student> comparator(int order) {
+    MergeSorter sorter = new MergeSorter(new StudentDataset(new Student[] {new Student(0.0, 0)}));
+    sorter.setComparator(order);
+    return sorter.studentComparator;
+  }
+
+  /**
+   * Returns a sorted copy of {@code students}.
+   *
+   * @param students input
+   * @param order comparator order
+   * @return sorted array
+   */
+  private static Student[] sortedCopy(Student[] students, int order) {
+    MergeSorter sorter = new MergeSorter(new StudentDataset(students));
+    sorter.setComparator(order);
+    sorter.sort();
+    return sorter.students;
+  }
+
+  /**
+   * Returns the distinct (GPA, credits) keys of {@code students}.
+   *
+   * @param students input
+   * @return set of keys
+   */
+  private static Set<String> keys(Student[] students) {
+    Set<String> keys = new HashSet<>();
+    for (Student s : students) {
+      keys.add(s.getGpa() + "/" + s.getCreditsTaken());
+    }
+    return keys;
+  }
+}
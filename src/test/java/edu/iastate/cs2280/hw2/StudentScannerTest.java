@@ -0,0 +1,154 @@
+/**
+ * JUnit 5 test suite for {@link StudentScanner} covering the two-pass median workflow and the
+ * reusable, allocation-free scan mode.
+ *
+ * @author Kaleb
+ * @see StudentScanner
+ * @see AbstractSorter#load(StudentDataset)
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link StudentScanner}, checking that repeated scans agree with a fresh scan
+ * and that steady-state scans do not allocate.
+ */
+public class StudentScannerTest {
+
+    /** Sequential algorithms whose steady-state scans must not allocate. */
+    private static final Algorithm[] SEQUENTIAL = {
+        Algorithm.InsertionSort, Algorithm.MergeSort, Algorithm.TimSort, Algorithm.QuickSort,
+        Algorithm.IntroSort, Algorithm.RadixSort, Algorithm.CountingSort, Algorithm.MedianSelect
+    };
+
+    /**
+     * Verifies that repeated scans and scans after {@link StudentScanner#load(Student[])} report
+     * the same median as a freshly constructed scanner.
+     */
+    @Test
+    void testRepeatedScansMatchFreshScanner() {
+        Student[] first = CompareSorters.generateRandomStudents(500, new Random(11));
+        Student[] second = CompareSorters.generateRandomStudents(500, new Random(12));
+        for (Algorithm algo : Algorithm.values()) {
+            StudentScanner scanner = new StudentScanner(first, algo);
+            scanner.scan();
+            scanner.scan();
+            assertEquals(median(first), scanner.getMedianStudent(), algo.name());
+
+            scanner.load(second);
+            scanner.scan();
+            assertEquals(median(second), scanner.getMedianStudent(), algo.name());
+            assertEquals(scanner.getMedianStudent().getGpa(), scanner.getMedianGpa(), 0.0);
+            assertEquals(scanner.getMedianStudent().getCreditsTaken(), scanner.getMedianCredits());
+        }
+    }
+
+    /**
+     * Verifies that {@link StudentScanner#load(Student[])} accepts a dataset of a different size.
+     */
+    @Test
+    void testLoadDifferentSize() {
+        StudentScanner scanner = new StudentScanner(
+                CompareSorters.generateRandomStudents(100, new Random(1)), Algorithm.MergeSort);
+        scanner.scan();
+        Student[] bigger = CompareSorters.generateRandomStudents(301, new Random(2));
+        scanner.load(bigger);
+        scanner.scan();
+        assertEquals(median(bigger), scanner.getMedianStudent());
+        assertTrue(scanner.stats().contains("301"));
+    }
+
+    /**
+     * Verifies that scanners sharing one {@link StudentDataset} do not disturb each other or the
+     * dataset, and that the dataset is isolated from later changes to the source array.
+     */
+    @Test
+    void testSharedDataset() {
+        Student[] source = CompareSorters.generateRandomStudents(400, new Random(5));
+        Student[] original = source.clone();
+        StudentDataset data = new StudentDataset(source);
+        source[0] = new Student(0.0, 0);
+
+        Student expected = median(original);
+        for (Algorithm algo : Algorithm.values()) {
+            StudentScanner scanner = new StudentScanner(data, algo);
+            scanner.scan();
+            assertEquals(expected, scanner.getMedianStudent(), algo.name());
+        }
+        for (int i = 0; i < original.length; i++) {
+            assertSame(original[i], data.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new StudentDataset(new Student[] {null}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StudentScanner(new StudentDataset(new Student[0]), Algorithm.QuickSort));
+    }
+
+    /**
+     * Verifies that {@link StudentScanner#load(Student[])} rejects empty arrays and null elements.
+     */
+    @Test
+    void testLoadRejectsInvalidInput() {
+        StudentScanner scanner = new StudentScanner(
+                new Student[] {new Student(3.0, 30)}, Algorithm.QuickSort);
+        assertThrows(IllegalArgumentException.class, () -> scanner.load((Student[]) null));
+        assertThrows(IllegalArgumentException.class, () -> scanner.load(new Student[0]));
+        assertThrows(IllegalArgumentException.class, () -> scanner.load(new Student[] {null}));
+    }
+
+    /**
+     * Verifies that once warmed up, scans with the sequential algorithms allocate no memory, as
+     * reported by the JVM's per-thread allocation counter.
+     */
+    @Test
+    void testSteadyStateScanDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        StudentDataset data = new StudentDataset(
+                CompareSorters.generateRandomStudents(2000, new Random(42)));
+        for (Algorithm algo : SEQUENTIAL) {
+            StudentScanner scanner = new StudentScanner(data, algo);
+            for (int i = 0; i < 20; i++) {
+                scanner.load(data);
+                scanner.scan();
+            }
+
+            // Warm-up may still trigger JIT deoptimization; take the best of a few rounds
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < 5 && best > 0; round++) {
+                long before = bean.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < 10; i++) {
+                    scanner.load(data);
+                    scanner.scan();
+                }
+                best = Math.min(best, bean.getCurrentThreadAllocatedBytes() - before);
+            }
+            assertEquals(0L, best, algo.name() + " allocated in steady state");
+        }
+    }
+
+    /**
+     * Computes the expected median student with a fresh {@link MergeSorter}.
+     *
+     * @param data input dataset
+     * @return expected median student
+     */
+    private static Student median(Student[] data) {
+        MergeSorter sorter = new MergeSorter(data);
+        sorter.setComparator(0);
+        sorter.sort();
+        double gpa = sorter.getMedian().getGpa();
+        sorter.setComparator(1);
+        sorter.sort();
+        return new Student(gpa, sorter.getMedian().getCreditsTaken());
+    }
+}
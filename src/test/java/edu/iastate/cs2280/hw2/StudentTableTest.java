@@ -0,0 +1,132 @@
+/**
+ * JUnit 5 test suite for {@link StudentTable} verifying that the columnar, index-based sorting
+ * path agrees with the object-based sorters.
+ *
+ * <p>For each algorithm and both comparator orders, the permutation returned by
+ * {@link StudentTable#sort(Algorithm, int)} must list rows in the same (GPA, credits) sequence as
+ * the corresponding {@link AbstractSorter} produces, and the median must match
+ * {@link AbstractSorter#getMedian()}.</p>
+ *
+ * @author Kaleb
+ * @see StudentTable
+ * @see AbstractSorter
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StudentTable}, covering permutation correctness, medians, and edge cases.
+ */
+public class StudentTableTest {
+
+  private static final Algorithm[] INDEX_ALGORITHMS = {
+      Algorithm.SelectionSort, Algorithm.InsertionSort, Algorithm.MergeSort, Algorithm.QuickSort
+  };
+
+  /**
+   * Verifies every index-based algorithm yields the same sequence as its object-based sorter
+   * under both orders on random data with many duplicate keys.
+   */
+  @Test
+  void testPermutationMatchesObjectSorters() {
+    Student[] arr = CompareSorters.generateRandomStudents(500, new Random(7));
+    StudentTable table = new StudentTable(arr);
+
+    for (Algorithm algo : INDEX_ALGORITHMS) {
+      for (int order = 0; order <= 1; order++) {
+        AbstractSorter sorter = StudentScanner.createSorter(algo, arr);
+        sorter.setComparator(order);
+        sorter.sort();
+        int[] perm = table.sort(algo, order);
+
+        for (int k = 0; k < arr.length; k++) {
+          assertEquals(sorter.students[k], table.get(perm[k]), algo + " order " + order + " @" + k);
+        }
+      }
+    }
+  }
+
+  /**
+   * Verifies the table median matches the Order 0 median of the object sorter.
+   */
+  @Test
+  void testOrder0_Median() {
+    Student[] arr = {
+        new Student(3.8, 30),
+        new Student(4.0, 10),
+        new Student(3.8, 40),
+        new Student(2.5, 20)
+    };
+    StudentTable table = new StudentTable(arr);
+    Student median = table.getMedian(table.sort(Algorithm.QuickSort, 0));
+    assertNotNull(median);
+    assertEquals(3.8, median.getGpa(), 1e-9);
+    assertEquals(30, median.getCreditsTaken());
+  }
+
+  /**
+   * Confirms the stable merge path keeps equal rows in their original row order.
+   */
+  @Test
+  void testMergeSort_StablePermutation() {
+    Student[] arr = {
+        new Student(3.0, 10),
+        new Student(3.5, 20),
+        new Student(3.0, 10),
+        new Student(3.0, 10)
+    };
+    int[] perm = new StudentTable(arr).sort(Algorithm.MergeSort, 1);
+    assertArrayEquals(new int[] {0, 2, 3, 1}, perm);
+  }
+
+  /**
+   * Ensures Quick Sort over row indices handles a large table of identical rows in linear
+   * partition passes and bounded stack depth (it used to overflow the stack).
+   */
+  @Test
+  void testQuickSort_AllEqualRows() {
+    int n = 200_000;
+    double[] gpa = new double[n];
+    int[] credits = new int[n];
+    Arrays.fill(gpa, 3.0);
+    Arrays.fill(credits, 60);
+    StudentTable table = new StudentTable(gpa, credits);
+
+    for (int order = 0; order <= 1; order++) {
+      int[] perm = table.sort(Algorithm.QuickSort, order);
+      assertEquals(n, perm.length);
+      boolean[] seen = new boolean[n];
+      for (int row : perm) {
+        assertFalse(seen[row]);
+        seen[row] = true;
+      }
+    }
+  }
+
+  /**
+   * Ensures an empty table sorts to an empty permutation and has a {@code null} median.
+   */
+  @Test
+  void testEmptyTable_OK() {
+    StudentTable table = new StudentTable(new Student[0]);
+    int[] perm = table.sort(Algorithm.MergeSort, 0);
+    assertEquals(0, perm.length);
+    assertNull(table.getMedian(perm));
+  }
+
+  /**
+   * Ensures mismatched or out-of-range columns are rejected.
+   */
+  @Test
+  void testInvalidColumns_Rejected() {
+    assertThrows(IllegalArgumentException.class, () -> new StudentTable(new double[2], new int[3]));
+    assertThrows(IllegalArgumentException.class,
+        () -> new StudentTable(new double[] {4.5}, new int[] {10}));
+    assertThrows(IllegalArgumentException.class, () -> new StudentTable(null, new int[0]));
+  }
+}
@@ -0,0 +1,216 @@
+/**
+ * JUnit 5 test suite for {@link TimSorter} verifying compliance with the HW2 specification.
+ *
+ * <p>Each test validates key aspects of adaptive merge sort correctness and median computation:</p>
+ * <ul>
+ *   <li><b>Order 0:</b> GPA descending, then credits descending.</li>
+ *   <li><b>Order 1:</b> credits ascending, then GPA descending.</li>
+ *   <li>Handling of empty arrays, single elements, and duplicate values.</li>
+ * </ul>
+ *
+ * <p>The tests also confirm correct median selection following
+ * {@link AbstractSorter#getMedian()}, which returns the upper median (index {@code n / 2})
+ * for even-sized arrays.</p>
+ *
+ * @author Kaleb
+ * @see TimSorter
+ * @see AbstractSorter
+ * @see Student
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TimSorter}, ensuring sorting correctness, stability, and
+ * median accuracy across both comparator orders and special cases.
+ */
+public class TimSorterTest {
+
+    /**
+     * Verifies TimSorter correctly sorts and identifies the median for Order 0
+     * (GPA descending; tie → credits descending).
+     */
+    @Test
+    void testOrder0_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.8, 30),
+                new Student(4.0, 10),
+                new Student(3.8, 40),
+                new Student(2.5, 20)
+        };
+        AbstractSorter sorter = new TimSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.8, median.getGpa(), 1e-9);
+        assertEquals(30, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies TimSorter correctly sorts and identifies the median for Order 1
+     * (credits ascending; tie → GPA descending).
+     */
+    @Test
+    void testOrder1_MedianAndSize() {
+        Student[] arr = {
+                new Student(3.5, 20),
+                new Student(3.8, 10),
+                new Student(3.0, 10),
+                new Student(4.0, 20)
+        };
+        AbstractSorter sorter = new TimSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(20, median.getCreditsTaken());
+        assertEquals(4.0, median.getGpa(), 1e-9);
+    }
+
+    /**
+     * Ensures TimSorter handles an empty array gracefully and returns {@code null} median.
+     */
+    @Test
+    void testEmptyArray_OK() {
+        Student[] arr = {};
+        AbstractSorter sorter = new TimSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        assertNull(sorter.getMedian());
+    }
+
+    /**
+     * Confirms TimSorter returns the single element as the median for singleton arrays.
+     */
+    @Test
+    void testSingleElement_MedianSame() {
+        Student[] arr = { new Student(3.0, 10) };
+        AbstractSorter sorter = new TimSorter(arr);
+        sorter.setComparator(1);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Confirms TimSorter maintains stability and correct median when all elements are identical.
+     */
+    @Test
+    void testDuplicates_MedianValue() {
+        Student[] arr = {
+                new Student(3.0, 10),
+                new Student(3.0, 10),
+                new Student(3.0, 10)
+        };
+        AbstractSorter sorter = new TimSorter(arr);
+        sorter.setComparator(0);
+        sorter.sort();
+        Student median = sorter.getMedian();
+        assertNotNull(median);
+        assertEquals(3.0, median.getGpa(), 1e-9);
+        assertEquals(10, median.getCreditsTaken());
+    }
+
+    /**
+     * Verifies TimSorter matches MergeSorter on random, sorted, reversed, nearly-sorted and
+     * duplicate-heavy inputs of sizes below and well above the minimum merge length.
+     */
+    @Test
+    void testMatchesMergeSorter_InputShapes() {
+        Random rand = new Random(10);
+        for (int n : new int[] { 2, 31, 32, 100, 1000, 20000 }) {
+            for (int order = 0; order <= 1; order++) {
+                Student[] random = CompareSorters.generateRandomStudents(n, rand);
+                MergeSorter reference = new MergeSorter(random);
+                reference.setComparator(order);
+                reference.sort();
+                Student[] sorted = reference.students.clone();
+                Student[] reversed = new Student[n];
+                for (int i = 0; i < n; i++) {
+                    reversed[i] = sorted[n - 1 - i];
+                }
+                Student[] nearly = sorted.clone();
+                for (int s = 0; s < n / 50 + 1; s++) {
+                    int i = rand.nextInt(n);
+                    int j = rand.nextInt(n);
+                    Student tmp = nearly[i];
+                    nearly[i] = nearly[j];
+                    nearly[j] = tmp;
+                }
+                Student[] fewUnique = new Student[n];
+                for (int i = 0; i < n; i++) {
+                    fewUnique[i] = new Student(rand.nextInt(3), rand.nextInt(3));
+                }
+
+                for (Student[] arr : new Student[][] { random, sorted, reversed, nearly, fewUnique }) {
+                    AbstractSorter expected = new MergeSorter(arr);
+                    expected.setComparator(order);
+                    expected.sort();
+                    AbstractSorter sorter = new TimSorter(arr);
+                    sorter.setComparator(order);
+                    sorter.sort();
+                    assertArrayEquals(expected.students, sorter.students);
+                }
+            }
+        }
+    }
+
+    /**
+     * Confirms an already-sorted input is handled as a single run in {@code n - 1} comparisons.
+     */
+    @Test
+    void testSortedInput_LinearComparisons() {
+        Student[] arr = CompareSorters.generateRandomStudents(10000, new Random(11));
+        MergeSorter reference = new MergeSorter(arr);
+        reference.setComparator(1);
+        reference.sort();
+
+        TimSorter sorter = new TimSorter(reference.students);
+        sorter.setComparator(1);
+        long[] comparisons = new long[1];
+        Comparator<Student> base = sorter.studentComparator;
+        sorter.studentComparator = (a, b) -> {
+            comparisons[0]++;
+            return base.compare(a, b);
+        };
+        sorter.sort();
+        assertEquals(arr.length - 1, comparisons[0]);
+    }
+
+    /**
+     * Verifies that {@code mergeRuns} merges caller-supplied ascending runs, including a
+     * one-element run, into the same order as a full sort, keeping equal elements stable.
+     */
+    @Test
+    void testMergeRuns_MatchesSort() {
+        Student[] arr = CompareSorters.generateRandomStudents(300, new Random(12));
+        int[] runEnds = {120, 121, 300};
+        int lo = 0;
+        for (int end : runEnds) {
+            MergeSorter run = new MergeSorter(new StudentDataset(Arrays.copyOfRange(arr, lo, end)));
+            run.setComparator(0);
+            run.sort();
+            System.arraycopy(run.students, 0, arr, lo, end - lo);
+            lo = end;
+        }
+        MergeSorter expected = new MergeSorter(new StudentDataset(arr));
+        expected.setComparator(0);
+        expected.sort();
+
+        TimSorter sorter = new TimSorter(new StudentDataset(arr));
+        sorter.setComparator(0);
+        sorter.mergeRuns(runEnds, runEnds.length);
+        for (int i = 0; i < arr.length; i++) {
+            assertSame(expected.students[i], sorter.students[i], "@" + i);
+        }
+    }
+}
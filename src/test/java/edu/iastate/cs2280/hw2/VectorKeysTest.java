@@ -0,0 +1,182 @@
+/**
+ * JUnit 5 test suite for {@link VectorKeys} and the vectorized sort paths.
+ *
+ * @author Kaleb
+ * @see VectorKeys
+ */
+package edu.iastate.cs2280.hw2;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SIMD kernels (against plain scalar loops, at lengths around the vector width
+ * so every tail case is covered) and for the sorters with {@link AbstractSorter#setVectorized}
+ * enabled. The Maven build adds the Vector API module to the test JVM, so on hardware with wide
+ * enough vectors the SIMD code itself is exercised; elsewhere the scalar fallback is.
+ */
+public class VectorKeysTest {
+
+  /** Lengths covering empty tails, partial vectors and several full vectors. */
+  private static final int[] LENGTHS =
+      {1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 33, 64, 65, 100, 257, 1000};
+
+  /**
+   * Verifies that the module is resolved in the test JVM, so the kernels are available whenever
+   * the hardware has at least {@link VectorKeys#MIN_LANES} lanes.
+   */
+  @Test
+  void testModuleResolved() {
+    assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+    assertTrue(VectorKeys.lanes() >= 1);
+    assertEquals(VectorKeys.AVAILABLE, VectorKeys.lanes() >= VectorKeys.MIN_LANES);
+  }
+
+  /**
+   * Verifies min/max and differing bits against scalar loops on sub-ranges.
+   */
+  @Test
+  void testScans() {
+    Random rand = new Random(1);
+    for (int n : LENGTHS) {
+      long[] a = randomKeys(rand, n + 3, 1L << 40);
+      int from = 1;
+      int to = n + 1;
+
+      long[] out = new long[2];
+      VectorKeys.minMax(a, from, to, out);
+      long[] range = Arrays.copyOfRange(a, from, to);
+      assertEquals(Arrays.stream(range).min().getAsLong(), out[0], "n=" + n);
+      assertEquals(Arrays.stream(range).max().getAsLong(), out[1], "n=" + n);
+
+      long diff = 0;
+      for (long x : range) {
+        diff |= x ^ range[0];
+      }
+      assertEquals(diff, VectorKeys.differingBits(a, from, to), "n=" + n);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> VectorKeys.minMax(new long[1], 0, 0, new long[2]));
+    assertThrows(IllegalArgumentException.class, () -> VectorKeys.differingBits(new long[1], 1, 1));
+  }
+
+  /**
+   * Verifies that partition splits at the pivot, keeps each side in input order, and leaves the
+   * keys outside the range alone.
+   */
+  @Test
+  void testPartition() {
+    Random rand = new Random(2);
+    for (int n : LENGTHS) {
+      long[] a = randomKeys(rand, n + 2, 50);
+      long[] before = a.clone();
+      long pivot = rand.nextInt(60) - 5;
+      long[] scratch = new long[VectorKeys.scratchLength(n)];
+
+      int split = VectorKeys.partition(a, 1, n + 1, pivot, scratch);
+
+      long[] less = Arrays.stream(before, 1, n + 1).filter(x -> x < pivot).toArray();
+      long[] rest = Arrays.stream(before, 1, n + 1).filter(x -> x >= pivot).toArray();
+      assertEquals(1 + less.length, split, "n=" + n);
+      assertArrayEquals(less, Arrays.copyOfRange(a, 1, split), "n=" + n);
+      assertArrayEquals(rest, Arrays.copyOfRange(a, split, n + 1), "n=" + n);
+      assertEquals(before[0], a[0]);
+      assertEquals(before[n + 1], a[n + 1]);
+    }
+  }
+
+  /**
+   * Verifies block merges (rank-based and scalar), small sorts and selection against
+   * {@link Arrays#sort(long[])}, with many duplicate keys.
+   */
+  @Test
+  void testMergeSortAndSelect() {
+    Random rand = new Random(3);
+    for (int n : LENGTHS) {
+      // Merge two sorted blocks split at a random point
+      int mid = rand.nextInt(n + 1);
+      long[] src = new long[n];
+      long[] left = Arrays.copyOfRange(randomKeys(rand, n, 20), 0, mid);
+      long[] right = Arrays.copyOfRange(randomKeys(rand, n, 20), mid, n);
+      Arrays.sort(left);
+      Arrays.sort(right);
+      System.arraycopy(left, 0, src, 0, mid);
+      System.arraycopy(right, 0, src, mid, n - mid);
+      long[] expected = src.clone();
+      Arrays.sort(expected);
+      long[] dst = new long[n + 1];
+      VectorKeys.mergeBlocks(src, 0, mid, n, dst, 1);
+      assertArrayEquals(expected, Arrays.copyOfRange(dst, 1, n + 1), "merge n=" + n);
+
+      long[] a = randomKeys(rand, n, 20);
+      expected = a.clone();
+      Arrays.sort(expected);
+      VectorKeys.sortSmall(a, 0, n, new long[VectorKeys.scratchLength(n)]);
+      assertArrayEquals(expected, a, "sortSmall n=" + n);
+
+      for (int k : new int[] {0, n / 2, n - 1}) {
+        long[] b = randomKeys(rand, n, (n % 2 == 0) ? 5 : Long.MAX_VALUE);
+        long[] ref = b.clone();
+        Arrays.sort(ref);
+        VectorKeys.select(b, 0, n, k, new long[VectorKeys.scratchLength(n)]);
+        assertEquals(ref[k], b[k], "select n=" + n + " k=" + k);
+        for (int i = 0; i < n; i++) {
+          assertTrue(i < k ? b[i] <= b[k] : b[i] >= b[k], "select n=" + n + " k=" + k + " @" + i);
+        }
+      }
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> VectorKeys.select(new long[3], 0, 3, 3, new long[VectorKeys.scratchLength(3)]));
+  }
+
+  /**
+   * Verifies that the vectorized Quick/Intro Sort and radix scans give the same results as the
+   * scalar paths on every generator shape.
+   */
+  @Test
+  void testVectorizedSorters() {
+    Algorithm[] algos = {Algorithm.QuickSort, Algorithm.IntroSort, Algorithm.RadixSort,
+        Algorithm.CountingSort, Algorithm.AutoSort};
+    for (StudentGenerator.Shape shape : StudentGenerator.Shape.values()) {
+      for (int order = 0; order <= 1; order++) {
+        StudentGenerator gen = new StudentGenerator(order);
+        gen.setOrder(order);
+        StudentDataset data = new StudentDataset(gen.generate(shape, 3000));
+        MergeSorter expected = new MergeSorter(data);
+        expected.setComparator(order);
+        expected.sort();
+
+        for (Algorithm algo : algos) {
+          AbstractSorter sorter = StudentScanner.createSorter(algo, data);
+          sorter.setVectorized(true);
+          assertTrue(sorter.isVectorized());
+          sorter.setComparator(order);
+          sorter.sort();
+          String label = algo + " " + shape + " order " + order;
+          for (int i = 0; i < expected.students.length; i++) {
+            assertSame(expected.students[i], sorter.students[i], label + " @" + i);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code n} random keys in {@code [0, bound)}.
+   *
+   * @param rand source of randomness
+   * @param n number of keys
+   * @param bound exclusive upper bound
+   * @return the keys
+   */
+  private static long[] randomKeys(Random rand, int n, long bound) {
+    long[] a = new long[n];
+    for (int i = 0; i < n; i++) {
+      a[i] = (bound == Long.MAX_VALUE) ? rand.nextLong() : Math.floorMod(rand.nextLong(), bound);
+    }
+    return a;
+  }
+}